@@ -0,0 +1,115 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.AvailabilityTimeline;
+import ru.practicum.shareit.booking.timeline.BookedPeriod;
+import ru.practicum.shareit.booking.timeline.DatabaseAvailabilityTimeline;
+import ru.practicum.shareit.booking.timeline.InMemoryAvailabilityTimeline;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Проверка занятости вещи с длинной историей: отсортированные периоды в памяти против запросов к bookings
+// (ближайшее бронирование до конца периода для isFree и все пересекающиеся для booked). history — число
+// прошедших бронирований вещи, будущих всегда FUTURE_BOOKINGS.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+    private static final int FUTURE_BOOKINGS = 50;
+
+    @Param({"1000", "10000"})
+    private int history;
+
+    private ConfigurableApplicationContext context;
+    private AvailabilityTimeline memory;
+    private AvailabilityTimeline database;
+    private long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.server("availabilitydb");
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User owner = userRepository.save(new User(null, "Владелец", "owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "Арендатор", "booker@mail.ru"));
+        Item item = context.getBean(ItemRepository.class)
+                .save(new Item(null, "Дрель", "Аккумуляторная дрель", true, owner, null));
+        itemId = item.getId();
+
+        // Бронирования по 12 часов каждые сутки: history в прошлом и FUTURE_BOOKINGS начиная с завтрашнего дня.
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        List<Booking> bookings = new ArrayList<>(history + FUTURE_BOOKINGS);
+
+        for (int day = -history - 1; day < FUTURE_BOOKINGS; day++) {
+            if (day == -1) {
+                continue;
+            }
+
+            LocalDateTime start = tomorrow.plusDays(day);
+            bookings.add(new Booking(null, start, start.plusHours(12), item, booker, Status.APPROVED));
+        }
+
+        bookingRepository.saveAll(bookings);
+
+        InMemoryAvailabilityTimeline timeline = context.getBean(InMemoryAvailabilityTimeline.class);
+        timeline.rebuild();
+        memory = timeline;
+        database = new DatabaseAvailabilityTimeline(bookingRepository);
+        // Неделя в середине будущих бронирований: занята половина каждых суток.
+        from = tomorrow.plusDays(FUTURE_BOOKINGS / 2).plusHours(6);
+        to = from.plusDays(7);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean isFreeMemory() {
+        return memory.isFree(itemId, from, to);
+    }
+
+    @Benchmark
+    public boolean isFreeDatabase() {
+        return database.isFree(itemId, from, to);
+    }
+
+    @Benchmark
+    public List<BookedPeriod> bookedMemory() {
+        return memory.booked(itemId, from, to);
+    }
+
+    @Benchmark
+    public List<BookedPeriod> bookedDatabase() {
+        return database.booked(itemId, from, to);
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.InMemoryAvailabilityTimeline;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Поиск вещей, свободных в заданный период: антисоединение NOT EXISTS в одном запросе против выборки всех
+// совпадений с последующей фильтрацией по бронированиям в Java, и in-memory поиск с проверкой по таймлайну.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailableSearchBenchmark {
+    private static final int BOOKINGS_PER_ITEM = 20;
+    private static final int PAGE = 20;
+    private static final String TEXT = "дрель";
+
+    @Param({"1000", "10000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private BookingRepository bookingRepository;
+    private ItemService itemService;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.server("availablesearchdb");
+        itemRepository = context.getBean(ItemRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        itemService = context.getBean(ItemService.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User owner = userRepository.save(new User(null, "Владелец", "owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "Арендатор", "booker@mail.ru"));
+
+        List<Item> catalog = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            catalog.add(new Item(null, "Дрель " + i, "Аккумуляторная дрель " + i, true, owner, null));
+        }
+        catalog = itemRepository.saveAll(catalog);
+
+        // Бронирования каждой вещи идут подряд по дням, со сдвигом на вещь: в окне [завтра, послезавтра)
+        // подтвержденное бронирование есть примерно у четверти вещей.
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Booking> bookings = new ArrayList<>();
+        for (int n = 0; n < catalog.size(); n++) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime bookingStart = now.plusDays(i - BOOKINGS_PER_ITEM / 2);
+                bookings.add(new Booking(null, bookingStart, bookingStart.plusHours(12), catalog.get(n), booker,
+                        Status.values()[(i + n) % Status.values().length]));
+            }
+        }
+        bookingRepository.saveAll(bookings);
+
+        // Данные записаны в обход сервисов, поэтому in-memory индексы перестраиваются вручную.
+        context.getBean(InMemoryItemSearchEngine.class).rebuild();
+        context.getBean(InMemoryAvailabilityTimeline.class).rebuild();
+
+        start = now.plusDays(1);
+        end = now.plusDays(2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> antiJoin() {
+        return itemRepository.searchAvailableItems(TEXT, start, end, PageRequest.of(0, PAGE));
+    }
+
+    @Benchmark
+    public List<Item> filterInJava() {
+        List<Item> found = itemRepository.searchItems(TEXT, Pageable.unpaged());
+        Set<Long> booked = bookingRepository.findAllByItemIdInOverlapping(
+                        found.stream().map(Item::getId).toList(), Set.of(Status.APPROVED), start, end)
+                .stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+
+        return found.stream()
+                .filter(item -> !booked.contains(item.getId()))
+                .limit(PAGE)
+                .toList();
+    }
+
+    @Benchmark
+    public Object inMemory() {
+        return itemService.searchAvailableItems(TEXT, 0, PAGE, start, end);
+    }
+}
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.PostBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.PostItemRequest;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.PostUserRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Создание size пользователей и бронирований по одному (отдельная транзакция на элемент, как при вызове
+// POST /users и POST /bookings) против одного пакетного вызова, а также запись готовых бронирований и комментариев
+// через saveAll. jdbcBatchSize=1 отключает JDBC-пакеты.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private BookingService bookingService;
+    private BookingRepository bookingRepository;
+    private CommentRepository commentRepository;
+    private TransactionTemplate transactionTemplate;
+    private User booker;
+    private Item item;
+    private long bookerId;
+    private long itemId;
+    private long sequence;
+    private List<PostUserRequest> users;
+    private List<PostBookingRequest> bookings;
+    private List<Booking> bookingEntities;
+    private List<Comment> commentEntities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = Fixtures.server("batchdb", "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+        userService = context.getBean(UserService.class);
+        bookingService = context.getBean(BookingService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        UserDto owner = userService.createUser(userRequest("owner"));
+        bookerId = userService.createUser(userRequest("booker")).getId();
+        PostItemRequest itemRequest = new PostItemRequest();
+        itemRequest.setName("Дрель");
+        itemRequest.setDescription("Аккумуляторная дрель");
+        itemRequest.setAvailable(true);
+        itemId = context.getBean(ItemService.class).createItem(itemRequest, owner.getId()).getId();
+        booker = context.getBean(UserRepository.class).findById(bookerId).orElseThrow();
+        this.item = context.getBean(ItemRepository.class).findById(itemId).orElseThrow();
+    }
+
+    // Каждый вызов получает новые email и непересекающиеся интервалы, иначе элементы отсекаются проверками.
+    @Setup(Level.Invocation)
+    public void prepareRequests() {
+        users = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        bookingEntities = new ArrayList<>(size);
+        commentEntities = new ArrayList<>(size);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).plusHours(sequence);
+
+        for (int i = 0; i < size; i++) {
+            users.add(userRequest("user" + sequence + "-" + i));
+
+            PostBookingRequest booking = new PostBookingRequest();
+            booking.setItemId(itemId);
+            booking.setStart(start.plusHours(i));
+            booking.setEnd(start.plusHours(i).plusMinutes(30));
+            bookings.add(booking);
+            bookingEntities.add(new Booking(null, booking.getStart(), booking.getEnd(), item, booker,
+                    Status.APPROVED));
+            commentEntities.add(new Comment(null, "Отличная дрель " + i, item, booker, start));
+        }
+
+        sequence += size;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long singleUsers() {
+        long created = 0;
+
+        for (PostUserRequest request : users) {
+            created += userService.createUser(request).getId() != null ? 1 : 0;
+        }
+
+        return created;
+    }
+
+    @Benchmark
+    public int batchUsers() {
+        return userService.createUsers(users).getCreated();
+    }
+
+    @Benchmark
+    public long singleBookings() {
+        long created = 0;
+
+        for (PostBookingRequest request : bookings) {
+            created += bookingService.addBooking(bookerId, request).getId() != null ? 1 : 0;
+        }
+
+        return created;
+    }
+
+    @Benchmark
+    public int batchBookings() {
+        BatchResponse<BookingDto> response = bookingService.addBookings(bookerId, bookings);
+        return response.getCreated();
+    }
+
+    @Benchmark
+    public int saveBookings() {
+        return transactionTemplate.execute(status -> bookingRepository.saveAll(bookingEntities).size());
+    }
+
+    @Benchmark
+    public int saveComments() {
+        return transactionTemplate.execute(status -> commentRepository.saveAll(commentEntities).size());
+    }
+
+    private static PostUserRequest userRequest(String name) {
+        PostUserRequest request = new PostUserRequest();
+        request.setName(name);
+        request.setEmail(name + "@mail.ru");
+        return request;
+    }
+}
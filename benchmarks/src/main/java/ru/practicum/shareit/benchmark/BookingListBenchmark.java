@@ -0,0 +1,80 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingServiceImpl;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.timeline.DatabaseAvailabilityTimeline;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.logging.ResultLogProperties;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingListBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.mappers();
+        List<Item> items = Fixtures.items(Math.max(1, size / 10));
+        List<Booking> bookings = Fixtures.bookings(items, size, -size);
+
+        BookingRepository bookingRepository = Fixtures.repository(BookingRepository.class, Map.of(
+                "findAllByBookerId", args -> bookings,
+                "findAllByOwnerId", args -> bookings));
+        ItemRepository itemRepository = Fixtures.repository(ItemRepository.class, Map.of(
+                "findAllByOwnerId", args -> items));
+        UserRepository userRepository = Fixtures.repository(UserRepository.class, Map.of(
+                "existsById", args -> true));
+
+        bookingService = new BookingServiceImpl(bookingRepository, itemRepository, userRepository,
+                context.getBean(BookingMapper.class), new DatabaseAvailabilityTimeline(bookingRepository),
+                new ResultLog(new ResultLogProperties()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> bookerBookings() {
+        return bookingService.getUserBookings(Fixtures.BOOKER_ID, State.ALL, 0, null, null);
+    }
+
+    @Benchmark
+    public List<BookingDto> ownerBookings() {
+        return bookingService.getOwnedItemsBookings(Fixtures.OWNER_ID, State.ALL, 0, null, null);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.RequestRepository;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Повторный GET /bookings/{id}: полный ответ (версия, бронирование со связями, JSON) против ответа 304,
+// для которого сервер читает только версии одной строкой.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionalGetBenchmark {
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private ObjectMapper objectMapper;
+    private long bookerId;
+    private long bookingId;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.server("conditionalgetdb");
+        bookingService = context.getBean(BookingService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User owner = userRepository.save(new User(null, "Владелец", "owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "Арендатор", "booker@mail.ru"));
+        Request request = context.getBean(RequestRepository.class)
+                .save(new Request(null, "Нужна дрель", booker, LocalDateTime.now(), null));
+        Item item = context.getBean(ItemRepository.class)
+                .save(new Item(null, "Дрель", "Аккумуляторная дрель", true, owner, request));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = context.getBean(BookingRepository.class)
+                .save(new Booking(null, start, start.plusDays(1), item, booker, Status.APPROVED));
+
+        bookerId = booker.getId();
+        bookingId = booking.getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String fullResponse() throws JsonProcessingException {
+        bookingService.getBookingETag(bookerId, bookingId);
+        return objectMapper.writeValueAsString(bookingService.getBooking(bookerId, bookingId));
+    }
+
+    @Benchmark
+    public String notModified() {
+        return bookingService.getBookingETag(bookerId, bookingId);
+    }
+}
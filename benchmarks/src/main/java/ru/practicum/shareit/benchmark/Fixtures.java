@@ -0,0 +1,157 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.CommentMapperImpl;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.RequestMapperImpl;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+    static final long OWNER_ID = 1L;
+    static final long BOOKER_ID = 2L;
+
+    private static final String[] NAMES = {"Дрель", "Перфоратор", "Шуруповерт", "Лобзик", "Болгарка",
+            "Стремянка", "Палатка", "Велосипед", "Самокат", "Проектор"};
+    private static final String[] DESCRIPTIONS = {"аккумуляторная", "ударная", "с набором насадок",
+            "почти новая", "для дачи", "профессиональная", "складная", "туристическая"};
+
+    private Fixtures() {
+    }
+
+    static AnnotationConfigApplicationContext mappers() {
+        return new AnnotationConfigApplicationContext(UserMapperImpl.class, RequestMapperImpl.class,
+                ItemMapperImpl.class, CommentMapperImpl.class, BookingMapperImpl.class);
+    }
+
+    // Сервер целиком на H2 в памяти; аргументы командной строки перекрывают application.properties сервера.
+    static ConfigurableApplicationContext server(String database, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.sql.init.platform=h2",
+                "--shareit.search.engine=memory",
+                "--logging.level.root=WARN"));
+        Arrays.stream(properties).map(property -> "--" + property).forEach(args::add);
+
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    static User owner() {
+        return new User(OWNER_ID, "Владелец", "owner@mail.ru");
+    }
+
+    static User booker() {
+        return new User(BOOKER_ID, "Арендатор", "booker@mail.ru");
+    }
+
+    static List<Item> items(int count) {
+        User owner = owner();
+        User requestor = booker();
+        List<Item> items = new ArrayList<>(count);
+        Request request = null;
+
+        for (int i = 0; i < count; i++) {
+            // Каждый запрос закрывают несколько вещей, как в реальных данных.
+            if (i % 9 == 0) {
+                request = new Request((long) i / 9 + 1, "Нужен инструмент " + i, requestor, NOW.minusDays(30),
+                        new HashSet<>());
+            }
+
+            Item item = new Item((long) i + 1, NAMES[i % NAMES.length] + " " + i,
+                    NAMES[(i / NAMES.length) % NAMES.length] + " " + DESCRIPTIONS[i % DESCRIPTIONS.length],
+                    i % 5 != 0, owner, i % 3 == 0 ? request : null);
+            items.add(item);
+
+            if (item.getRequest() != null) {
+                request.getItems().add(item);
+            }
+        }
+
+        return items;
+    }
+
+    static List<Booking> bookings(List<Item> items, int count, int offsetDays) {
+        User booker = booker();
+        List<Booking> bookings = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = NOW.plusDays(offsetDays).plusHours(i);
+            bookings.add(new Booking((long) i + 1, start, start.plusHours(1), items.get(i % items.size()), booker,
+                    Status.values()[i % Status.values().length]));
+        }
+
+        return bookings;
+    }
+
+    static List<Request> requests(List<Item> items, int count) {
+        User requestor = booker();
+        List<Request> requests = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Request request = new Request((long) i + 1, "Нужна вещь " + i, requestor, NOW.minusHours(i),
+                    new HashSet<>(items.subList(i % items.size(), Math.min(items.size(), i % items.size() + 3))));
+            requests.add(request);
+        }
+
+        return requests;
+    }
+
+    static List<Comment> comments(List<Item> items, int count) {
+        User author = booker();
+        List<Comment> comments = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            comments.add(new Comment((long) i + 1, "Отличная вещь, спасибо " + i, items.get(i % items.size()),
+                    author, NOW.minusMinutes(i)));
+        }
+
+        return comments;
+    }
+
+    // Заглушка репозитория: отвечает на перечисленные методы, остальные вызовы считаются ошибкой фикстуры.
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+
+            if (answer != null) {
+                return answer.apply(args);
+            }
+
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + "Stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        });
+
+        return type.cast(stub);
+    }
+}
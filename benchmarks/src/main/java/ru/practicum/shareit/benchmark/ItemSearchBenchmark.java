@@ -0,0 +1,87 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.timeline.DatabaseAvailabilityTimeline;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// Индекс на миллион вещей занимает около 2 ГБ, куча по умолчанию (четверть памяти) для него мала.
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ItemSearchBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"дрел", "лобзик 7", "насадок"})
+    private String text;
+
+    private final Pageable page = PageRequest.of(0, 20);
+
+    private List<Item> items;
+    private InMemoryItemSearchEngine engine;
+
+    @Setup
+    public void setUp() {
+        items = Fixtures.items(size);
+        Map<Long, Item> byId = items.stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        ItemRepository itemRepository = Fixtures.repository(ItemRepository.class, Map.of(
+                "streamAllBy", args -> items.stream(),
+                "findAllById", args -> StreamSupport.stream(((Iterable<?>) args[0]).spliterator(), false)
+                        .map(byId::get)
+                        .toList()));
+
+        // Поиск без периода к занятости не обращается.
+        engine = new InMemoryItemSearchEngine(itemRepository,
+                new DatabaseAvailabilityTimeline(Fixtures.repository(BookingRepository.class, Map.of())));
+        engine.rebuild();
+    }
+
+    @Benchmark
+    public List<Item> trigramIndex() {
+        return engine.search(text, page);
+    }
+
+    // Та же семантика, что у ItemRepository.searchItems: полный просмотр с LIKE '%text%' и ранжированием.
+    @Benchmark
+    public List<Item> fullScan() {
+        String query = text.toLowerCase();
+
+        return items.stream()
+                .filter(item -> item.isAvailable()
+                        && (item.getName().toLowerCase().contains(query)
+                        || item.getDescription().toLowerCase().contains(query)))
+                .sorted(Comparator.<Item>comparingInt(item -> rank(item, query)).thenComparing(Item::getId))
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .toList();
+    }
+
+    private static int rank(Item item, String query) {
+        String name = item.getName().toLowerCase();
+
+        if (name.startsWith(query)) {
+            return 0;
+        }
+
+        return name.contains(query) ? 1 : 2;
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.OwnedItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<BookingDto> bookings;
+    private List<OwnedItemDto> ownedItems;
+
+    @Setup
+    public void setUp() {
+        // Тот же билдер, которым Spring MVC собирает ObjectMapper для ответов контроллеров.
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        try (AnnotationConfigApplicationContext context = Fixtures.mappers()) {
+            BookingMapper bookingMapper = context.getBean(BookingMapper.class);
+            ItemMapper itemMapper = context.getBean(ItemMapper.class);
+            List<Item> items = Fixtures.items(size);
+
+            bookings = Fixtures.bookings(items, size, 1).stream()
+                    .map(bookingMapper::mapToBookingDto)
+                    .toList();
+            ownedItems = items.stream()
+                    .map(itemMapper::mapToOwnedItemDto)
+                    .peek(dto -> {
+                        dto.setLastStart(Fixtures.NOW.minusDays(2));
+                        dto.setLastEnd(Fixtures.NOW.minusDays(1));
+                        dto.setNextStart(Fixtures.NOW.plusDays(1));
+                        dto.setNextEnd(Fixtures.NOW.plusDays(2));
+                    })
+                    .toList();
+        }
+    }
+
+    @Benchmark
+    public byte[] bookingDtos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] ownedItemDtos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(ownedItems);
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.OwnedItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.RequestMapper;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.model.Request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private BookingMapper bookingMapper;
+    private ItemMapper itemMapper;
+    private RequestMapper requestMapper;
+    private CommentMapper commentMapper;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Request> requests;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.mappers();
+        bookingMapper = context.getBean(BookingMapper.class);
+        itemMapper = context.getBean(ItemMapper.class);
+        requestMapper = context.getBean(RequestMapper.class);
+        commentMapper = context.getBean(CommentMapper.class);
+
+        items = Fixtures.items(size);
+        bookings = Fixtures.bookings(items, size, 1);
+        requests = Fixtures.requests(items, size);
+        comments = Fixtures.comments(items, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingDtos() {
+        List<BookingDto> result = new ArrayList<>(bookings.size());
+
+        for (Booking booking : bookings) {
+            result.add(bookingMapper.mapToBookingDto(booking));
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDto> itemDtos() {
+        List<ItemDto> result = new ArrayList<>(items.size());
+
+        for (Item item : items) {
+            result.add(itemMapper.mapToItemDto(item));
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public List<OwnedItemDto> ownedItemDtos() {
+        List<OwnedItemDto> result = new ArrayList<>(items.size());
+
+        for (Item item : items) {
+            result.add(itemMapper.mapToOwnedItemDto(item));
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public List<RequestDto> requestDtos() {
+        List<RequestDto> result = new ArrayList<>(requests.size());
+
+        for (Request request : requests) {
+            result.add(requestMapper.mapToRequestDto(request));
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public List<CommentDto> commentDtos() {
+        List<CommentDto> result = new ArrayList<>(comments.size());
+
+        for (Comment comment : comments) {
+            result.add(commentMapper.mapToCommentDto(comment));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.metrics.MetricsAspect;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserServiceImpl;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.logging.ResultLogProperties;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private UserService plainService;
+    private UserService instrumentedService;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.mappers();
+        UserMapper userMapper = context.getBean(UserMapper.class);
+        UserRepository userRepository = Fixtures.repository(UserRepository.class, Map.of(
+                "findById", args -> Optional.of(Fixtures.owner())));
+
+        // Гистограммы включены так же, как в application.properties сервера.
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        });
+        MetricsAspect aspect = new MetricsAspect(registry);
+
+        ResultLog resultLog = new ResultLog(new ResultLogProperties());
+        // getUser не трогает предметы и бронирования.
+        ItemService itemService = Fixtures.repository(ItemService.class, Map.of());
+        BookingService bookingService = Fixtures.repository(BookingService.class, Map.of());
+        plainService = new UserServiceImpl(userRepository, userMapper, itemService, bookingService, resultLog);
+        instrumentedService = proxy(new UserServiceImpl(proxy(userRepository, UserRepository.class, aspect),
+                userMapper, itemService, bookingService, resultLog), UserService.class, aspect);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDto plain() {
+        return plainService.getUser(Fixtures.OWNER_ID);
+    }
+
+    @Benchmark
+    public UserDto instrumented() {
+        return instrumentedService.getUser(Fixtures.OWNER_ID);
+    }
+
+    private static <T> T proxy(T target, Class<T> type, MetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(type);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
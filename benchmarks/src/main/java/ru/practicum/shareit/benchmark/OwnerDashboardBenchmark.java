@@ -0,0 +1,111 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.owner.OwnerDashboardService;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Сводка владельца одним вызовом /owner/dashboard против трех вызовов, которые делал фронтенд:
+// /items, /items/comments/owner и /bookings/owner?state=ALL. Сравниваются сервисы, без HTTP.
+// Прогрев длиннее обычного: вызовы по несколько миллисекунд, и за короткий прогрев JIT не успевает.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerDashboardBenchmark {
+    private static final int BOOKINGS_PER_ITEM = 20;
+    private static final int COMMENTS_PER_ITEM = 5;
+
+    @Param({"10", "100"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private OwnerDashboardService dashboardService;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.server("dashboarddb");
+        dashboardService = context.getBean(OwnerDashboardService.class);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User owner = userRepository.save(new User(null, "Владелец", "owner@mail.ru"));
+        User booker = userRepository.save(new User(null, "Арендатор", "booker@mail.ru"));
+        ownerId = owner.getId();
+
+        List<Item> ownerItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            ownerItems.add(new Item(null, "Дрель " + i, "Аккумуляторная дрель " + i, true, owner, null));
+        }
+        ownerItems = context.getBean(ItemRepository.class).saveAll(ownerItems);
+
+        // Бронирования каждой вещи идут подряд по дням: половина в прошлом, половина в будущем.
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Item item : ownerItems) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = now.plusDays(i - BOOKINGS_PER_ITEM / 2);
+                bookings.add(new Booking(null, start, start.plusHours(12), item, booker,
+                        Status.values()[i % Status.values().length]));
+            }
+
+            for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+                comments.add(new Comment(null, "Отличная вещь " + i, item, booker, now.minusDays(i)));
+            }
+        }
+        context.getBean(BookingRepository.class).saveAll(bookings);
+        context.getBean(CommentRepository.class).saveAll(comments);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object dashboard() {
+        return dashboardService.getDashboard(ownerId, 10);
+    }
+
+    @Benchmark
+    public void threeCalls(Blackhole blackhole) {
+        blackhole.consume(itemService.getOwnerItems(ownerId));
+        blackhole.consume(itemService.getAllCommentsForOwner(ownerId));
+        blackhole.consume(bookingService.getOwnedItemsBookings(ownerId,
+                ru.practicum.shareit.booking.model.State.ALL, 0, null, null));
+    }
+}
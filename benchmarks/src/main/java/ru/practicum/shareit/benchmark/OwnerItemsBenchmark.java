@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.timeline.DatabaseAvailabilityTimeline;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.cache.NoOpItemCache;
+import ru.practicum.shareit.item.dto.OwnedItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
+import ru.practicum.shareit.request.RequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.logging.ResultLogProperties;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerItemsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private ItemService itemService;
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.mappers();
+        List<Item> items = Fixtures.items(size);
+        // У каждой второй вещи есть прошедшее бронирование, у каждой третьей — будущее.
+        List<Booking> lastBookings = Fixtures.bookings(items, size, -30).stream()
+                .filter(booking -> booking.getItem().getId() % 2 == 0)
+                .toList();
+        List<Booking> nextBookings = Fixtures.bookings(items, size, 30).stream()
+                .filter(booking -> booking.getItem().getId() % 3 == 0)
+                .toList();
+
+        ItemRepository itemRepository = Fixtures.repository(ItemRepository.class, Map.of(
+                "findAllByOwnerId", args -> items));
+        UserRepository userRepository = Fixtures.repository(UserRepository.class, Map.of(
+                "existsById", args -> true));
+        BookingRepository bookingRepository = Fixtures.repository(BookingRepository.class, Map.of(
+                "findLastByItemIdIn", args -> lastBookings,
+                "findNextByItemIdIn", args -> nextBookings));
+
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository,
+                Fixtures.repository(CommentRepository.class, Map.of()),
+                Fixtures.repository(RequestRepository.class, Map.of()),
+                context.getBean(ItemMapper.class), context.getBean(CommentMapper.class),
+                new DatabaseItemSearchEngine(itemRepository), new NoOpItemCache(),
+                new DatabaseAvailabilityTimeline(bookingRepository), new ResultLog(new ResultLogProperties()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OwnedItemDto> ownerItems() {
+        return itemService.getOwnerItems(Fixtures.OWNER_ID);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.logging.ResultLogProperties;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Запись в лог списка бронирований целиком против ограниченной сводки ResultLog.
+// Логгер пишет в пустой поток через обычный PatternLayoutEncoder, так что в замер входит форматирование.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultLoggingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private OutputStreamAppender<ILoggingEvent> appender;
+    private Logger log;
+    private List<BookingDto> result;
+    private final ResultLog resultLog = new ResultLog(new ResultLogProperties());
+
+    @Setup
+    public void setUp() {
+        context = Fixtures.mappers();
+        BookingMapper bookingMapper = context.getBean(BookingMapper.class);
+        result = Fixtures.bookings(Fixtures.items(Math.max(1, size / 10)), size, -size)
+                .stream()
+                .map(bookingMapper::mapToBookingDto)
+                .toList();
+
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d %-5level [%thread] %logger{36} : %msg%n");
+        encoder.start();
+
+        appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        log = loggerContext.getLogger(ResultLoggingBenchmark.class);
+        log.setLevel(Level.INFO);
+        log.setAdditive(false);
+        log.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        log.detachAppender(appender);
+        appender.stop();
+        context.close();
+    }
+
+    @Benchmark
+    public void eager() {
+        log.info("Получен результат: {}", result);
+    }
+
+    @Benchmark
+    public void bounded() {
+        resultLog.info(log, result, BookingDto::getId, "Получены бронирования пользователя {}: {}",
+                Fixtures.BOOKER_ID);
+    }
+}
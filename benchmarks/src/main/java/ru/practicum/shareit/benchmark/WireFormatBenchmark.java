@@ -0,0 +1,105 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.OwnedItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Формат обмена gateway с сервером: JSON против CBOR на больших списках. Сервер кодирует ответ (write),
+// gateway его разбирает (read); размер тела печатается при подготовке данных.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final TypeReference<List<BookingDto>> BOOKINGS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<OwnedItemDto>> OWNED_ITEMS = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookingDto> bookings;
+    private List<OwnedItemDto> ownedItems;
+    private byte[] bookingBytes;
+    private byte[] ownedItemBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Те же билдеры, из которых Spring собирает конвертеры MappingJackson2 и MappingJackson2Cbor.
+        objectMapper = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+
+        try (AnnotationConfigApplicationContext context = Fixtures.mappers()) {
+            BookingMapper bookingMapper = context.getBean(BookingMapper.class);
+            ItemMapper itemMapper = context.getBean(ItemMapper.class);
+            List<Item> items = Fixtures.items(size);
+
+            bookings = Fixtures.bookings(items, size, 1).stream()
+                    .map(bookingMapper::mapToBookingDto)
+                    .toList();
+            ownedItems = items.stream()
+                    .map(itemMapper::mapToOwnedItemDto)
+                    .peek(dto -> {
+                        dto.setLastStart(Fixtures.NOW.minusDays(2));
+                        dto.setLastEnd(Fixtures.NOW.minusDays(1));
+                        dto.setNextStart(Fixtures.NOW.plusDays(1));
+                        dto.setNextEnd(Fixtures.NOW.plusDays(2));
+                    })
+                    .toList();
+        }
+
+        bookingBytes = objectMapper.writeValueAsBytes(bookings);
+        ownedItemBytes = objectMapper.writeValueAsBytes(ownedItems);
+        System.out.printf("%n%s, %d элементов: BookingDto %d байт, OwnedItemDto %d байт%n",
+                format, size, bookingBytes.length, ownedItemBytes.length);
+    }
+
+    @Benchmark
+    public byte[] writeBookingDtos() throws IOException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public List<BookingDto> readBookingDtos() throws IOException {
+        return objectMapper.readValue(bookingBytes, BOOKINGS);
+    }
+
+    @Benchmark
+    public byte[] writeOwnedItemDtos() throws IOException {
+        return objectMapper.writeValueAsBytes(ownedItems);
+    }
+
+    @Benchmark
+    public List<OwnedItemDto> readOwnedItemDtos() throws IOException {
+        return objectMapper.readValue(ownedItemBytes, OWNED_ITEMS);
+    }
+}
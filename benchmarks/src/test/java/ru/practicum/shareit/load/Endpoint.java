@@ -0,0 +1,20 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+enum Endpoint {
+    SEARCH_ITEMS("GET /items/search"),
+    GET_ITEM("GET /items/{itemId}"),
+    OWNER_ITEMS("GET /items"),
+    OWNER_COMMENTS("GET /items/comments"),
+    BOOKER_BOOKINGS("GET /bookings"),
+    OWNER_BOOKINGS("GET /bookings/owner"),
+    ADD_BOOKING("POST /bookings"),
+    APPROVE_BOOKING("PATCH /bookings/{bookingId}"),
+    ALL_REQUESTS("GET /requests/all");
+
+    private final String label;
+}
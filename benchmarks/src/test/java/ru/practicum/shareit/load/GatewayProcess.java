@@ -0,0 +1,114 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Gateway и сервер объявляют одинаковые классы в одних пакетах, поэтому gateway запускается отдельным процессом.
+@Slf4j
+class GatewayProcess implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(90);
+
+    private final Process process;
+    private final URI baseUri;
+
+    private GatewayProcess(Process process, URI baseUri) {
+        this.process = process;
+        this.baseUri = baseUri;
+    }
+
+    static GatewayProcess start(LoadSettings settings, int serverPort) throws IOException, InterruptedException {
+        Path jar = settings.gatewayJar().toAbsolutePath().normalize();
+
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден jar gateway: " + jar +
+                    ". Соберите его командой mvn -pl gateway package -DskipTests");
+        }
+
+        int port = freePort();
+        Files.createDirectories(settings.reportDir());
+        Path logFile = settings.reportDir().resolve("gateway-" + port + ".log");
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+
+        Process process = new ProcessBuilder(List.of(java.toString(), "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--shareit-server.client.mode=" + settings.clientMode(),
+                "--shareit-server.client.wire-format=" + settings.wireFormat(),
+                "--spring.threads.virtual.enabled=" + settings.virtualThreads(),
+                "--server.tomcat.threads.max=" + settings.tomcatThreads(),
+                "--shareit-gateway.rate-limit.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"))
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+
+        GatewayProcess gateway = new GatewayProcess(process, URI.create("http://localhost:" + port));
+        gateway.awaitReady(logFile);
+        log.info("Gateway запущен на порту {}: mode={}, wireFormat={}, virtualThreads={}, tomcatThreads={}", port,
+                settings.clientMode(), settings.wireFormat(), settings.virtualThreads(), settings.tomcatThreads());
+
+        return gateway;
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private void awaitReady(Path logFile) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/actuator/health")).GET().build();
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            while (Instant.now().isBefore(deadline)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Gateway завершился с кодом " + process.exitValue() +
+                            ", см. " + logFile);
+                }
+
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return;
+                    }
+                } catch (ConnectException e) {
+                    // порт еще не открыт
+                } catch (IOException e) {
+                    log.debug("Gateway еще не готов: {}", e.getMessage());
+                }
+
+                Thread.sleep(200);
+            }
+        }
+
+        process.destroyForcibly();
+        throw new IllegalStateException("Gateway не запустился за " + STARTUP_TIMEOUT + ", см. " + logFile);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
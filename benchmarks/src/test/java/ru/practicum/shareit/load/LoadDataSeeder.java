@@ -0,0 +1,124 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.RequestRepository;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+class LoadDataSeeder {
+    static final List<String> WORDS = List.of("дрель", "перфоратор", "шуруповерт", "лобзик", "болгарка",
+            "стремянка", "палатка", "велосипед", "самокат", "проектор", "гитара", "сапборд");
+    private static final List<String> DETAILS = List.of("аккумуляторная", "ударная", "с набором насадок",
+            "почти новая", "для дачи", "профессиональная", "складная", "туристическая");
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+
+    SeedData seed(LoadSettings settings) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        List<User> users = new ArrayList<>(settings.users());
+
+        for (int i = 0; i < settings.users(); i++) {
+            users.add(new User(null, "Пользователь " + i, "load" + i + "@shareit.ru"));
+        }
+
+        users = userRepository.saveAll(users);
+        List<User> owners = users.subList(0, settings.owners());
+        List<User> bookers = users.subList(settings.owners(), users.size());
+
+        List<Request> requests = new ArrayList<>(settings.requests());
+
+        for (int i = 0; i < settings.requests(); i++) {
+            requests.add(new Request(null, "Ищу " + pick(WORDS, random), pick(bookers, random), null, null));
+        }
+
+        requests = requestRepository.saveAll(requests);
+
+        List<Item> items = new ArrayList<>(settings.items());
+
+        for (int i = 0; i < settings.items(); i++) {
+            Request request = i % 3 == 0 ? pick(requests, random) : null;
+            items.add(new Item(null, capitalize(pick(WORDS, random)) + " " + i,
+                    capitalize(pick(WORDS, random)) + " " + pick(DETAILS, random),
+                    i % 5 != 0, owners.get(i % owners.size()), request));
+        }
+
+        items = itemRepository.saveAll(items);
+
+        // Бронирования одной вещи идут подряд и не пересекаются: половина в прошлом, половина в будущем.
+        int perItem = Math.max(1, settings.bookings() / items.size());
+        List<Booking> bookings = new ArrayList<>(settings.bookings());
+
+        for (int i = 0; i < settings.bookings(); i++) {
+            Item item = items.get(i % items.size());
+            int slot = i / items.size();
+            LocalDateTime start = now.plusDays(3L * (slot - perItem / 2)).plusHours(1);
+            Status status = start.isBefore(now)
+                    ? (slot % 7 == 0 ? Status.REJECTED : Status.APPROVED)
+                    : (slot % 2 == 0 ? Status.APPROVED : Status.WAITING);
+            bookings.add(new Booking(null, start, start.plusDays(2), item, pick(bookers, random), status));
+        }
+
+        bookings = bookingRepository.saveAll(bookings);
+
+        List<Booking> finished = bookings.stream()
+                .filter(booking -> booking.getStatus() == Status.APPROVED && booking.getEnd().isBefore(now))
+                .toList();
+        List<Comment> comments = new ArrayList<>(settings.comments());
+
+        for (int i = 0; i < settings.comments() && !finished.isEmpty(); i++) {
+            Booking booking = pick(finished, random);
+            comments.add(new Comment(null, "Все отлично, спасибо " + i, booking.getItem(), booking.getBooker(), null));
+        }
+
+        commentRepository.saveAll(comments);
+
+        Map<Long, Long> availableItemOwners = items.stream()
+                .filter(Item::isAvailable)
+                .collect(Collectors.toMap(Item::getId, item -> item.getOwner().getId()));
+
+        return new SeedData(ids(owners), ids(bookers), List.copyOf(availableItemOwners.keySet()),
+                availableItemOwners, items.stream().map(Item::getId).toList());
+    }
+
+    private static <T> T pick(List<T> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static List<Long> ids(List<User> users) {
+        return users.stream().map(User::getId).toList();
+    }
+
+    record SeedData(List<Long> ownerIds,
+                    List<Long> bookerIds,
+                    List<Long> availableItemIds,
+                    Map<Long, Long> itemOwners,
+                    List<Long> itemIds) {
+    }
+}
@@ -0,0 +1,205 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.load.LoadDataSeeder.SeedData;
+import ru.practicum.shareit.load.LoadReport.EndpointStats;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Замкнутая модель нагрузки: каждый из threads виртуальных потоков шлет следующий запрос сразу после ответа.
+@Slf4j
+class LoadDriver implements AutoCloseable {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String PAGE = "&from=0&size=20";
+
+    private final URI gateway;
+    private final SeedData data;
+    private final LoadSettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LocalDateTime slotBase = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS);
+    private final AtomicLong slots = new AtomicLong();
+    private final Queue<Approval> approvals = new ConcurrentLinkedQueue<>();
+
+    LoadDriver(URI gateway, SeedData data, LoadSettings settings) {
+        this.gateway = gateway;
+        this.data = data;
+        this.settings = settings;
+    }
+
+    LoadReport run(Workload workload) throws InterruptedException {
+        drive(workload, settings.warmup(), statsFor());
+
+        Map<Endpoint, EndpointStats> stats = statsFor();
+        long started = System.nanoTime();
+        drive(workload, settings.duration(), stats);
+
+        return new LoadReport(workload, Duration.ofNanos(System.nanoTime() - started), stats);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    private void drive(Workload workload, Duration duration, Map<Endpoint, EndpointStats> stats)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.threads(); i++) {
+                SplittableRandom random = new SplittableRandom(workload.ordinal() * 1_000L + i);
+                workers.execute(() -> loop(workload, deadline, stats, random));
+            }
+
+            workers.shutdown();
+
+            if (!workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Нагрузочные потоки не завершились вовремя");
+            }
+        }
+    }
+
+    private void loop(Workload workload, long deadline, Map<Endpoint, EndpointStats> stats, SplittableRandom random) {
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = workload.next(random);
+            Approval approval = null;
+
+            if (endpoint == Endpoint.APPROVE_BOOKING) {
+                approval = approvals.poll();
+
+                if (approval == null) {
+                    endpoint = Endpoint.ADD_BOOKING;
+                }
+            }
+
+            EndpointStats endpointStats = stats.get(endpoint);
+            long started = System.nanoTime();
+
+            try {
+                HttpResponse<byte[]> response = client.send(request(endpoint, approval, random),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                endpointStats.latencies().record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started));
+
+                if (response.statusCode() >= 400) {
+                    endpointStats.errors().increment();
+                    log.debug("{} -> {}: {}", endpoint.getLabel(), response.statusCode(),
+                            new String(response.body(), StandardCharsets.UTF_8));
+                } else if (endpoint == Endpoint.ADD_BOOKING) {
+                    rememberForApproval(response.body());
+                }
+            } catch (IOException e) {
+                endpointStats.errors().increment();
+                log.debug("{} завершился ошибкой: {}", endpoint.getLabel(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint, Approval approval, SplittableRandom random) throws IOException {
+        long owner = pick(data.ownerIds(), random);
+        long booker = pick(data.bookerIds(), random);
+
+        return switch (endpoint) {
+            case SEARCH_ITEMS -> get("/items/search?text=" + searchText(random) + PAGE, null);
+            case GET_ITEM -> get("/items/" + pick(data.itemIds(), random), null);
+            case OWNER_ITEMS -> get("/items", owner);
+            case OWNER_COMMENTS -> get("/items/comments", owner);
+            case BOOKER_BOOKINGS -> get("/bookings?state=ALL" + PAGE, booker);
+            case OWNER_BOOKINGS -> get("/bookings/owner?state=ALL" + PAGE, owner);
+            case ALL_REQUESTS -> get("/requests/all?from=0&size=20", booker);
+            case ADD_BOOKING -> addBooking(booker, random);
+            case APPROVE_BOOKING -> HttpRequest.newBuilder(gateway.resolve("/bookings/" + approval.bookingId() +
+                            "?approved=" + random.nextBoolean()))
+                    .header(USER_HEADER, String.valueOf(approval.ownerId()))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(gateway.resolve(path)).GET();
+
+        if (userId != null) {
+            builder.header(USER_HEADER, String.valueOf(userId));
+        }
+
+        return builder.build();
+    }
+
+    // Каждое новое бронирование получает собственный часовой слот, поэтому пересечений не возникает.
+    private HttpRequest addBooking(long booker, SplittableRandom random) throws IOException {
+        LocalDateTime start = slotBase.plusHours(slots.getAndIncrement());
+        String body = objectMapper.writeValueAsString(Map.of(
+                "itemId", pick(data.availableItemIds(), random),
+                "start", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                "end", start.plusMinutes(30).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
+
+        return HttpRequest.newBuilder(gateway.resolve("/bookings"))
+                .header(USER_HEADER, String.valueOf(booker))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void rememberForApproval(byte[] body) throws IOException {
+        JsonNode booking = objectMapper.readTree(body);
+        long bookingId = booking.path("id").asLong();
+        Long ownerId = data.itemOwners().get(booking.path("item").path("id").asLong());
+
+        if (ownerId != null) {
+            approvals.add(new Approval(bookingId, ownerId));
+        }
+    }
+
+    private static String searchText(SplittableRandom random) {
+        String word = pick(LoadDataSeeder.WORDS, random);
+        // Пользователь обычно вводит начало слова.
+        String prefix = word.substring(0, Math.min(word.length(), 3 + random.nextInt(4)));
+        return URLEncoder.encode(prefix, StandardCharsets.UTF_8);
+    }
+
+    private static <T> T pick(List<T> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static Map<Endpoint, EndpointStats> statsFor() {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        return stats;
+    }
+
+    private record Approval(long bookingId, long ownerId) {
+    }
+}
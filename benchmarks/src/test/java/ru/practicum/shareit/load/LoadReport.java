@@ -0,0 +1,120 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+record LoadReport(Workload workload, Duration elapsed, Map<Endpoint, EndpointStats> endpoints) {
+
+    long requests() {
+        return endpoints.values().stream().mapToLong(stats -> stats.latencies().count()).sum();
+    }
+
+    long errors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.errors().sum()).sum();
+    }
+
+    double throughput() {
+        return requests() / (elapsed.toNanos() / 1e9);
+    }
+
+    LatencyHistogram latencies() {
+        LatencyHistogram all = new LatencyHistogram();
+        endpoints.values().forEach(stats -> all.add(stats.latencies()));
+        return all;
+    }
+
+    void log() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%n%-28s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+
+        endpoints.forEach((endpoint, stats) -> {
+            LatencyHistogram latencies = stats.latencies();
+
+            if (latencies.count() > 0) {
+                table.append(String.format(Locale.ROOT, "%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        endpoint.getLabel(), latencies.count(), stats.errors().sum(),
+                        latencies.count() / (elapsed.toNanos() / 1e9),
+                        millis(latencies.percentile(50)), millis(latencies.percentile(90)),
+                        millis(latencies.percentile(99)), millis(latencies.max())));
+            }
+        });
+
+        log.info("Нагрузка {}: {} запросов, {} ошибок, {} req/s{}", workload, requests(), errors(),
+                String.format(Locale.ROOT, "%.1f", throughput()), table);
+    }
+
+    Path write(LoadSettings settings) throws IOException {
+        return write(settings, workload.name().toLowerCase(Locale.ROOT));
+    }
+
+    Path write(LoadSettings settings, String name) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("workload", workload.name());
+        report.put("threads", settings.threads());
+        report.put("clientMode", settings.clientMode());
+        report.put("wireFormat", settings.wireFormat());
+        report.put("virtualThreads", settings.virtualThreads());
+        report.put("tomcatThreads", settings.tomcatThreads());
+        report.put("durationSeconds", elapsed.toNanos() / 1e9);
+        report.put("requests", requests());
+        report.put("errors", errors());
+        report.put("throughput", throughput());
+        report.put("p99Micros", latencies().percentile(99));
+
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+
+        endpoints.forEach((endpoint, stats) -> {
+            LatencyHistogram latencies = stats.latencies();
+
+            if (latencies.count() == 0) {
+                return;
+            }
+
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("requests", latencies.count());
+            values.put("errors", stats.errors().sum());
+            values.put("throughput", latencies.count() / (elapsed.toNanos() / 1e9));
+            values.put("meanMicros", latencies.mean());
+            values.put("p50Micros", latencies.percentile(50));
+            values.put("p90Micros", latencies.percentile(90));
+            values.put("p99Micros", latencies.percentile(99));
+            values.put("p999Micros", latencies.percentile(99.9));
+            values.put("maxMicros", latencies.max());
+            values.put("histogramMicros", latencies.buckets());
+            byEndpoint.put(endpoint.getLabel(), values);
+        });
+
+        report.put("endpoints", byEndpoint);
+
+        Files.createDirectories(settings.reportDir());
+        Path file = settings.reportDir().resolve(name + ".json");
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), report);
+
+        return file;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    record EndpointStats(LatencyHistogram latencies, LongAdder errors) {
+
+        EndpointStats() {
+            this(new LatencyHistogram(), new LongAdder());
+        }
+    }
+}
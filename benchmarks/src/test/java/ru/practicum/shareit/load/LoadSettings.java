@@ -0,0 +1,48 @@
+package ru.practicum.shareit.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+record LoadSettings(int threads,
+                    Duration warmup,
+                    Duration duration,
+                    int users,
+                    int owners,
+                    int items,
+                    int requests,
+                    int bookings,
+                    int comments,
+                    Path gatewayJar,
+                    String clientMode,
+                    String wireFormat,
+                    boolean virtualThreads,
+                    int tomcatThreads,
+                    Path reportDir) {
+
+    private static final String PREFIX = "shareit.loadtest.";
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger(PREFIX + "threads", 64),
+                Duration.parse(System.getProperty(PREFIX + "warmup", "PT5S")),
+                Duration.parse(System.getProperty(PREFIX + "duration", "PT20S")),
+                Integer.getInteger(PREFIX + "users", 500),
+                Integer.getInteger(PREFIX + "owners", 100),
+                Integer.getInteger(PREFIX + "items", 5_000),
+                Integer.getInteger(PREFIX + "requests", 1_000),
+                Integer.getInteger(PREFIX + "bookings", 20_000),
+                Integer.getInteger(PREFIX + "comments", 3_000),
+                Path.of(System.getProperty(PREFIX + "gateway-jar",
+                        "../gateway/target/shareit-gateway-0.0.1-SNAPSHOT-exec.jar")),
+                System.getProperty(PREFIX + "client-mode", "blocking"),
+                System.getProperty(PREFIX + "wire-format", "cbor"),
+                Boolean.parseBoolean(System.getProperty("spring.threads.virtual.enabled", "true")),
+                Integer.getInteger(PREFIX + "tomcat-threads", 200),
+                Path.of(System.getProperty(PREFIX + "report-dir", "target/load-test")));
+    }
+
+    LoadSettings withVirtualThreads(boolean enabled) {
+        return new LoadSettings(threads, warmup, duration, users, owners, items, requests, bookings, comments,
+                gatewayJar, clientMode, wireFormat, enabled, tomcatThreads, reportDir);
+    }
+}
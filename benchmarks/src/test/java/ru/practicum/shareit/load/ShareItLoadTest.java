@@ -0,0 +1,126 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.RequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("load")
+@SpringBootTest(classes = ShareItServer.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class ShareItLoadTest {
+    private static final double MAX_ERROR_RATE = 0.01;
+    private static final Workload THREAD_MODE_WORKLOAD = Workload.SEARCH_HEAVY;
+
+    private final LoadSettings settings = LoadSettings.fromSystemProperties();
+
+    @LocalServerPort
+    private int serverPort;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private RequestRepository requestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+
+    private LoadDataSeeder.SeedData data;
+    private GatewayProcess gateway;
+    private LoadDriver driver;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        data = new LoadDataSeeder(userRepository, itemRepository, requestRepository,
+                bookingRepository, commentRepository).seed(settings);
+
+        if (itemSearchEngine instanceof InMemoryItemSearchEngine inMemory) {
+            inMemory.rebuild();
+        }
+
+        gateway = GatewayProcess.start(settings, serverPort);
+        driver = new LoadDriver(gateway.baseUri(), data, settings);
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        if (driver != null) {
+            driver.close();
+        }
+
+        if (gateway != null) {
+            gateway.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Workload.class)
+    void runWorkload(Workload workload) throws Exception {
+        LoadReport report = driver.run(workload);
+        report.log();
+        report.write(settings);
+
+        assertThat(report.requests()).isPositive();
+        assertThat(report.errors()).isLessThanOrEqualTo((long) (report.requests() * MAX_ERROR_RATE));
+    }
+
+    // Один сценарий через gateway на платформенных и на виртуальных потоках, остальные настройки одинаковые.
+    // Разница видна, когда клиентов больше, чем потоков Tomcat, например
+    // -Dshareit.loadtest.threads=400 -Dshareit.loadtest.tomcat-threads=50.
+    @Test
+    void compareThreadModes() throws Exception {
+        LoadReport platform = runWithThreadMode(false);
+        LoadReport virtual = runWithThreadMode(true);
+
+        log.info("Потоки gateway, {} клиентов, {} потоков Tomcat: платформенные {} req/s, p99 {} мс; " +
+                        "виртуальные {} req/s, p99 {} мс", settings.threads(), settings.tomcatThreads(),
+                String.format(Locale.ROOT, "%.1f", platform.throughput()), platform.latencies().percentile(99) / 1000.0,
+                String.format(Locale.ROOT, "%.1f", virtual.throughput()), virtual.latencies().percentile(99) / 1000.0);
+
+        for (LoadReport report : new LoadReport[]{platform, virtual}) {
+            assertThat(report.requests()).isPositive();
+            assertThat(report.errors()).isLessThanOrEqualTo((long) (report.requests() * MAX_ERROR_RATE));
+        }
+    }
+
+    private LoadReport runWithThreadMode(boolean virtualThreads) throws Exception {
+        LoadSettings modeSettings = settings.withVirtualThreads(virtualThreads);
+
+        try (GatewayProcess modeGateway = GatewayProcess.start(modeSettings, serverPort);
+             LoadDriver modeDriver = new LoadDriver(modeGateway.baseUri(), data, modeSettings)) {
+            LoadReport report = modeDriver.run(THREAD_MODE_WORKLOAD);
+            report.log();
+            report.write(modeSettings, THREAD_MODE_WORKLOAD.name().toLowerCase(Locale.ROOT) +
+                    (virtualThreads ? "-virtual" : "-platform"));
+
+            return report;
+        }
+    }
+}
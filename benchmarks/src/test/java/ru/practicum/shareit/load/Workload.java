@@ -0,0 +1,51 @@
+package ru.practicum.shareit.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+enum Workload {
+    SEARCH_HEAVY(Map.of(
+            Endpoint.SEARCH_ITEMS, 70,
+            Endpoint.GET_ITEM, 20,
+            Endpoint.ALL_REQUESTS, 10)),
+    BOOKING_HEAVY(Map.of(
+            Endpoint.ADD_BOOKING, 30,
+            Endpoint.APPROVE_BOOKING, 20,
+            Endpoint.BOOKER_BOOKINGS, 30,
+            Endpoint.GET_ITEM, 10,
+            Endpoint.SEARCH_ITEMS, 10)),
+    OWNER_DASHBOARD_HEAVY(Map.of(
+            Endpoint.OWNER_ITEMS, 40,
+            Endpoint.OWNER_BOOKINGS, 35,
+            Endpoint.OWNER_COMMENTS, 15,
+            Endpoint.APPROVE_BOOKING, 5,
+            Endpoint.ADD_BOOKING, 5));
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    Workload(Map<Endpoint, Integer> weights) {
+        Map<Endpoint, Integer> ordered = new EnumMap<>(weights);
+        endpoints = ordered.keySet().toArray(Endpoint[]::new);
+        cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+
+        for (int i = 0; i < endpoints.length; i++) {
+            total += ordered.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Endpoint next(SplittableRandom random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+
+        return endpoints[endpoints.length - 1];
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Пакетные запросы проверяются здесь за один проход: невалидные элементы получают 400 и на сервер не уходят,
+// а индексы из ответа сервера переводятся обратно в индексы исходного списка.
+public final class BatchRequests {
+    public static final int MAX_SIZE = 1000;
+
+    private BatchRequests() {
+    }
+
+    public static <T, R> BatchResponse<R> forward(Validator validator, List<T> requests,
+                                                  Function<List<T>, BatchResponse<R>> server) {
+        return forward(validator, requests, request -> null, server);
+    }
+
+    // check — дополнительная проверка элемента, возвращает текст ошибки или null.
+    public static <T, R> BatchResponse<R> forward(Validator validator, List<T> requests, Function<T, String> check,
+                                                  Function<List<T>, BatchResponse<R>> server) {
+        if (requests.size() > MAX_SIZE) {
+            throw new ValidationException("Пакет не может содержать больше " + MAX_SIZE + " элементов");
+        }
+
+        List<BatchResult<R>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<T> valid = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            T request = requests.get(i);
+            String error = request == null
+                    ? "Элемент пакета с индексом " + i + " не задан"
+                    : violations(validator, request);
+
+            if (error == null) {
+                error = check.apply(request);
+            }
+
+            if (error != null) {
+                results.set(i, new BatchResult<>(i, HttpStatus.BAD_REQUEST.value(), null, error));
+            } else {
+                valid.add(request);
+                positions.add(i);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            for (BatchResult<R> result : server.apply(valid).getResults()) {
+                int index = positions.get(result.getIndex());
+                result.setIndex(index);
+                results.set(index, result);
+            }
+        }
+
+        int created = (int) results.stream()
+                .filter(result -> result.getError() == null)
+                .count();
+
+        return new BatchResponse<>(created, results.size() - created, results);
+    }
+
+    private static <T> String violations(Validator validator, T request) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
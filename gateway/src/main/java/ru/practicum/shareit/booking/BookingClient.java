@@ -1,26 +1,33 @@
 package ru.practicum.shareit.booking;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final ParameterizedTypeReference<BatchResponse<BookingDto>> BATCH_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(serverUrl, builder, API_PREFIX);
+    public BookingClient(ServerTransportFactory transportFactory, MeterRegistry meterRegistry) {
+        super(transportFactory, API_PREFIX, meterRegistry);
     }
 
     public BookingDto addBooking(long userId, PostBookingRequest request) {
@@ -28,26 +35,58 @@ public class BookingClient extends BaseClient {
         return response.getBody();
     }
 
+    public BatchResponse<BookingDto> addBookings(long userId, List<PostBookingRequest> requests) {
+        ResponseEntity<BatchResponse<BookingDto>> response = post("/batch", userId, requests, BATCH_TYPE);
+        return response.getBody();
+    }
+
     public BookingDto considerBooking(long userId, long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         ResponseEntity<BookingDto> response = patch("/" + bookingId, userId, parameters, null, BookingDto.class);
         return response.getBody();
     }
 
-    public BookingDto getBooking(long userId, long bookingId) {
-        ResponseEntity<BookingDto> response = get("/" + bookingId, userId, BookingDto.class);
-        return response.getBody();
+    public ResponseEntity<BookingDto> getBooking(long userId, long bookingId) {
+        return get("/" + bookingId, userId, BookingDto.class);
     }
 
-    public List<BookingDto> getUserBookings(long userId, State state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        ResponseEntity<List<BookingDto>> response = getList("", userId, parameters, BookingDto.class);
+    public ResponseEntity<List<BookingDto>> getUserBookings(long userId, State state, int from, Integer size,
+                                                            String cursor) {
+        return getPage("", userId, state, from, size, cursor);
+    }
+
+    public ResponseEntity<List<BookingDto>> getOwnedItemsBookings(long userId, State state, int from, Integer size,
+                                                                  String cursor) {
+        return getPage("/owner", userId, state, from, size, cursor);
+    }
+
+    public BookingCountsDto getUserBookingCounts(long userId) {
+        ResponseEntity<BookingCountsDto> response = get("/counts", userId, BookingCountsDto.class);
         return response.getBody();
     }
 
-    public List<BookingDto> getOwnedItemsBookings(long userId, State state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        ResponseEntity<List<BookingDto>> response = getList("/owner", userId, parameters, BookingDto.class);
+    public BookingCountsDto getOwnedItemsBookingCounts(long userId) {
+        ResponseEntity<BookingCountsDto> response = get("/owner/counts", userId, BookingCountsDto.class);
         return response.getBody();
     }
+
+    private ResponseEntity<List<BookingDto>> getPage(String path, long userId, State state, int from, Integer size,
+                                                     String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder query = new StringBuilder(path).append("?state={state}&from={from}");
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+
+        if (size != null) {
+            query.append("&size={size}");
+            parameters.put("size", size);
+        }
+
+        if (cursor != null) {
+            query.append("&cursor={cursor}");
+            parameters.put("cursor", cursor);
+        }
+
+        return toPage(getList(query.toString(), userId, parameters, BookingDto.class));
+    }
 }
@@ -3,6 +3,10 @@ package ru.practicum.shareit.booking;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
 import ru.practicum.shareit.booking.dto.State;
@@ -13,11 +17,19 @@ public interface BookingController {
 
     BookingDto addBooking(@Positive long userId, @Valid PostBookingRequest request);
 
+    BatchResponse<BookingDto> addBookings(@Positive long userId, List<PostBookingRequest> requests);
+
     BookingDto considerBooking(@Positive long userId, @Positive long bookingId, @NotNull boolean approved);
 
-    BookingDto getBooking(@Positive long userId, @Positive long bookingId);
+    ResponseEntity<BookingDto> getBooking(@Positive long userId, @Positive long bookingId);
+
+    ResponseEntity<List<BookingDto>> getUserBookings(@Positive long userId, State state, @PositiveOrZero int from,
+                                                     @Positive Integer size, String cursor);
+
+    ResponseEntity<List<BookingDto>> getOwnedItemsBookings(@Positive long userId, State state, @PositiveOrZero int from,
+                                                           @Positive Integer size, String cursor);
 
-    List<BookingDto> getUserBookings(@Positive long userId, State state);
+    BookingCountsDto getUserBookingCounts(@Positive long userId);
 
-    List<BookingDto> getOwnedItemsBookings(@Positive long userId, State state);
+    BookingCountsDto getOwnedItemsBookingCounts(@Positive long userId);
 }
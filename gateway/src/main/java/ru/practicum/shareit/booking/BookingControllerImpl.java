@@ -1,10 +1,15 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchRequests;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
 import ru.practicum.shareit.booking.dto.State;
@@ -19,6 +24,7 @@ import java.util.List;
 @Slf4j
 public class BookingControllerImpl implements BookingController {
     private final BookingClient bookingClient;
+    private final Validator validator;
 
     @Override
     @PostMapping
@@ -30,11 +36,32 @@ public class BookingControllerImpl implements BookingController {
         return bookingClient.addBooking(userId, request);
     }
 
+    @Override
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchResponse<BookingDto> addBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody List<PostBookingRequest> requests) {
+        log.info("Запрос на пакетное бронирование от пользователя с userId {}. Бронирований: {}",
+                userId, requests.size());
+        return BatchRequests.forward(validator, requests, BookingControllerImpl::bookingDatesError,
+                valid -> bookingClient.addBookings(userId, valid));
+    }
+
     private void validateBookingDates(PostBookingRequest request) {
+        String error = bookingDatesError(request);
+
+        if (error != null) {
+            throw new ValidationException(error);
+        }
+    }
+
+    private static String bookingDatesError(PostBookingRequest request) {
         if (request.getStart() != null && request.getEnd() != null &&
                 request.getStart().isAfter(request.getEnd())) {
-            throw new ValidationException("Дата начала бронирования не может быть позже даты окончания");
+            return "Дата начала бронирования не может быть позже даты окончания";
         }
+
+        return null;
     }
 
     @Override
@@ -50,9 +77,8 @@ public class BookingControllerImpl implements BookingController {
 
     @Override
     @GetMapping("/{bookingId}")
-    @ResponseStatus(HttpStatus.OK)
-    public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                 @PathVariable long bookingId) {
+    public ResponseEntity<BookingDto> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @PathVariable long bookingId) {
         log.info("Запрос на получение информации о бронировании с bookingId: {} пользователем с userId: {}.",
                 bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
@@ -60,20 +86,41 @@ public class BookingControllerImpl implements BookingController {
 
     @Override
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                            @RequestParam(defaultValue = "ALL") State state) {
-        log.info("Запрос на получение всех бронирований пользователя userId: {} со статусом {}.", userId, state);
-        return bookingClient.getUserBookings(userId, state);
+    public ResponseEntity<List<BookingDto>> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @RequestParam(defaultValue = "ALL") State state,
+                                                            @RequestParam(defaultValue = "0") int from,
+                                                            @RequestParam(required = false) Integer size,
+                                                            @RequestParam(required = false) String cursor) {
+        log.info("Запрос на получение всех бронирований пользователя userId: {} со статусом {}. " +
+                "From: {}, size: {}, cursor: {}", userId, state, from, size, cursor);
+        return bookingClient.getUserBookings(userId, state, from, size, cursor);
     }
 
     @Override
     @GetMapping("/owner")
+    public ResponseEntity<List<BookingDto>> getOwnedItemsBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                  @RequestParam(defaultValue = "ALL") State state,
+                                                                  @RequestParam(defaultValue = "0") int from,
+                                                                  @RequestParam(required = false) Integer size,
+                                                                  @RequestParam(required = false) String cursor) {
+        log.info("Запрос на получение списка бронирований со статусом {} по предметам пользователя с userId {}. " +
+                "From: {}, size: {}, cursor: {}", state, userId, from, size, cursor);
+        return bookingClient.getOwnedItemsBookings(userId, state, from, size, cursor);
+    }
+
+    @Override
+    @GetMapping("/counts")
+    @ResponseStatus(HttpStatus.OK)
+    public BookingCountsDto getUserBookingCounts(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Запрос на получение числа бронирований пользователя userId: {} по статусам", userId);
+        return bookingClient.getUserBookingCounts(userId);
+    }
+
+    @Override
+    @GetMapping("/owner/counts")
     @ResponseStatus(HttpStatus.OK)
-    public List<BookingDto> getOwnedItemsBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(defaultValue = "ALL") State state) {
-        log.info("Запрос на получение списка бронирований со статусом {} по предметам пользователя с userId {}.",
-                state, userId);
-        return bookingClient.getOwnedItemsBookings(userId, state);
+    public BookingCountsDto getOwnedItemsBookingCounts(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Запрос на получение числа бронирований по предметам пользователя с userId {} по статусам", userId);
+        return bookingClient.getOwnedItemsBookingCounts(userId);
     }
 }
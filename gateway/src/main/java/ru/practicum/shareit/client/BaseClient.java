@@ -2,37 +2,39 @@ package ru.practicum.shareit.client;
 
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int VALIDATOR_CACHE_SIZE = 10_000;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    protected final ServerTransport transport;
+    private final ValidatorCache validators = new ValidatorCache(VALIDATOR_CACHE_SIZE);
+    private final RequestCoalescer reads;
+
+    public BaseClient(ServerTransport transport, MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.reads = new RequestCoalescer(meterRegistry, getClass().getSimpleName());
+    }
+
+    public BaseClient(RestTemplate rest, MeterRegistry meterRegistry) {
+        this(new RestTemplateTransport(rest), meterRegistry);
     }
 
-    protected BaseClient(@Value("${shareit-server.url}") String serverUrl,
-                        RestTemplateBuilder builder,
-                        String apiPrefix) {
-        this(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    protected BaseClient(ServerTransportFactory transportFactory, String apiPrefix, MeterRegistry meterRegistry) {
+        this(transportFactory.create(apiPrefix), meterRegistry);
     }
 
     protected <T> ResponseEntity<T> get(String path, Class<T> responseType) {
@@ -60,6 +62,18 @@ public class BaseClient {
         });
     }
 
+    // Страница для клиента gateway: тело и курсор следующей страницы, остальные заголовки сервера не нужны.
+    protected static <T> ResponseEntity<List<T>> toPage(ResponseEntity<List<T>> response) {
+        ResponseEntity.BodyBuilder page = ResponseEntity.status(response.getStatusCode());
+        String nextCursor = response.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+
+        if (nextCursor != null) {
+            page.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+
+        return page.body(response.getBody());
+    }
+
     protected <T, R> ResponseEntity<R> post(String path, T body, Class<R> responseType) {
         return post(path, null, null, body, responseType);
     }
@@ -72,6 +86,11 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, responseType);
     }
 
+    protected <T, R> ResponseEntity<R> post(String path, Long userId, T body,
+                                            ParameterizedTypeReference<R> responseType) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body, responseType);
+    }
+
     protected <T, R> ResponseEntity<R> patch(String path, T body, Class<R> responseType) {
         return patch(path, null, null, body, responseType);
     }
@@ -110,15 +129,17 @@ public class BaseClient {
                                                         @Nullable Map<String, Object> parameters,
                                                         @Nullable T body,
                                                         Class<R> responseType) {
+        if (method == HttpMethod.GET) {
+            String key = requestKey(path, userId, parameters);
+            return reads.execute(key + '|' + responseType.getName(),
+                    () -> getConditionally(key, path, userId, parameters, responseType));
+        }
+
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
         ResponseEntity<R> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
-            }
+            shareitServerResponse = transport.exchange(path, method, requestEntity, responseType, parameters);
         } catch (HttpStatusCodeException e) {
             throw e;
         }
@@ -131,25 +152,83 @@ public class BaseClient {
                                                         @Nullable Map<String, Object> parameters,
                                                         @Nullable T body,
                                                         ParameterizedTypeReference<R> responseType) {
+        if (method == HttpMethod.GET) {
+            return reads.execute(requestKey(path, userId, parameters) + '|' + responseType.getType(),
+                    () -> send(method, path, userId, parameters, body, responseType));
+        }
+
+        return send(method, path, userId, parameters, body, responseType);
+    }
+
+    private <T, R> ResponseEntity<R> send(HttpMethod method,
+                                          String path,
+                                          Long userId,
+                                          @Nullable Map<String, Object> parameters,
+                                          @Nullable T body,
+                                          ParameterizedTypeReference<R> responseType) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
         ResponseEntity<R> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
-            }
+            shareitServerResponse = transport.exchange(path, method, requestEntity, responseType, parameters);
         } catch (HttpStatusCodeException e) {
             throw e;
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    // Сервер отдает ETag для предметов, запросов и бронирований. Если версия не изменилась, он отвечает 304
+    // по одной строке из БД, а шлюз возвращает клиенту сохраненное тело.
+    private <R> ResponseEntity<R> getConditionally(String key,
+                                                   String path,
+                                                   Long userId,
+                                                   @Nullable Map<String, Object> parameters,
+                                                   Class<R> responseType) {
+        ValidatorCache.Entry cached = validators.get(key);
+        HttpHeaders headers = defaultHeaders(userId);
+
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+
+        ResponseEntity<R> shareitServerResponse;
+        try {
+            shareitServerResponse = transport.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), responseType,
+                    parameters);
+        } catch (HttpStatusCodeException e) {
+            validators.remove(key);
+            throw e;
+        }
+
+        if (shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return ResponseEntity.ok().eTag(cached.etag()).body(responseType.cast(cached.body()));
+        }
+
+        String etag = shareitServerResponse.getHeaders().getETag();
+
+        if (shareitServerResponse.getStatusCode().is2xxSuccessful() && etag != null && shareitServerResponse.hasBody()) {
+            validators.put(key, etag, shareitServerResponse.getBody());
+        } else if (cached != null) {
+            validators.remove(key);
+        }
+
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    // Ответ по бронированию зависит от пользователя: сервер проверяет доступ и при 304, поэтому userId входит в ключ
+    // и валидатора, и объединения одновременных запросов.
+    private static String requestKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return path + '|' + userId + '|' + (parameters != null ? new TreeMap<>(parameters) : "");
+    }
+
+    // JSON остается в Accept запасным вариантом: ошибки сервер всегда отдает в JSON, их текст уходит клиенту.
     private HttpHeaders defaultHeaders(Long userId) {
+        MediaType mediaType = transport.mediaType();
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(mediaType);
+        headers.setAccept(mediaType.equals(MediaType.APPLICATION_JSON)
+                ? List.of(MediaType.APPLICATION_JSON)
+                : List.of(mediaType, MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "blocking", matchIfMissing = true)
+@Slf4j
+public class BlockingServerTransportFactory implements ServerTransportFactory, DisposableBean {
+    private final String serverUrl;
+    private final RestTemplateBuilder builder;
+    private final WireFormat wireFormat;
+    private final ResilienceProperties resilience;
+    private final RetryBudget retryBudget;
+    private final Duration readTimeout;
+    private final MeterRegistry meterRegistry;
+    private final CloseableHttpClient httpClient;
+
+    public BlockingServerTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                          @Value("${shareit-server.client.max-connections:200}") int maxConnections,
+                                          @Value("${shareit-server.client.connect-timeout:2s}") Duration connectTimeout,
+                                          @Value("${shareit-server.client.read-timeout:10s}") Duration readTimeout,
+                                          @Value("${shareit-server.client.max-idle-time:30s}") Duration maxIdleTime,
+                                          @Value("${shareit-server.client.wire-format:cbor}") WireFormat wireFormat,
+                                          ResilienceProperties resilience,
+                                          MeterRegistry meterRegistry,
+                                          RestTemplateBuilder builder) {
+        this.serverUrl = serverUrl;
+        this.builder = builder;
+        this.wireFormat = wireFormat;
+        this.resilience = resilience;
+        this.retryBudget = ResilientTransport.retryBudget(resilience);
+        this.readTimeout = readTimeout;
+        this.meterRegistry = meterRegistry;
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.of(maxIdleTime))
+                .build();
+        log.info("Блокирующий клиент shareit-server: соединений {}, connect-timeout {}, read-timeout {}, формат {}",
+                maxConnections, connectTimeout, readTimeout, wireFormat);
+    }
+
+    @Override
+    public ServerTransport create(String apiPrefix) {
+        ServerTransport transport = new RestTemplateTransport(builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build(), wireFormat.mediaType());
+
+        return ResilientTransport.decorate(transport, apiPrefix, resilience, readTimeout, retryBudget,
+                meterRegistry);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+// Доля ошибок считается по кольцу последних вызовов. Разомкнутая цепь отклоняет вызовы до истечения openDuration,
+// затем пропускает halfOpenCalls пробных: все успешны — цепь замыкается, любая ошибка — снова размыкается.
+@Slf4j
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String resource;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int position;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private int probes;
+    private int probeSuccesses;
+
+    CircuitBreaker(String resource, ResilienceProperties properties, LongSupplier nanoClock) {
+        this.resource = resource;
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.minimumCalls = properties.getMinimumCalls();
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+        this.nanoClock = nanoClock;
+        this.window = new boolean[properties.getSlidingWindowSize()];
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+
+            state = State.HALF_OPEN;
+            probes = 0;
+            probeSuccesses = 0;
+            log.info("Ресурс {}: цепь полуоткрыта, пробных вызовов {}", resource, halfOpenCalls);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probes >= halfOpenCalls) {
+                return false;
+            }
+
+            probes++;
+        }
+
+        return true;
+    }
+
+    // Разрешение получено, но вызов так и не был сделан.
+    synchronized void release() {
+        if (state == State.HALF_OPEN && probes > 0) {
+            probes--;
+        }
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probeSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+
+        if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+
+        if (state == State.CLOSED) {
+            record(true);
+
+            if (calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+                open();
+            }
+        }
+    }
+
+    private void record(boolean failure) {
+        if (calls == window.length) {
+            failures -= window[position] ? 1 : 0;
+        } else {
+            calls++;
+        }
+
+        window[position] = failure;
+        failures += failure ? 1 : 0;
+        position = (position + 1) % window.length;
+    }
+
+    private void open() {
+        log.warn("Ресурс {}: цепь разомкнута на {} после {} ошибок из {} вызовов", resource,
+                Duration.ofNanos(openNanos), failures, calls);
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        resetWindow();
+    }
+
+    private void close() {
+        log.info("Ресурс {}: цепь замкнута", resource);
+        state = State.CLOSED;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        position = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
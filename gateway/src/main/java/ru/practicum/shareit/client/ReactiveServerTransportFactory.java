@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client.mode", havingValue = "reactive")
+@Slf4j
+public class ReactiveServerTransportFactory implements ServerTransportFactory, DisposableBean {
+    private final String serverUrl;
+    private final WebClient.Builder builder;
+    private final WireFormat wireFormat;
+    private final ResilienceProperties resilience;
+    private final RetryBudget retryBudget;
+    private final Duration readTimeout;
+    private final MeterRegistry meterRegistry;
+    private final ConnectionProvider connectionProvider;
+    private final ReactorClientHttpConnector connector;
+
+    public ReactiveServerTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                          @Value("${shareit-server.client.max-connections:200}") int maxConnections,
+                                          @Value("${shareit-server.client.connect-timeout:2s}") Duration connectTimeout,
+                                          @Value("${shareit-server.client.read-timeout:10s}") Duration readTimeout,
+                                          @Value("${shareit-server.client.max-idle-time:30s}") Duration maxIdleTime,
+                                          @Value("${shareit-server.client.wire-format:cbor}") WireFormat wireFormat,
+                                          ResilienceProperties resilience,
+                                          MeterRegistry meterRegistry,
+                                          WebClient.Builder builder) {
+        this.serverUrl = serverUrl;
+        this.builder = wireFormat == WireFormat.CBOR ? withCborCodecs(builder.clone()) : builder;
+        this.wireFormat = wireFormat;
+        this.resilience = resilience;
+        this.retryBudget = ResilientTransport.retryBudget(resilience);
+        this.readTimeout = readTimeout;
+        this.meterRegistry = meterRegistry;
+        this.connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .maxIdleTime(maxIdleTime)
+                .pendingAcquireTimeout(connectTimeout)
+                .build();
+        this.connector = new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout));
+        log.info("Клиент shareit-server на WebClient: соединений {}, connect-timeout {}, read-timeout {}, формат {}",
+                maxConnections, connectTimeout, readTimeout, wireFormat);
+    }
+
+    @Override
+    public ServerTransport create(String apiPrefix) {
+        ServerTransport transport = new WebClientTransport(builder.clone()
+                .baseUrl(serverUrl + apiPrefix)
+                .clientConnector(connector)
+                .build(), wireFormat.mediaType());
+
+        return ResilientTransport.decorate(transport, apiPrefix, resilience, readTimeout, retryBudget,
+                meterRegistry);
+    }
+
+    // В отличие от RestTemplate, WebClient не подключает Jackson CBOR сам, даже если библиотека есть в classpath.
+    private static WebClient.Builder withCborCodecs(WebClient.Builder builder) {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+        return builder.codecs(codecs -> {
+            codecs.customCodecs().register(new ValueCborEncoder(objectMapper));
+            codecs.customCodecs().register(new Jackson2CborDecoder(objectMapper, MediaType.APPLICATION_CBOR));
+        });
+    }
+
+    // Jackson2CborEncoder умеет только encodeValue, а WebClient пишет тело запроса через encode даже для одного
+    // значения. Тело запроса к серверу всегда одно, поэтому каждый элемент кодируется отдельно.
+    private static class ValueCborEncoder extends Jackson2CborEncoder {
+
+        ValueCborEncoder(ObjectMapper objectMapper) {
+            super(objectMapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, @Nullable MimeType mimeType,
+                                       @Nullable Map<String, Object> hints) {
+            return Flux.from(inputStream)
+                    .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Одинаковые GET, пришедшие одновременно, уходят на сервер одним запросом: первый вызов выполняет его,
+// остальные ждут и получают тот же ответ или ту же ошибку. Готовые ответы здесь не хранятся.
+class RequestCoalescer {
+    static final String READS = "shareit.gateway.reads";
+
+    private final Map<String, CompletableFuture<ResponseEntity<?>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstream;
+    private final Counter coalesced;
+
+    RequestCoalescer(MeterRegistry meterRegistry, String client) {
+        this.upstream = meterRegistry.counter(READS, "client", client, "result", "upstream");
+        this.coalesced = meterRegistry.counter(READS, "client", client, "result", "coalesced");
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> ResponseEntity<R> execute(String key, Supplier<ResponseEntity<R>> call) {
+        CompletableFuture<ResponseEntity<?>> own = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> running = inFlight.putIfAbsent(key, own);
+
+        if (running != null) {
+            coalesced.increment();
+            return (ResponseEntity<R>) await(running);
+        }
+
+        upstream.increment();
+        try {
+            ResponseEntity<R> response = call.get();
+            own.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private static ResponseEntity<?> await(CompletableFuture<ResponseEntity<?>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw e;
+        }
+    }
+}
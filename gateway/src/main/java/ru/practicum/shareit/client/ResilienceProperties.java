@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("shareit-server.client.resilience")
+public class ResilienceProperties {
+    private boolean enabled = true;
+    // Bulkhead: одновременных запросов к одному ресурсу сервера (/items, /bookings, ...) и сколько ждать свободного
+    // места, прежде чем ответить 503.
+    private int maxConcurrentCalls = 100;
+    private Duration maxWait = Duration.ofMillis(50);
+    // Circuit breaker: доля ошибок в процентах среди последних sliding-window-size вызовов, после которой ресурс
+    // считается недоступным на open-duration; затем half-open-calls пробных вызовов решают, закрыть ли цепь.
+    private int failureRateThreshold = 50;
+    private int slidingWindowSize = 20;
+    private int minimumCalls = 10;
+    private Duration openDuration = Duration.ofSeconds(10);
+    private int halfOpenCalls = 3;
+    private Retry retry = new Retry();
+
+    @Data
+    public static class Retry {
+        // Всего попыток для GET, включая первую; пауза перед n-й повторной попыткой случайна в [0, backoff * 2^(n-1)].
+        private int maxAttempts = 3;
+        private Duration backoff = Duration.ofMillis(50);
+        // Общий срок GET со всеми попытками: повтор не начинается, если попытка с read-timeout в него не уложится.
+        private Duration deadline = Duration.ofSeconds(25);
+        // Общий для всех ресурсов бюджет: повторов не больше budget-ratio от числа GET плюс запас budget-reserve.
+        private double budgetRatio = 0.1;
+        private int budgetReserve = 10;
+    }
+}
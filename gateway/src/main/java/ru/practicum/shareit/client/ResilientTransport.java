@@ -0,0 +1,222 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Транспорт одного ресурса сервера за bulkhead и circuit breaker. Медленный или упавший ресурс занимает не больше
+// maxConcurrentCalls потоков gateway, остальные вызовы к нему сразу получают 503, а другие ресурсы работают.
+// GET при сетевой ошибке или 502/503/504 повторяется, пока хватает общего бюджета повторов и до deadline вызова
+// остается время на целую попытку с read-timeout.
+class ResilientTransport implements ServerTransport {
+    static final String REJECTED = "shareit.gateway.rejected";
+    static final String RETRIES = "shareit.gateway.retries";
+
+    private static final Set<HttpStatus> RETRYABLE = Set.of(HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE,
+            HttpStatus.GATEWAY_TIMEOUT);
+
+    private final ServerTransport delegate;
+    private final String resource;
+    private final Semaphore bulkhead;
+    private final long maxWaitNanos;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final long deadlineNanos;
+    private final long attemptTimeoutNanos;
+    private final Counter circuitOpen;
+    private final Counter bulkheadFull;
+    private final Counter retries;
+
+    ResilientTransport(ServerTransport delegate, String resource, ResilienceProperties properties,
+                       Duration attemptTimeout, RetryBudget retryBudget, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.resource = resource;
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls());
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.circuitBreaker = new CircuitBreaker(resource, properties, System::nanoTime);
+        this.retryBudget = retryBudget;
+        this.maxAttempts = Math.max(1, properties.getRetry().getMaxAttempts());
+        this.backoffNanos = properties.getRetry().getBackoff().toNanos();
+        this.deadlineNanos = properties.getRetry().getDeadline().toNanos();
+        this.attemptTimeoutNanos = attemptTimeout.toNanos();
+        this.circuitOpen = meterRegistry.counter(REJECTED, "resource", resource, "reason", "circuit_open");
+        this.bulkheadFull = meterRegistry.counter(REJECTED, "resource", resource, "reason", "bulkhead_full");
+        this.retries = meterRegistry.counter(RETRIES, "resource", resource);
+        meterRegistry.gauge("shareit.gateway.circuit.state", Tags.of("resource", resource), circuitBreaker,
+                breaker -> breaker.state().ordinal());
+    }
+
+    // Без включенной защиты фабрики отдают транспорт как есть.
+    static ServerTransport decorate(ServerTransport transport, String resource, ResilienceProperties properties,
+                                    Duration attemptTimeout, RetryBudget retryBudget, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return transport;
+        }
+
+        return new ResilientTransport(transport, resource, properties, attemptTimeout, retryBudget, meterRegistry);
+    }
+
+    static RetryBudget retryBudget(ResilienceProperties properties) {
+        return new RetryBudget(properties.getRetry().getBudgetRatio(), properties.getRetry().getBudgetReserve());
+    }
+
+    @Override
+    public <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                             Class<R> responseType, @Nullable Map<String, Object> parameters) {
+        return call(method, () -> delegate.exchange(path, method, requestEntity, responseType, parameters));
+    }
+
+    @Override
+    public <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                             ParameterizedTypeReference<R> responseType,
+                                             @Nullable Map<String, Object> parameters) {
+        return call(method, () -> delegate.exchange(path, method, requestEntity, responseType, parameters));
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return delegate.mediaType();
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private <R> ResponseEntity<R> call(HttpMethod method, Supplier<ResponseEntity<R>> attempt) {
+        long started = System.nanoTime();
+        int attempts = 1;
+
+        if (method == HttpMethod.GET) {
+            retryBudget.deposit();
+            attempts = maxAttempts;
+        }
+
+        for (int n = 1; ; n++) {
+            try {
+                return guarded(attempt);
+            } catch (RejectedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (n >= attempts || !retryable(e)) {
+                    throw e;
+                }
+
+                long pause = pauseNanos(n);
+
+                if (!fitsDeadline(started, pause) || !retryBudget.tryWithdraw()) {
+                    throw e;
+                }
+
+                retries.increment();
+                pause(pause);
+            }
+        }
+    }
+
+    private <R> ResponseEntity<R> guarded(Supplier<ResponseEntity<R>> attempt) {
+        if (!circuitBreaker.tryAcquire()) {
+            circuitOpen.increment();
+            throw new RejectedException("Сервер временно недоступен: " + resource);
+        }
+
+        if (!acquireBulkhead()) {
+            circuitBreaker.release();
+            bulkheadFull.increment();
+            throw new RejectedException("Сервер перегружен: " + resource);
+        }
+
+        try {
+            ResponseEntity<R> response = attempt.get();
+            circuitBreaker.onSuccess();
+            return response;
+        } catch (HttpClientErrorException e) {
+            // 4xx — ответ исправного сервера на некорректный запрос.
+            circuitBreaker.onSuccess();
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean retryable(RuntimeException e) {
+        if (e instanceof HttpClientErrorException) {
+            return false;
+        }
+
+        if (e instanceof HttpServerErrorException serverError) {
+            return RETRYABLE.contains(HttpStatus.resolve(serverError.getStatusCode().value()));
+        }
+
+        // Таймауты и сетевые ошибки: ResourceAccessException у RestTemplate, WebClientRequestException у WebClient.
+        // Остальное (ошибки чтения ответа, сериализации) повтором не исправить.
+        return e instanceof ResourceAccessException || e instanceof WebClientRequestException;
+    }
+
+    // Повтор начинается, только если он успеет упереться в read-timeout до deadline: без этого три попытки
+    // по read-timeout держали бы поток gateway втрое дольше одной.
+    private boolean fitsDeadline(long started, long pauseNanos) {
+        return System.nanoTime() - started + pauseNanos + attemptTimeoutNanos <= deadlineNanos;
+    }
+
+    // Full jitter: одновременно упавшие запросы не повторяются одной волной.
+    private long pauseNanos(int attempt) {
+        long bound = backoffNanos << Math.min(attempt - 1, 20);
+        return bound > 0 ? ThreadLocalRandom.current().nextLong(bound) : 0;
+    }
+
+    private void pause(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedException("Запрос к " + resource + " прерван");
+        }
+    }
+
+    // Отказ самого gateway: на сервер запрос не уходил, поэтому он не повторяется и не считается ошибкой сервера.
+    static class RejectedException extends HttpServerErrorException {
+
+        RejectedException(String message) {
+            super(message, HttpStatus.SERVICE_UNAVAILABLE, message, null, message.getBytes(StandardCharsets.UTF_8),
+                    StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+    private final MediaType mediaType;
+
+    public RestTemplateTransport(RestTemplate rest) {
+        this(rest, MediaType.APPLICATION_JSON);
+    }
+
+    public RestTemplateTransport(RestTemplate rest, MediaType mediaType) {
+        this.rest = rest;
+        this.mediaType = mediaType;
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                             Class<R> responseType, @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, responseType, parameters);
+        }
+
+        return rest.exchange(path, method, requestEntity, responseType);
+    }
+
+    @Override
+    public <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                             ParameterizedTypeReference<R> responseType,
+                                             @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, responseType, parameters);
+        }
+
+        return rest.exchange(path, method, requestEntity, responseType);
+    }
+}
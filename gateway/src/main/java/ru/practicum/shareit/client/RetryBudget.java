@@ -0,0 +1,37 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Каждый GET пополняет бюджет на долю повтора, каждый повтор забирает целый повтор. Когда сервер лежит, повторы
+// быстро заканчиваются и не умножают нагрузку на него. Баланс хранится в тысячных долях повтора.
+class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    RetryBudget(double ratio, int reserve) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.capacity = Math.max(reserve * SCALE, SCALE);
+        this.balance = new AtomicLong(reserve * SCALE);
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+
+        do {
+            current = balance.get();
+
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+public interface ServerTransport {
+
+    <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                      Class<R> responseType, @Nullable Map<String, Object> parameters);
+
+    <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                      ParameterizedTypeReference<R> responseType,
+                                      @Nullable Map<String, Object> parameters);
+
+    // Тип, в котором транспорт отправляет тела запросов и ожидает ответы сервера.
+    default MediaType mediaType() {
+        return MediaType.APPLICATION_JSON;
+    }
+}
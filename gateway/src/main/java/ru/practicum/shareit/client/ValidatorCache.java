@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Последние ответы сервера с ETag: повторный GET уходит с If-None-Match, и на 304 тело берется отсюда.
+// Вытесняются записи, к которым дольше всего не обращались.
+class ValidatorCache {
+    private final Map<String, Entry> entries;
+
+    ValidatorCache(int maximumSize) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    @Nullable
+    Entry get(String key) {
+        return entries.get(key);
+    }
+
+    void put(String key, String etag, Object body) {
+        entries.put(key, new Entry(etag, body));
+    }
+
+    void remove(String key) {
+        entries.remove(key);
+    }
+
+    record Entry(String etag, Object body) {
+    }
+}
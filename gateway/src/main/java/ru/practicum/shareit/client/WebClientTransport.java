@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
+public class WebClientTransport implements ServerTransport {
+    private final WebClient webClient;
+    private final MediaType mediaType;
+
+    public WebClientTransport(WebClient webClient) {
+        this(webClient, MediaType.APPLICATION_JSON);
+    }
+
+    public WebClientTransport(WebClient webClient, MediaType mediaType) {
+        this.webClient = webClient;
+        this.mediaType = mediaType;
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                             Class<R> responseType, @Nullable Map<String, Object> parameters) {
+        return exchange(path, method, requestEntity, response -> response.toEntity(responseType), parameters);
+    }
+
+    @Override
+    public <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                             ParameterizedTypeReference<R> responseType,
+                                             @Nullable Map<String, Object> parameters) {
+        return exchange(path, method, requestEntity, response -> response.toEntity(responseType), parameters);
+    }
+
+    // Контроллеры шлюза синхронные, поэтому вызывающий поток ждет ответа в block(). Это замена RestTemplate на
+    // WebClient с пулом Reactor Netty, а не асинхронный шлюз: ждут виртуальные потоки запросов
+    // (spring.threads.virtual.enabled), и ожидание не занимает платформенный поток.
+    private <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity,
+                                              Function<ClientResponse, Mono<ResponseEntity<R>>> reader,
+                                              @Nullable Map<String, Object> parameters) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Collections.emptyMap())
+                .headers(headers -> headers.addAll(requestEntity.getHeaders()));
+        WebClient.RequestHeadersSpec<?> spec = requestEntity.hasBody()
+                ? request.bodyValue(requestEntity.getBody())
+                : request;
+
+        return spec.exchangeToMono(response -> {
+            if (response.statusCode().isError()) {
+                return response.createException().flatMap(Mono::error);
+            }
+
+            return reader.apply(response);
+        }).onErrorMap(WebClientResponseException.class, WebClientTransport::toStatusCodeException).block();
+    }
+
+    private static RuntimeException toStatusCodeException(WebClientResponseException e) {
+        if (e.getStatusCode().is4xxClientError()) {
+            return HttpClientErrorException.create(e.getStatusCode(), e.getStatusText(), e.getHeaders(),
+                    e.getResponseBodyAsByteArray(), null);
+        }
+
+        return HttpServerErrorException.create(e.getStatusCode(), e.getStatusText(), e.getHeaders(),
+                e.getResponseBodyAsByteArray(), null);
+    }
+}
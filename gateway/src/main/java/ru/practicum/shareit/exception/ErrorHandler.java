@@ -2,6 +2,7 @@ package ru.practicum.shareit.exception;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -57,6 +58,14 @@ public class ErrorHandler {
         ));
     }
 
+    @ExceptionHandler({TooManyRequestsException.class})
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException e) {
+        log.warn("TooManyRequestsException: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
     @ExceptionHandler({HttpStatusCodeException.class})
     public ResponseEntity<ErrorResponse> handleHttpStatusCodeException(HttpStatusCodeException e) {
         log.warn("HttpStatusCodeException: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
@@ -1,15 +1,21 @@
 package ru.practicum.shareit.item;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.OwnedItemDto;
 import ru.practicum.shareit.item.dto.PatchItemRequest;
@@ -19,15 +25,17 @@ import ru.practicum.shareit.item.dto.PostItemRequest;
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final ParameterizedTypeReference<BatchResponse<ItemDto>> BATCH_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(serverUrl, builder, API_PREFIX);
+    public ItemClient(ServerTransportFactory transportFactory, MeterRegistry meterRegistry) {
+        super(transportFactory, API_PREFIX, meterRegistry);
     }
 
-    public ItemDto getItem(long itemId) {
-        ResponseEntity<ItemDto> response = get("/" + itemId, ItemDto.class);
-        return response.getBody();
+    public ResponseEntity<ItemDto> getItem(long itemId) {
+        return get("/" + itemId, ItemDto.class);
     }
 
     public List<OwnedItemDto> getOwnerItems(long ownerId) {
@@ -35,8 +43,31 @@ public class ItemClient extends BaseClient {
         return response.getBody();
     }
 
-    public List<ItemDto> searchItems(String text) {
-        ResponseEntity<List<ItemDto>> response = getList("/search?text=" + text, ItemDto.class);
+    public List<ItemDto> searchItems(String text, int from, Integer size, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder path = new StringBuilder("/search?text={text}&from={from}");
+        parameters.put("text", text);
+        parameters.put("from", from);
+
+        if (size != null) {
+            path.append("&size={size}");
+            parameters.put("size", size);
+        }
+
+        if (start != null && end != null) {
+            path.append("&start={start}&end={end}");
+            parameters.put("start", start.toString());
+            parameters.put("end", end.toString());
+        }
+
+        ResponseEntity<List<ItemDto>> response = getList(path.toString(), null, parameters, ItemDto.class);
+        return response.getBody();
+    }
+
+    public ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from.toString(), "to", to.toString());
+        ResponseEntity<ItemAvailabilityDto> response = get("/" + itemId + "/availability?from={from}&to={to}", null,
+                parameters, ItemAvailabilityDto.class);
         return response.getBody();
     }
 
@@ -45,6 +76,11 @@ public class ItemClient extends BaseClient {
         return response.getBody();
     }
 
+    public BatchResponse<ItemDto> createItems(List<PostItemRequest> requests, long ownerId) {
+        ResponseEntity<BatchResponse<ItemDto>> response = post("/batch", ownerId, requests, BATCH_TYPE);
+        return response.getBody();
+    }
+
     public ItemDto patchItem(long itemId, PatchItemRequest request, long ownerId) {
         ResponseEntity<ItemDto> response = patch("/" + itemId, ownerId, request, ItemDto.class);
         return response.getBody();
@@ -56,12 +92,12 @@ public class ItemClient extends BaseClient {
     }
 
     public List<CommentDto> getAllCommentsForItem(long itemId) {
-        ResponseEntity<List<CommentDto>> response = getList("/" + itemId + "/comment", CommentDto.class);
+        ResponseEntity<List<CommentDto>> response = getList("/" + itemId + "/comments", CommentDto.class);
         return response.getBody();
     }
 
     public List<CommentDto> getAllCommentsForOwner(long ownerId) {
-        ResponseEntity<List<CommentDto>> response = getList("/comments", ownerId, CommentDto.class);
+        ResponseEntity<List<CommentDto>> response = getList("/comments/owner", ownerId, CommentDto.class);
         return response.getBody();
     }
 }
@@ -1,27 +1,40 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.OwnedItemDto;
 import ru.practicum.shareit.item.dto.PatchItemRequest;
 import ru.practicum.shareit.item.dto.PostCommentRequest;
 import ru.practicum.shareit.item.dto.PostItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemController {
 
-    ItemDto getItem(@Positive long itemId);
+    ResponseEntity<ItemDto> getItem(@Positive long itemId);
 
     List<OwnedItemDto> getOwnerItems(@Positive long ownerId);
 
-    List<ItemDto> searchItems(@NotBlank String text);
+    List<ItemDto> searchItems(@NotBlank String text, @PositiveOrZero int from, @Positive Integer size,
+                              LocalDateTime start, @Future LocalDateTime end);
+
+    ItemAvailabilityDto getItemAvailability(@Positive long itemId, @NotNull LocalDateTime from,
+                                            @NotNull @Future LocalDateTime to);
 
     ItemDto createItem(@Valid PostItemRequest request, @Positive long ownerId);
 
+    BatchResponse<ItemDto> createItems(List<PostItemRequest> requests, @Positive long ownerId);
+
     ItemDto patchItem(@Positive long itemId, @Valid PatchItemRequest request, @Positive long ownerId);
 
     CommentDto addComment(@Valid PostCommentRequest request, @Positive long authorId, @Positive long itemId);
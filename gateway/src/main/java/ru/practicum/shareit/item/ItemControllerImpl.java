@@ -1,17 +1,25 @@
 package ru.practicum.shareit.item;
 
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchRequests;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.OwnedItemDto;
 import ru.practicum.shareit.item.dto.PatchItemRequest;
 import ru.practicum.shareit.item.dto.PostCommentRequest;
 import ru.practicum.shareit.item.dto.PostItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,12 +29,13 @@ import java.util.List;
 @Slf4j
 public class ItemControllerImpl implements ItemController {
     private final ItemClient itemClient;
+    private final Validator validator;
 
     @Override
     @GetMapping("/{itemId}")
-    @ResponseStatus(HttpStatus.OK)
-    public ItemDto getItem(@PathVariable long itemId) {
+    public ResponseEntity<ItemDto> getItem(@PathVariable long itemId) {
         log.info("Запрос на получение предмета с itemId: {}", itemId);
+        // ETag сервера передается клиенту; на совпавший If-None-Match Spring сам ответит 304.
         return itemClient.getItem(itemId);
     }
 
@@ -40,9 +49,42 @@ public class ItemControllerImpl implements ItemController {
 
     @Override
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        log.info("Запрос на поиск предметов с совпадением в имени или описании. Text: {}", text);
-        return itemClient.searchItems(text);
+    public List<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(defaultValue = "0") int from,
+                                     @RequestParam(required = false) Integer size,
+                                     @RequestParam(required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                     @RequestParam(required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Запрос на поиск предметов с совпадением в имени или описании. Text: {}, from: {}, size: {}, "
+                + "start: {}, end: {}", text, from, size, start, end);
+
+        if ((start == null) != (end == null)) {
+            throw new ValidationException("Для поиска свободных предметов нужно указать и начало, и окончание периода");
+        }
+
+        if (start != null && !start.isBefore(end)) {
+            throw new ValidationException("Начало периода поиска должно быть раньше его окончания");
+        }
+
+        return itemClient.searchItems(text, from, size, start, end);
+    }
+
+    @Override
+    @GetMapping("/{itemId}/availability")
+    @ResponseStatus(HttpStatus.OK)
+    public ItemAvailabilityDto getItemAvailability(@PathVariable long itemId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime to) {
+        log.info("Запрос на получение занятости предмета с itemId: {}. From: {}, to: {}", itemId, from, to);
+
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода проверки занятости должно быть раньше его окончания");
+        }
+
+        return itemClient.getItemAvailability(itemId, from, to);
     }
 
     @Override
@@ -54,6 +96,16 @@ public class ItemControllerImpl implements ItemController {
         return itemClient.createItem(request, ownerId);
     }
 
+    @Override
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchResponse<ItemDto> createItems(@RequestBody List<PostItemRequest> requests,
+                                              @RequestHeader("X-Sharer-User-Id") long ownerId) {
+        log.info("Запрос на пакетное добавление предметов владельцем c userId: {}. Предметов: {}",
+                ownerId, requests.size());
+        return BatchRequests.forward(validator, requests, valid -> itemClient.createItems(valid, ownerId));
+    }
+
     @Override
     @PatchMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
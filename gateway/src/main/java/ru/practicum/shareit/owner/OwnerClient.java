@@ -0,0 +1,28 @@
+package ru.practicum.shareit.owner;
+
+import java.util.Map;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+@Service
+public class OwnerClient extends BaseClient {
+    private static final String API_PREFIX = "/owner";
+
+    @Autowired
+    public OwnerClient(ServerTransportFactory transportFactory, MeterRegistry meterRegistry) {
+        super(transportFactory, API_PREFIX, meterRegistry);
+    }
+
+    public OwnerDashboardDto getDashboard(long ownerId, int commentsSize) {
+        ResponseEntity<OwnerDashboardDto> response = get("/dashboard?commentsSize={commentsSize}", ownerId,
+                Map.of("commentsSize", commentsSize), OwnerDashboardDto.class);
+        return response.getBody();
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.owner;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+public interface OwnerDashboardController {
+
+    OwnerDashboardDto getDashboard(@Positive long ownerId, @Positive @Max(100) int commentsSize);
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.owner.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.OwnedItemDto;
+
+import java.util.List;
+
+@Data
+public class OwnerDashboardDto {
+    private List<OwnedItemDto> items;
+    private List<CommentDto> recentComments;
+    private BookingCountsDto bookingCounts;
+}
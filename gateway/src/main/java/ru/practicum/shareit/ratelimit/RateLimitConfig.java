@@ -0,0 +1,59 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+    static final String DEFAULT_FAMILY = "default";
+
+    @Bean
+    public WebMvcConfigurer rateLimitConfigurer(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                if (!properties.isEnabled()) {
+                    return;
+                }
+
+                // Каждый запрос попадает ровно в одно семейство: пути семейств исключаются из лимита по умолчанию.
+                List<String> familyPaths = new ArrayList<>();
+
+                for (Map.Entry<String, RateLimitProperties.Family> entry : properties.getFamilies().entrySet()) {
+                    RateLimitProperties.Family family = entry.getValue();
+
+                    // Интерцептор без путей срабатывал бы на всех запросах.
+                    if (family.getPaths().isEmpty()) {
+                        continue;
+                    }
+
+                    registry.addInterceptor(interceptor(entry.getKey(), family.getCapacity(),
+                                    family.getRefillPerSecond(), properties, meterRegistry))
+                            .addPathPatterns(family.getPaths())
+                            .excludePathPatterns(familyPaths);
+                    familyPaths.addAll(family.getPaths());
+                }
+
+                registry.addInterceptor(interceptor(DEFAULT_FAMILY, properties.getCapacity(),
+                                properties.getRefillPerSecond(), properties, meterRegistry))
+                        .excludePathPatterns(familyPaths);
+            }
+        };
+    }
+
+    private static RateLimitInterceptor interceptor(String family, int capacity, double refillPerSecond,
+                                                    RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimiter rateLimiter = new RateLimiter(capacity, refillPerSecond, properties.getMaxBuckets(),
+                properties.getSweepInterval().toNanos(), System::nanoTime);
+        return new RateLimitInterceptor(family, rateLimiter, meterRegistry);
+    }
+}
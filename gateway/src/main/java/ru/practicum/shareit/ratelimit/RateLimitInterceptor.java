@@ -0,0 +1,53 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.concurrent.TimeUnit;
+
+// Лимит одного семейства эндпоинтов. Ключ — X-Sharer-User-Id, у анонимных запросов — адрес клиента.
+public class RateLimitInterceptor implements HandlerInterceptor {
+    static final String THROTTLED = "shareit.gateway.throttled";
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+    private final Counter throttled;
+
+    RateLimitInterceptor(String family, RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.throttled = meterRegistry.counter(THROTTLED, "family", family);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long waitNanos = rateLimiter.tryAcquire(key(request));
+
+        if (waitNanos > 0) {
+            throttled.increment();
+            long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            throw new TooManyRequestsException("Слишком много запросов, повторите через " + retryAfter + " с",
+                    retryAfter);
+        }
+
+        return true;
+    }
+
+    // Нечисловой заголовок контроллер все равно отклонит, а лимитироваться такой запрос будет по адресу.
+    static String key(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+
+        if (userId != null) {
+            try {
+                return "user:" + Long.parseLong(userId.trim());
+            } catch (NumberFormatException e) {
+                // Ниже ключом станет адрес.
+            }
+        }
+
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // Лимит для запросов, не попавших ни в одно семейство: capacity запросов подряд, затем refill-per-second в секунду.
+    private int capacity = 100;
+    private double refillPerSecond = 50;
+    // Не больше max-buckets пользователей на семейство; полные (простаивающие) корзины удаляются раз в sweep-interval.
+    private int maxBuckets = 100_000;
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    // Семейства эндпоинтов со своими лимитами, пути — шаблоны Spring MVC (/items/search, /*/batch).
+    private Map<String, Family> families = new LinkedHashMap<>();
+
+    @Data
+    public static class Family {
+        private List<String> paths = new ArrayList<>();
+        private int capacity = 100;
+        private double refillPerSecond = 50;
+    }
+}
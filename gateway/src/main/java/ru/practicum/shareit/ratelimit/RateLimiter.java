@@ -0,0 +1,96 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket в форме GCRA: состояние корзины — одно число, теоретическое время прихода следующего запроса (TAT),
+// которое меняется CAS без блокировок. Запрос проходит, если после него TAT уйдет вперед не дальше чем на емкость
+// корзины. Отказ только читает TAT, поэтому поток запросов сверх лимита от одного пользователя не создает
+// конкуренции за запись.
+class RateLimiter {
+    // При переполнении чистка запускается чаще плановой, но не на каждый новый ключ: иначе тот, кто держит занятыми
+    // все корзины, заставлял бы каждый запрос обходить всю таблицу.
+    private static final long PRESSURE_SWEEP_GAP = 1_000_000_000;
+
+    private final long interval;
+    private final long burst;
+    private final int maxBuckets;
+    private final long sweepInterval;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    // Общая корзина для новых ключей, когда места под отдельные уже нет: память ограничена, лимит сохраняется.
+    private final AtomicLong overflow;
+    private final AtomicLong lastSweep;
+
+    RateLimiter(int capacity, double refillPerSecond, int maxBuckets, long sweepInterval, LongSupplier clock) {
+        this.interval = Math.max(1, Math.round(1_000_000_000 / refillPerSecond));
+        this.burst = interval * Math.max(1, capacity);
+        this.maxBuckets = maxBuckets;
+        this.sweepInterval = sweepInterval;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.overflow = new AtomicLong(now);
+        this.lastSweep = new AtomicLong(now);
+    }
+
+    // 0, если запрос пропущен, иначе сколько наносекунд ждать до следующего жетона.
+    long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = bucket(key, now);
+
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + interval;
+            long excess = next - now - burst;
+
+            if (excess > 0) {
+                return excess;
+            }
+
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        trySweep(now, sweepInterval);
+
+        AtomicLong bucket = buckets.get(key);
+
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (buckets.size() >= maxBuckets) {
+            trySweep(now, Math.min(sweepInterval, PRESSURE_SWEEP_GAP));
+
+            if (buckets.size() >= maxBuckets) {
+                return overflow;
+            }
+        }
+
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    // Чистит один поток, выигравший CAS; остальные не ждут его.
+    private void trySweep(long now, long gap) {
+        long sweptAt = lastSweep.get();
+
+        if (now - sweptAt >= gap && lastSweep.compareAndSet(sweptAt, now)) {
+            evictIdle(now);
+        }
+    }
+
+    // Корзина с TAT в прошлом полна, и новая для того же ключа ничем от нее не отличается, так что удаление ничего
+    // не меняет. Запрос, успевший взять корзину перед удалением, списывает жетон с удаленной: пользователь получает
+    // один лишний запрос, что дешевле блокировки на каждом вызове.
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+}
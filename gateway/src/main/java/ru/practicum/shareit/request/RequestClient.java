@@ -1,14 +1,16 @@
 package ru.practicum.shareit.request;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.PostRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 
@@ -17,8 +19,8 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(serverUrl, builder, API_PREFIX);
+    public RequestClient(ServerTransportFactory transportFactory, MeterRegistry meterRegistry) {
+        super(transportFactory, API_PREFIX, meterRegistry);
     }
 
     public RequestDto createRequest(PostRequestDto request, long requestorId) {
@@ -31,13 +33,25 @@ public class RequestClient extends BaseClient {
         return response.getBody();
     }
 
-    public List<RequestDto> findAllRequests() {
-        ResponseEntity<List<RequestDto>> response = getList("/all", RequestDto.class);
-        return response.getBody();
+    public ResponseEntity<List<RequestDto>> findAllRequests(long userId, int from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder query = new StringBuilder("/all?from={from}");
+        parameters.put("from", from);
+
+        if (size != null) {
+            query.append("&size={size}");
+            parameters.put("size", size);
+        }
+
+        if (cursor != null) {
+            query.append("&cursor={cursor}");
+            parameters.put("cursor", cursor);
+        }
+
+        return toPage(getList(query.toString(), userId, parameters, RequestDto.class));
     }
 
-    public RequestDto findRequestById(long id) {
-        ResponseEntity<RequestDto> response = get("/" + id, RequestDto.class);
-        return response.getBody();
+    public ResponseEntity<RequestDto> findRequestById(long id) {
+        return get("/" + id, RequestDto.class);
     }
 }
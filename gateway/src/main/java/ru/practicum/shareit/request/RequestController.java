@@ -2,6 +2,8 @@ package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.request.dto.PostRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 
@@ -13,7 +15,8 @@ public interface RequestController {
 
     List<RequestDto> findAllRequestsByRequestorId(@Positive long requestorId);
 
-    List<RequestDto> findAllRequests();
+    ResponseEntity<List<RequestDto>> findAllRequests(@Positive long userId, @PositiveOrZero int from,
+                                                     @Positive Integer size, String cursor);
 
-    RequestDto findRequestById(@Positive long id);
+    ResponseEntity<RequestDto> findRequestById(@Positive long id);
 }
@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.PostRequestDto;
@@ -37,16 +38,19 @@ public class RequestControllerImpl implements RequestController {
 
     @Override
     @GetMapping("/all")
-    @ResponseStatus(HttpStatus.OK)
-    public List<RequestDto> findAllRequests() {
-        log.info("Поиск всех существующих запросов на предметы от других пользователей");
-        return requestClient.findAllRequests();
+    public ResponseEntity<List<RequestDto>> findAllRequests(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("Поиск всех существующих запросов на предметы от других пользователей. " +
+                "UserId: {}, from: {}, size: {}, cursor: {}", userId, from, size, cursor);
+        return requestClient.findAllRequests(userId, from, size, cursor);
     }
 
     @Override
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public RequestDto findRequestById(@PathVariable long id) {
+    public ResponseEntity<RequestDto> findRequestById(@PathVariable long id) {
         log.info("Поиск запроса на предмет по id: {}.", id);
         return requestClient.findRequestById(id);
     }
@@ -2,13 +2,15 @@ package ru.practicum.shareit.user;
 
 import java.util.List;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.PatchUserRequest;
 import ru.practicum.shareit.user.dto.PostUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -16,10 +18,13 @@ import ru.practicum.shareit.user.dto.UserDto;
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
+    private static final ParameterizedTypeReference<BatchResponse<UserDto>> BATCH_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(serverUrl, builder, API_PREFIX);
+    public UserClient(ServerTransportFactory transportFactory, MeterRegistry meterRegistry) {
+        super(transportFactory, API_PREFIX, meterRegistry);
     }
 
     public List<UserDto> getAllUsers() {
@@ -37,6 +42,11 @@ public class UserClient extends BaseClient {
         return response.getBody();
     }
 
+    public BatchResponse<UserDto> createUsers(List<PostUserRequest> requests) {
+        ResponseEntity<BatchResponse<UserDto>> response = post("/batch", null, requests, BATCH_TYPE);
+        return response.getBody();
+    }
+
     public UserDto patchUser(PatchUserRequest request, long userId) {
         ResponseEntity<UserDto> response = patch("/" + userId, request, UserDto.class);
         return response.getBody();
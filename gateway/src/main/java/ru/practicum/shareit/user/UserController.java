@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.user.dto.PatchUserRequest;
 import ru.practicum.shareit.user.dto.PostUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -16,6 +17,8 @@ public interface UserController {
 
     UserDto createUser(@Valid PostUserRequest request);
 
+    BatchResponse<UserDto> createUsers(List<PostUserRequest> requests);
+
     UserDto patchUser(@Valid PatchUserRequest request, @Positive long userId);
 
     void deleteUser(@Positive long id);
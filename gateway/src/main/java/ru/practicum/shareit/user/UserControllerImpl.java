@@ -1,10 +1,13 @@
 package ru.practicum.shareit.user;
 
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchRequests;
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.user.dto.PatchUserRequest;
 import ru.practicum.shareit.user.dto.PostUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -18,6 +21,7 @@ import java.util.List;
 @Slf4j
 public class UserControllerImpl implements UserController {
     private final UserClient userClient;
+    private final Validator validator;
 
     @Override
     @GetMapping
@@ -43,6 +47,14 @@ public class UserControllerImpl implements UserController {
         return userClient.createUser(request);
     }
 
+    @Override
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchResponse<UserDto> createUsers(@RequestBody List<PostUserRequest> requests) {
+        log.info("Запрос на пакетное добавление пользователей: {} шт.", requests.size());
+        return BatchRequests.forward(validator, requests, userClient::createUsers);
+    }
+
     @Override
     @PatchMapping("/{userId}")
     @ResponseStatus(HttpStatus.OK)
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.dto.PostUserRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BatchRequestsTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void forward_shouldSendOnlyValidElements_andRestoreOriginalIndexes() {
+        List<List<PostUserRequest>> forwarded = new ArrayList<>();
+        List<PostUserRequest> requests = Arrays.asList(
+                userRequest("first", "first@mail.ru"),
+                userRequest("", "broken"),
+                null,
+                userRequest("second", "second@mail.ru"));
+
+        BatchResponse<UserDto> response = BatchRequests.forward(validator, requests, valid -> {
+            forwarded.add(valid);
+            return new BatchResponse<>(1, 1, List.of(
+                    new BatchResult<>(0, 201, new UserDto(1L, "first", "first@mail.ru"), null),
+                    new BatchResult<>(1, 409, null, "Пользователь уже существует")));
+        });
+
+        assertThat(forwarded).singleElement()
+                .extracting(valid -> valid.stream().map(PostUserRequest::getName).toList())
+                .isEqualTo(List.of("first", "second"));
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults())
+                .extracting(BatchResult::getIndex, BatchResult::getStatus)
+                .containsExactly(tuple(0, 201), tuple(1, 400), tuple(2, 400), tuple(3, 409));
+        assertThat(response.getResults().get(1).getError())
+                .isEqualTo("Имя пользователя не может быть пустым; Некорректный формат email");
+    }
+
+    @Test
+    void forward_shouldNotCallServer_whenEveryElementIsInvalid() {
+        BatchResponse<UserDto> response = BatchRequests.forward(validator, List.of(userRequest("name", "")),
+                valid -> {
+                    throw new AssertionError("Сервер не должен вызываться");
+                });
+
+        assertThat(response.getCreated()).isZero();
+        assertThat(response.getResults()).extracting(BatchResult::getStatus).containsExactly(400);
+    }
+
+    @Test
+    void forward_shouldRejectOversizedBatch() {
+        List<PostUserRequest> requests = Collections.nCopies(BatchRequests.MAX_SIZE + 1,
+                userRequest("name", "name@mail.ru"));
+
+        assertThatThrownBy(() -> BatchRequests.forward(validator, requests, valid -> new BatchResponse<UserDto>()))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private static PostUserRequest userRequest(String name, String email) {
+        PostUserRequest request = new PostUserRequest();
+        request.setName(name);
+        request.setEmail(email);
+        return request;
+    }
+}
@@ -1,20 +1,24 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.RestTemplateTransport;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.booking.dto.Status;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -25,18 +29,13 @@ class BookingClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @Mock
-    private RestTemplateBuilder builder;
-
     private BookingClient bookingClient;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(builder.uriTemplateHandler(any())).thenReturn(builder);
-        when(builder.requestFactory(any(java.util.function.Supplier.class))).thenReturn(builder);
-        when(builder.build()).thenReturn(restTemplate);
-        bookingClient = new BookingClient("http://localhost", builder);
+        bookingClient = new BookingClient(apiPrefix -> new RestTemplateTransport(restTemplate),
+                new SimpleMeterRegistry());
     }
 
     @Test
@@ -63,17 +62,28 @@ class BookingClientTest {
         BookingDto expected = new BookingDto(1L, null, null, null, null, Status.APPROVED);
         when(restTemplate.exchange(contains("/1"), eq(org.springframework.http.HttpMethod.GET), any(), eq(BookingDto.class)))
                 .thenReturn(new ResponseEntity<>(expected, HttpStatus.OK));
-        BookingDto result = bookingClient.getBooking(1L, 1L);
+        BookingDto result = bookingClient.getBooking(1L, 1L).getBody();
         assertEquals(expected, result);
     }
 
+    @Test
+    void getBookingCounts_success() {
+        BookingCountsDto expected = new BookingCountsDto(4, 1, 1, 2, 1, 1);
+        when(restTemplate.exchange(eq("/counts"), eq(org.springframework.http.HttpMethod.GET), any(), eq(BookingCountsDto.class)))
+                .thenReturn(new ResponseEntity<>(expected, HttpStatus.OK));
+        when(restTemplate.exchange(eq("/owner/counts"), eq(org.springframework.http.HttpMethod.GET), any(), eq(BookingCountsDto.class)))
+                .thenReturn(new ResponseEntity<>(new BookingCountsDto(), HttpStatus.OK));
+        assertEquals(expected, bookingClient.getUserBookingCounts(1L));
+        assertEquals(new BookingCountsDto(), bookingClient.getOwnedItemsBookingCounts(1L));
+    }
+
     @Test
     void getUserBookings_success() {
         BookingDto booking = new BookingDto(1L, null, null, null, null, Status.APPROVED);
         List<BookingDto> expected = List.of(booking);
         when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), any(org.springframework.core.ParameterizedTypeReference.class), anyMap()))
                 .thenReturn(new ResponseEntity(expected, HttpStatus.OK));
-        List<BookingDto> result = bookingClient.getUserBookings(1L, State.ALL);
+        List<BookingDto> result = bookingClient.getUserBookings(1L, State.ALL, 0, null, null).getBody();
         assertEquals(expected, result);
     }
 
@@ -83,10 +93,27 @@ class BookingClientTest {
         List<BookingDto> expected = List.of(booking);
         when(restTemplate.exchange(contains("/owner"), eq(org.springframework.http.HttpMethod.GET), any(), any(org.springframework.core.ParameterizedTypeReference.class), anyMap()))
                 .thenReturn(new ResponseEntity(expected, HttpStatus.OK));
-        List<BookingDto> result = bookingClient.getOwnedItemsBookings(1L, State.ALL);
+        List<BookingDto> result = bookingClient.getOwnedItemsBookings(1L, State.ALL, 0, null, null).getBody();
         assertEquals(expected, result);
     }
 
+    @Test
+    void getUserBookings_withCursor_shouldSendPagingParametersAndKeepNextCursor() {
+        BookingDto booking = new BookingDto(1L, null, null, null, null, Status.APPROVED);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "next");
+        when(restTemplate.exchange(eq("?state={state}&from={from}&size={size}&cursor={cursor}"),
+                eq(org.springframework.http.HttpMethod.GET), any(),
+                any(org.springframework.core.ParameterizedTypeReference.class),
+                eq(Map.of("state", "PAST", "from", 0, "size", 5, "cursor", "abc"))))
+                .thenReturn(new ResponseEntity(List.of(booking), headers, HttpStatus.OK));
+
+        ResponseEntity<List<BookingDto>> result = bookingClient.getUserBookings(1L, State.PAST, 0, 5, "abc");
+
+        assertEquals(List.of(booking), result.getBody());
+        assertEquals("next", result.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
     @Test
     void addBooking_shouldThrowOnError() {
         PostBookingRequest request = new PostBookingRequest();
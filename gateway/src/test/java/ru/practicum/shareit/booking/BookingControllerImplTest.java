@@ -7,8 +7,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.client.HttpStatusCodeException;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
 import ru.practicum.shareit.booking.dto.State;
@@ -21,6 +25,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -154,7 +159,7 @@ public class BookingControllerImplTest {
     @Test
     void getBooking_whenValidRequest_shouldReturnOk() throws Exception {
         when(bookingClient.getBooking(anyLong(), anyLong()))
-                .thenReturn(bookingDto);
+                .thenReturn(ResponseEntity.ok(bookingDto));
 
         mockMvc.perform(get("/bookings/{bookingId}", 1L)
                         .header("X-Sharer-User-Id", "1")
@@ -167,8 +172,8 @@ public class BookingControllerImplTest {
 
     @Test
     void getUserBookings_whenValidRequest_shouldReturnOk() throws Exception {
-        when(bookingClient.getUserBookings(anyLong(), any(State.class)))
-                .thenReturn(List.of(bookingDto));
+        when(bookingClient.getUserBookings(anyLong(), any(State.class), anyInt(), any(), any()))
+                .thenReturn(ResponseEntity.ok(List.of(bookingDto)));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", "1")
@@ -194,8 +199,8 @@ public class BookingControllerImplTest {
 
     @Test
     void getUserBookings_withoutState_shouldReturnOk() throws Exception {
-        when(bookingClient.getUserBookings(anyLong(), any(State.class)))
-                .thenReturn(List.of(bookingDto));
+        when(bookingClient.getUserBookings(anyLong(), any(State.class), anyInt(), any(), any()))
+                .thenReturn(ResponseEntity.ok(List.of(bookingDto)));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", "1")
@@ -207,8 +212,8 @@ public class BookingControllerImplTest {
 
     @Test
     void getOwnedItemsBookings_whenValidRequest_shouldReturnOk() throws Exception {
-        when(bookingClient.getOwnedItemsBookings(anyLong(), any(State.class)))
-                .thenReturn(List.of(bookingDto));
+        when(bookingClient.getOwnedItemsBookings(anyLong(), any(State.class), anyInt(), any(), any()))
+                .thenReturn(ResponseEntity.ok(List.of(bookingDto)));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", "1")
@@ -221,6 +226,30 @@ public class BookingControllerImplTest {
                 .andExpect(jsonPath("$[0].status").value("APPROVED"));
     }
 
+    @Test
+    void getUserBookings_withPaging_shouldPassCursorAndReturnNextCursor() throws Exception {
+        when(bookingClient.getUserBookings(1L, State.ALL, 0, 1, "abc"))
+                .thenReturn(ResponseEntity.ok().header("X-Next-Cursor", "def").body(List.of(bookingDto)));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("size", "1")
+                        .param("cursor", "abc")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getUserBookings_whenSizeNotPositive_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("size", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getOwnedItemsBookings_withoutUserIdHeader_shouldReturnBadRequest() throws Exception {
         mockMvc.perform(get("/bookings/owner")
@@ -277,4 +306,49 @@ public class BookingControllerImplTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1));
     }
+
+    @Test
+    void addBookings_shouldForwardValidElements_andReportInvalidDates() throws Exception {
+        PostBookingRequest invalidRequest = new PostBookingRequest(10L, end, start);
+        when(bookingClient.addBookings(eq(1L), any()))
+                .thenReturn(new BatchResponse<>(1, 0, List.of(new BatchResult<>(0, 201, bookingDto, null))));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(objectMapper.writeValueAsString(List.of(invalidRequest, validRequest)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value(400))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].result.id").value(1));
+    }
+
+    @Test
+    void getBookingCounts_whenValidRequest_shouldReturnOk() throws Exception {
+        when(bookingClient.getUserBookingCounts(1L)).thenReturn(new BookingCountsDto(4, 1, 1, 2, 1, 1));
+        when(bookingClient.getOwnedItemsBookingCounts(1L)).thenReturn(new BookingCountsDto(2, 0, 0, 2, 2, 0));
+
+        mockMvc.perform(get("/bookings/counts")
+                        .header("X-Sharer-User-Id", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(4))
+                .andExpect(jsonPath("$.current").value(1));
+
+        mockMvc.perform(get("/bookings/owner/counts")
+                        .header("X-Sharer-User-Id", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.waiting").value(2));
+    }
+
+    @Test
+    void getBookingCounts_withNonPositiveUserId_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings/counts")
+                        .header("X-Sharer-User-Id", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockingServerTransportFactoryTest {
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private HttpServer server;
+    private BlockingServerTransportFactory transportFactory;
+    private ServerTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", this::handle);
+        server.start();
+
+        transportFactory = new BlockingServerTransportFactory("http://localhost:" + server.getAddress().getPort(),
+                8, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(30), WireFormat.JSON,
+                new ResilienceProperties(), new SimpleMeterRegistry(), new RestTemplateBuilder());
+        transport = transportFactory.create("/items");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        transportFactory.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void exchange_shouldExpandParametersAndForwardHeaders() {
+        ResponseEntity<Map<String, Object>> response = transport.exchange("/echo?text={text}", HttpMethod.GET,
+                new HttpEntity<>(userHeaders()), MAP_TYPE, Map.of("text", "дрель"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text=дрель", response.getBody().get("query"));
+        assertEquals("7", response.getBody().get("user"));
+    }
+
+    @Test
+    void exchange_shouldThrowHttpStatusCodeException_whenServerRespondsWithError() {
+        HttpClientErrorException e = assertThrows(HttpClientErrorException.class,
+                () -> transport.exchange("/missing", HttpMethod.GET, new HttpEntity<>(userHeaders()), Object.class,
+                        null));
+
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+
+    @Test
+    void exchange_withCborWireFormat_shouldSendAndReadCborBodies() throws IOException {
+        BlockingServerTransportFactory cborFactory = new BlockingServerTransportFactory(
+                "http://localhost:" + server.getAddress().getPort(),
+                8, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(30), WireFormat.CBOR,
+                new ResilienceProperties(), new SimpleMeterRegistry(), new RestTemplateBuilder());
+
+        try {
+            ServerTransport cborTransport = cborFactory.create("/items");
+            HttpHeaders headers = userHeaders();
+            headers.setContentType(cborTransport.mediaType());
+            headers.setAccept(List.of(cborTransport.mediaType(), MediaType.APPLICATION_JSON));
+
+            ResponseEntity<Map<String, Object>> response = cborTransport.exchange("/cbor", HttpMethod.POST,
+                    new HttpEntity<>(Map.of("name", "Дрель"), headers), MAP_TYPE, null);
+
+            assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+            assertEquals("Дрель", response.getBody().get("name"));
+        } finally {
+            cborFactory.destroy();
+        }
+    }
+
+    private HttpHeaders userHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "7");
+        return headers;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if ("/items/cbor".equals(exchange.getRequestURI().getPath())) {
+            echoCbor(exchange);
+            return;
+        }
+
+        int status = HttpStatus.OK.value();
+        String body;
+
+        if ("/items/echo".equals(exchange.getRequestURI().getPath())) {
+            body = "{\"query\":\"" + exchange.getRequestURI().getQuery() + "\",\"user\":\"" +
+                    exchange.getRequestHeaders().getFirst("X-Sharer-User-Id") + "\"}";
+        } else {
+            status = HttpStatus.NOT_FOUND.value();
+            body = "{\"error\":\"Вещь не найдена\"}";
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Эхо в CBOR; запрос в другом формате отклоняется с 415.
+    private void echoCbor(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+
+        if (!MediaType.APPLICATION_CBOR_VALUE.equals(contentType)) {
+            exchange.sendResponseHeaders(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), -1);
+            exchange.close();
+            return;
+        }
+
+        CBORMapper mapper = new CBORMapper();
+        byte[] bytes = mapper.writeValueAsBytes(mapper.readValue(exchange.getRequestBody(), Map.class));
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE);
+        exchange.sendResponseHeaders(HttpStatus.OK.value(), bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
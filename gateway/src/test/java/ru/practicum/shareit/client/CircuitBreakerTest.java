@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenCalls(2);
+        circuitBreaker = new CircuitBreaker("/items", properties, now::get);
+    }
+
+    @Test
+    void onFailure_shouldNotOpen_beforeMinimumCalls() {
+        fail(3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void onFailure_shouldOpen_whenFailureRateReachesThreshold() {
+        succeed(2);
+        fail(2);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void slidingWindow_shouldCountOnlyRecentCalls() {
+        succeed(10);
+        fail(4);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+
+        // Первые успехи вытеснены из окна: 5 ошибок среди 10 последних вызовов, хотя всего их 5 из 15.
+        fail(1);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    }
+
+    @Test
+    void halfOpen_shouldAllowLimitedProbes_andCloseAfterSuccessfulOnes() {
+        fail(4);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void halfOpen_shouldReopen_whenProbeFails() {
+        fail(4);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void release_shouldReturnUnusedProbe() {
+        fail(4);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.tryAcquire();
+        circuitBreaker.tryAcquire();
+
+        circuitBreaker.release();
+
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            circuitBreaker.tryAcquire();
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            circuitBreaker.tryAcquire();
+            circuitBreaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Шлюз целиком в режиме WebClient против медленной заглушки сервера: Tomcat ограничен 16 потоками, а клиентов
+// в несколько раз больше. Запросы ждут ответа сервера на виртуальных потоках, поэтому все клиенты обслуживаются
+// одновременно, а не очередями по 16.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit-server.client.mode=reactive",
+        "shareit-server.client.wire-format=json",
+        "shareit-server.client.max-connections=256",
+        "shareit-server.client.resilience.max-concurrent-calls=256",
+        "shareit-gateway.rate-limit.enabled=false",
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=16"
+})
+class GatewayConcurrencyTest {
+    private static final int CLIENTS = 128;
+    private static final Duration SERVER_DELAY = Duration.ofMillis(300);
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+    private static HttpServer server;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CLIENTS);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/users", GatewayConcurrencyTest::slowUser);
+        server.start();
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void getUser_shouldServeMoreConcurrentClientsThanServletThreads() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+
+        // Разные id, чтобы одинаковые GET не склеились в один запрос к серверу.
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 1; i <= CLIENTS; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + i))
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                        .build();
+                responses.add(clients.submit(() -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+        }
+
+        for (Future<HttpResponse<String>> response : responses) {
+            assertEquals(HttpStatus.OK.value(), response.get().statusCode(), response.get().body());
+        }
+        // При очереди к 16 потокам Tomcat заглушка видела бы не больше 16 запросов сразу.
+        assertTrue(MAX_IN_FLIGHT.get() > 64, "Одновременно у сервера было только " + MAX_IN_FLIGHT.get());
+    }
+
+    private static void slowUser(HttpExchange exchange) throws IOException {
+        MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+
+        try {
+            Thread.sleep(SERVER_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            IN_FLIGHT.decrementAndGet();
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        String id = path.substring(path.lastIndexOf('/') + 1);
+        byte[] body = ("{\"id\":" + id + ",\"name\":\"user" + id + "\",\"email\":\"user" + id + "@mail.ru\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        exchange.sendResponseHeaders(HttpStatus.OK.value(), body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Заглушка сервера на localhost: /slow отвечает через 3 секунды, /flaky — 503 на первый запрос, /broken — 200
+// с телом не в JSON, /down — всегда 503.
+class ResilientTransportTest {
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(300);
+
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private BlockingServerTransportFactory transportFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/items", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (transportFactory != null) {
+            transportFactory.destroy();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void slowServer_shouldKeepGatewayLatencyBounded_andOpenCircuit() throws Exception {
+        ServerTransport transport = transport(properties());
+        int callers = 32;
+        ExecutorService callersExecutor = Executors.newFixedThreadPool(callers);
+        List<Future<Long>> durations = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < callers; i++) {
+                durations.add(callersExecutor.submit(() -> timed(() -> get(transport, "/slow"))));
+            }
+
+            // Без таймаутов и bulkhead каждый вызов ждал бы сервер 3 секунды, занимая поток gateway.
+            for (Future<Long> duration : durations) {
+                assertTrue(duration.get(5, TimeUnit.SECONDS) < Duration.ofMillis(1500).toNanos());
+            }
+        } finally {
+            callersExecutor.shutdownNow();
+        }
+
+        // До сервера дошли только вызовы, занявшие bulkhead, и часть их повторов; остальные получили 503 за 20 мс.
+        int slowHits = hits.get("/items/slow").get();
+        assertTrue(slowHits <= 8, "Запросов к серверу: " + slowHits);
+        assertEquals(CircuitBreaker.State.OPEN, ((ResilientTransport) transport).circuitState());
+
+        long failFast = timed(() -> get(transport, "/slow"));
+
+        assertTrue(failFast < Duration.ofMillis(100).toNanos(), "Отказ при разомкнутой цепи: " + failFast + " нс");
+        assertEquals(slowHits, hits.get("/items/slow").get());
+    }
+
+    @Test
+    void get_shouldBeRetried_whenServerIsTemporarilyUnavailable() {
+        ServerTransport transport = transport(properties());
+
+        assertEquals(HttpStatus.OK, transport.exchange("/flaky", HttpMethod.GET, new HttpEntity<>(headers()),
+                String.class, null).getStatusCode());
+        assertEquals(2, hits.get("/items/flaky").get());
+    }
+
+    @Test
+    void post_shouldNotBeRetried() {
+        ServerTransport transport = transport(properties());
+
+        HttpServerErrorException e = assertThrows(HttpServerErrorException.class,
+                () -> transport.exchange("/down", HttpMethod.POST, new HttpEntity<>("{}", headers()), String.class,
+                        null));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals(1, hits.get("/items/down").get());
+    }
+
+    @Test
+    void get_shouldNotBeRetried_whenRetryBudgetIsSpent() {
+        ResilienceProperties properties = properties();
+        properties.getRetry().setBudgetRatio(0);
+        properties.getRetry().setBudgetReserve(1);
+        ServerTransport transport = transport(properties);
+
+        assertThrows(HttpServerErrorException.class, () -> get(transport, "/down"));
+        assertThrows(HttpServerErrorException.class, () -> get(transport, "/down"));
+
+        // Первый GET потратил единственный повтор из запаса, второй ушел на сервер один раз.
+        assertEquals(3, hits.get("/items/down").get());
+    }
+
+    @Test
+    void get_shouldNotBeRetried_whenResponseCannotBeRead() {
+        ServerTransport transport = transport(properties());
+
+        RestClientException e = assertThrows(RestClientException.class,
+                () -> transport.exchange("/broken", HttpMethod.GET, new HttpEntity<>(headers()), Map.class, null));
+
+        assertFalse(e instanceof ResourceAccessException);
+        assertEquals(1, hits.get("/items/broken").get());
+        assertEquals(0, meterRegistry.counter(ResilientTransport.RETRIES, "resource", "/items").count());
+    }
+
+    @Test
+    void get_shouldNotBeRetried_whenNextAttemptWouldMissDeadline() {
+        ResilienceProperties properties = properties();
+        properties.getRetry().setMaxAttempts(3);
+        properties.getRetry().setDeadline(READ_TIMEOUT.plusMillis(200));
+        ServerTransport transport = transport(properties);
+
+        long duration = timed(() -> get(transport, "/slow"));
+
+        // Вторая попытка с read-timeout закончилась бы позже deadline, поэтому вызов отказал после первой.
+        assertEquals(1, hits.get("/items/slow").get());
+        assertTrue(duration < READ_TIMEOUT.multipliedBy(2).toNanos(), "Длительность вызова: " + duration + " нс");
+    }
+
+    private ResilienceProperties properties() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.setMaxConcurrentCalls(4);
+        properties.setMaxWait(Duration.ofMillis(20));
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setOpenDuration(Duration.ofSeconds(30));
+        properties.getRetry().setMaxAttempts(2);
+        properties.getRetry().setBackoff(Duration.ofMillis(10));
+        return properties;
+    }
+
+    private ServerTransport transport(ResilienceProperties properties) {
+        transportFactory = new BlockingServerTransportFactory("http://localhost:" + server.getAddress().getPort(),
+                64, Duration.ofSeconds(1), READ_TIMEOUT, Duration.ofSeconds(30), WireFormat.JSON, properties,
+                meterRegistry, new RestTemplateBuilder());
+        return transportFactory.create("/items");
+    }
+
+    private static void get(ServerTransport transport, String path) {
+        transport.exchange(path, HttpMethod.GET, new HttpEntity<>(headers()), String.class, null);
+    }
+
+    private static long timed(Runnable call) {
+        long startedAt = System.nanoTime();
+
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            // Здесь важна только длительность: отказ gateway или таймаут — ожидаемый исход.
+        }
+
+        return System.nanoTime() - startedAt;
+    }
+
+    private static HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return headers;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        int hit = hits.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+
+        try {
+            int status = switch (path) {
+                case "/items/slow" -> {
+                    sleep(Duration.ofSeconds(3));
+                    yield HttpStatus.OK.value();
+                }
+                case "/items/flaky" -> hit == 1 ? HttpStatus.SERVICE_UNAVAILABLE.value() : HttpStatus.OK.value();
+                case "/items/broken" -> HttpStatus.OK.value();
+                default -> HttpStatus.SERVICE_UNAVAILABLE.value();
+            };
+            byte[] bytes = (path.equals("/items/broken") ? "{" : "{}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(status, bytes.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // Gateway уже закрыл соединение по таймауту.
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
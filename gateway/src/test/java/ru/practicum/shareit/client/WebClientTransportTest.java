@@ -0,0 +1,194 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebClientTransportTest {
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private HttpServer server;
+    private ReactiveServerTransportFactory transportFactory;
+    private WebClientTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(64));
+        server.createContext("/users", this::handle);
+        server.start();
+
+        // Без защиты фабрика отдает сам WebClientTransport.
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.setEnabled(false);
+        transportFactory = new ReactiveServerTransportFactory("http://localhost:" + server.getAddress().getPort(),
+                64, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(30), WireFormat.JSON,
+                resilience, new SimpleMeterRegistry(), WebClient.builder());
+        transport = (WebClientTransport) transportFactory.create("/users");
+    }
+
+    @AfterEach
+    void tearDown() {
+        transportFactory.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void exchange_shouldExpandParametersAndForwardHeaders() {
+        ResponseEntity<Map<String, Object>> response = transport.exchange("/echo?from={from}", HttpMethod.GET,
+                new HttpEntity<>(userHeaders()), MAP_TYPE, Map.of("from", 5));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("from=5", response.getBody().get("query"));
+        assertEquals("7", response.getBody().get("user"));
+    }
+
+    @Test
+    void exchange_shouldThrowHttpStatusCodeException_whenServerRespondsWithError() {
+        HttpClientErrorException e = assertThrows(HttpClientErrorException.class,
+                () -> transport.exchange("/missing", HttpMethod.GET, new HttpEntity<>(userHeaders()), MAP_TYPE,
+                        null));
+
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+        assertTrue(e.getResponseBodyAsString().contains("не найден"));
+    }
+
+    @Test
+    void exchange_shouldServeConcurrentCallersOnVirtualThreads() throws Exception {
+        int requests = 64;
+        long startedAt = System.nanoTime();
+        List<Future<ResponseEntity<Map<String, Object>>>> responses = new ArrayList<>();
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                responses.add(callers.submit(() -> transport.exchange("/slow", HttpMethod.GET,
+                        new HttpEntity<>(userHeaders()), MAP_TYPE, null)));
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        for (Future<ResponseEntity<Map<String, Object>>> response : responses) {
+            assertEquals(HttpStatus.OK, response.get().getStatusCode());
+        }
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(5)) < 0, "Запросы выполнялись последовательно: " + elapsed);
+    }
+
+    @Test
+    void exchange_withCborWireFormat_shouldSendAndReadCborBodies() throws IOException {
+        ReactiveServerTransportFactory cborFactory = new ReactiveServerTransportFactory(
+                "http://localhost:" + server.getAddress().getPort(),
+                8, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(30), WireFormat.CBOR,
+                new ResilienceProperties(), new SimpleMeterRegistry(), WebClient.builder());
+
+        try {
+            ServerTransport cborTransport = cborFactory.create("/users");
+            HttpHeaders headers = userHeaders();
+            headers.setContentType(cborTransport.mediaType());
+            headers.setAccept(List.of(cborTransport.mediaType(), MediaType.APPLICATION_JSON));
+
+            ResponseEntity<Map<String, Object>> response = cborTransport.exchange("/cbor", HttpMethod.POST,
+                    new HttpEntity<>(Map.of("name", "Дрель"), headers), MAP_TYPE, null);
+
+            assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+            assertEquals("Дрель", response.getBody().get("name"));
+        } finally {
+            cborFactory.destroy();
+        }
+    }
+
+    private HttpHeaders userHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "7");
+        return headers;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if ("/users/cbor".equals(exchange.getRequestURI().getPath())) {
+            echoCbor(exchange);
+            return;
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        int status = HttpStatus.OK.value();
+        String body;
+
+        switch (path) {
+            case "/users/echo" -> body = "{\"query\":\"" + exchange.getRequestURI().getQuery() + "\",\"user\":\"" +
+                    exchange.getRequestHeaders().getFirst("X-Sharer-User-Id") + "\"}";
+            case "/users/slow" -> {
+                sleep();
+                body = "{}";
+            }
+            default -> {
+                status = HttpStatus.NOT_FOUND.value();
+                body = "{\"error\":\"Пользователь не найден\"}";
+            }
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Эхо в CBOR; запрос в другом формате отклоняется с 415.
+    private void echoCbor(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+
+        if (!MediaType.APPLICATION_CBOR_VALUE.equals(contentType)) {
+            exchange.sendResponseHeaders(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), -1);
+            exchange.close();
+            return;
+        }
+
+        CBORMapper mapper = new CBORMapper();
+        byte[] bytes = mapper.writeValueAsBytes(mapper.readValue(exchange.getRequestBody(), Map.class));
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE);
+        exchange.sendResponseHeaders(HttpStatus.OK.value(), bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
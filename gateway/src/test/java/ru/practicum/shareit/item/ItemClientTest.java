@@ -1,17 +1,27 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.RestTemplateTransport;
 import ru.practicum.shareit.item.dto.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -22,18 +32,14 @@ class ItemClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @Mock
-    private RestTemplateBuilder builder;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private ItemClient itemClient;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(builder.uriTemplateHandler(any())).thenReturn(builder);
-        when(builder.requestFactory(any(java.util.function.Supplier.class))).thenReturn(builder);
-        when(builder.build()).thenReturn(restTemplate);
-        itemClient = new ItemClient("http://localhost", builder);
+        itemClient = new ItemClient(apiPrefix -> new RestTemplateTransport(restTemplate), meterRegistry);
     }
 
     @Test
@@ -41,7 +47,7 @@ class ItemClientTest {
         ItemDto expected = new ItemDto(1L, "name", "desc", true, null, null, null, null, null);
         when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), eq(ItemDto.class)))
                 .thenReturn(new ResponseEntity<>(expected, HttpStatus.OK));
-        ItemDto result = itemClient.getItem(1L);
+        ItemDto result = itemClient.getItem(1L).getBody();
         assertEquals(expected, result);
     }
 
@@ -59,12 +65,30 @@ class ItemClientTest {
     void searchItems_success() {
         ItemDto item = new ItemDto(1L, "name", "desc", true, null, null, null, null, null);
         List<ItemDto> expected = List.of(item);
-        when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), any(org.springframework.core.ParameterizedTypeReference.class)))
+        when(restTemplate.exchange(eq("/search?text={text}&from={from}&size={size}"), eq(org.springframework.http.HttpMethod.GET), any(), any(org.springframework.core.ParameterizedTypeReference.class), eq(java.util.Map.of("text", "item", "from", 0, "size", 10))))
                 .thenReturn(new ResponseEntity(expected, HttpStatus.OK));
-        List<ItemDto> result = itemClient.searchItems("item");
+        List<ItemDto> result = itemClient.searchItems("item", 0, 10, null, null);
         assertEquals(expected, result);
     }
 
+    @Test
+    void searchItems_withPeriod_shouldSendIsoStartAndEnd() {
+        java.time.LocalDateTime start = java.time.LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<ItemDto> expected = List.of(new ItemDto(1L, "name", "desc", true, null, null, null, null, null));
+        when(restTemplate.exchange(eq("/search?text={text}&from={from}&start={start}&end={end}"), eq(org.springframework.http.HttpMethod.GET), any(), any(org.springframework.core.ParameterizedTypeReference.class), eq(java.util.Map.of("text", "item", "from", 0, "start", "2030-01-01T12:00", "end", "2030-01-02T12:00"))))
+                .thenReturn(new ResponseEntity(expected, HttpStatus.OK));
+        assertEquals(expected, itemClient.searchItems("item", 0, null, start, start.plusDays(1)));
+    }
+
+    @Test
+    void getItemAvailability_shouldSendIsoPeriod() {
+        java.time.LocalDateTime from = java.time.LocalDateTime.of(2030, 1, 1, 12, 0);
+        ItemAvailabilityDto expected = new ItemAvailabilityDto(1L, from, from.plusDays(1), true, List.of());
+        when(restTemplate.exchange(eq("/1/availability?from={from}&to={to}"), eq(org.springframework.http.HttpMethod.GET), any(), eq(ItemAvailabilityDto.class), eq(java.util.Map.of("from", "2030-01-01T12:00", "to", "2030-01-02T12:00"))))
+                .thenReturn(new ResponseEntity<>(expected, HttpStatus.OK));
+        assertEquals(expected, itemClient.getItemAvailability(1L, from, from.plusDays(1)));
+    }
+
     @Test
     void createItem_success() {
         PostItemRequest req = new PostItemRequest();
@@ -75,6 +99,22 @@ class ItemClientTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    void createItem_withCborTransport_shouldSendCborAndAcceptJsonAsFallback() {
+        itemClient = new ItemClient(apiPrefix -> new RestTemplateTransport(restTemplate,
+                org.springframework.http.MediaType.APPLICATION_CBOR), meterRegistry);
+        ItemDto expected = new ItemDto(1L, "name", "desc", true, null, null, null, null, null);
+        org.mockito.ArgumentCaptor<org.springframework.http.HttpEntity<?>> request =
+                org.mockito.ArgumentCaptor.forClass(org.springframework.http.HttpEntity.class);
+        when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.POST), request.capture(), eq(ItemDto.class)))
+                .thenReturn(new ResponseEntity<>(expected, HttpStatus.OK));
+
+        assertEquals(expected, itemClient.createItem(new PostItemRequest(), 1L));
+        assertEquals(org.springframework.http.MediaType.APPLICATION_CBOR, request.getValue().getHeaders().getContentType());
+        assertEquals(List.of(org.springframework.http.MediaType.APPLICATION_CBOR, org.springframework.http.MediaType.APPLICATION_JSON),
+                request.getValue().getHeaders().getAccept());
+    }
+
     @Test
     void patchItem_success() {
         PatchItemRequest req = new PatchItemRequest();
@@ -123,12 +163,31 @@ class ItemClientTest {
         assertThrows(HttpStatusCodeException.class, () -> itemClient.createItem(req, 1L));
     }
 
+    @Test
+    void getItem_shouldRevalidateWithETag_andReuseBodyOnNotModified() {
+        ItemDto expected = new ItemDto(1L, "name", "desc", true, null, null, null, null, null);
+        org.mockito.ArgumentCaptor<org.springframework.http.HttpEntity<?>> request =
+                org.mockito.ArgumentCaptor.forClass(org.springframework.http.HttpEntity.class);
+        when(restTemplate.exchange(eq("/1"), eq(org.springframework.http.HttpMethod.GET), request.capture(), eq(ItemDto.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"item-1-0-0\"").body(expected))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"item-1-0-0\"").build());
+
+        assertEquals(expected, itemClient.getItem(1L).getBody());
+        ResponseEntity<ItemDto> revalidated = itemClient.getItem(1L);
+
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertEquals(expected, revalidated.getBody());
+        assertEquals("\"item-1-0-0\"", revalidated.getHeaders().getETag());
+        assertTrue(request.getAllValues().get(0).getHeaders().getIfNoneMatch().isEmpty());
+        assertEquals(List.of("\"item-1-0-0\""), request.getAllValues().get(1).getHeaders().getIfNoneMatch());
+    }
+
     @Test
     void getItem_non2xxWithBody_returnsBody() {
         ItemDto expected = new ItemDto(1L, "name", "desc", true, null, null, null, null, null);
         when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), eq(ItemDto.class)))
                 .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).body(expected));
-        ItemDto result = itemClient.getItem(1L);
+        ItemDto result = itemClient.getItem(1L).getBody();
         assertEquals(expected, result);
     }
 
@@ -136,7 +195,49 @@ class ItemClientTest {
     void getItem_non2xxWithoutBody_returnsNoBody() {
         when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), eq(ItemDto.class)))
                 .thenReturn(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
-        ItemDto result = itemClient.getItem(1L);
+        ItemDto result = itemClient.getItem(1L).getBody();
         assertNull(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchItems_concurrentIdenticalCalls_shouldReachServerOnce() throws Exception {
+        int callers = 16;
+        List<ItemDto> expected = List.of(new ItemDto(1L, "name", "desc", true, null, null, null, null, null));
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class), anyMap()))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return new ResponseEntity<>(expected, HttpStatus.OK);
+                });
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<List<ItemDto>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> itemClient.searchItems("item", 0, 10, null, null)));
+            }
+            Counter coalesced = meterRegistry.get("shareit.gateway.reads")
+                    .tags("client", "ItemClient", "result", "coalesced")
+                    .counter();
+            // Сервер отвечает только после того, как все остальные вызовы присоединились к первому.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coalesced.count() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (Future<List<ItemDto>> result : results) {
+                assertEquals(expected, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(callers - 1, coalesced.count());
+            assertEquals(1, meterRegistry.get("shareit.gateway.reads")
+                    .tags("client", "ItemClient", "result", "upstream")
+                    .counter().count());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(restTemplate, times(1))
+                .exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class), anyMap());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.client.HttpStatusCodeException;
 import ru.practicum.shareit.item.dto.*;
@@ -42,12 +43,25 @@ public class ItemControllerImplTest {
 
     @Test
     void getItem_whenExists_shouldReturnOk() throws Exception {
-        when(itemClient.getItem(anyLong())).thenReturn(itemDto);
+        when(itemClient.getItem(anyLong())).thenReturn(ResponseEntity.ok(itemDto));
         mockMvc.perform(get("/items/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1));
     }
 
+    @Test
+    void getItem_whenClientETagMatches_shouldReturnNotModified() throws Exception {
+        when(itemClient.getItem(1L)).thenReturn(ResponseEntity.ok().eTag("\"item-1-2-0\"").body(itemDto));
+
+        mockMvc.perform(get("/items/1").header("If-None-Match", "\"item-1-2-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"item-1-2-0\""));
+
+        mockMvc.perform(get("/items/1").header("If-None-Match", "\"item-1-1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
     @Test
     void getOwnerItems_whenValid_shouldReturnOk() throws Exception {
         when(itemClient.getOwnerItems(anyLong())).thenReturn(List.of(ownedItemDto));
@@ -64,12 +78,45 @@ public class ItemControllerImplTest {
 
     @Test
     void searchItems_whenTextProvided_shouldReturnOk() throws Exception {
-        when(itemClient.searchItems(anyString())).thenReturn(List.of(itemDto));
+        when(itemClient.searchItems(anyString(), anyInt(), any(), any(), any())).thenReturn(List.of(itemDto));
         mockMvc.perform(get("/items/search").param("text", "item"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    void searchItems_whenPeriodGiven_shouldPassItToClient() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        when(itemClient.searchItems("item", 0, null, start, start.plusDays(2))).thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "item")
+                        .param("start", start.toString())
+                        .param("end", start.plusDays(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void searchItems_whenPeriodIncompleteOrReversed_shouldReturnBadRequest() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        mockMvc.perform(get("/items/search").param("text", "item").param("start", start.toString()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "item")
+                        .param("start", start.toString())
+                        .param("end", start.minusHours(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchItems_whenSizeNotPositive_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items/search").param("text", "item").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void createItem_whenValid_shouldReturnCreated() throws Exception {
         when(itemClient.createItem(any(PostItemRequest.class), anyLong())).thenReturn(itemDto);
@@ -183,4 +230,32 @@ public class ItemControllerImplTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void getItemAvailability_whenPeriodValid_shouldReturnOk() throws Exception {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+        when(itemClient.getItemAvailability(1L, from, from.plusDays(1)))
+                .thenReturn(new ItemAvailabilityDto(1L, from, from.plusDays(1), true, List.of()));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(true));
+    }
+
+    @Test
+    void getItemAvailability_whenPeriodReversedOrPast_shouldReturnBadRequest() throws Exception {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", from.toString())
+                        .param("to", from.minusHours(1).toString()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", from.minusDays(3).toString())
+                        .param("to", from.minusDays(2).toString()))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.owner;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.client.RestTemplateTransport;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OwnerClientTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private OwnerClient ownerClient;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ownerClient = new OwnerClient(apiPrefix -> new RestTemplateTransport(restTemplate), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getDashboard_success() {
+        OwnerDashboardDto expected = new OwnerDashboardDto();
+        expected.setBookingCounts(new BookingCountsDto(1, 0, 0, 1, 1, 0));
+        when(restTemplate.exchange(endsWith("/dashboard?commentsSize={commentsSize}"), eq(HttpMethod.GET), any(),
+                eq(OwnerDashboardDto.class), eq(Map.of("commentsSize", 5))))
+                .thenReturn(new ResponseEntity<>(expected, HttpStatus.OK));
+        OwnerDashboardDto result = ownerClient.getDashboard(1L, 5);
+        assertEquals(expected, result);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.owner;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = OwnerDashboardControllerImpl.class)
+class OwnerDashboardControllerImplTest {
+
+    @MockBean
+    private OwnerClient ownerClient;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getDashboard_shouldReturnDashboard() throws Exception {
+        OwnerDashboardDto dashboard = new OwnerDashboardDto();
+        dashboard.setItems(List.of());
+        dashboard.setRecentComments(List.of());
+        dashboard.setBookingCounts(new BookingCountsDto(3, 1, 1, 1, 0, 0));
+        when(ownerClient.getDashboard(anyLong(), anyInt())).thenReturn(dashboard);
+
+        mockMvc.perform(get("/owner/dashboard")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("commentsSize", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingCounts.all").value(3));
+        verify(ownerClient).getDashboard(1L, 5);
+    }
+
+    @Test
+    void getDashboard_withInvalidCommentsSize_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/owner/dashboard")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("commentsSize", "0"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(ownerClient);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemControllerImpl;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ItemControllerImpl.class)
+@Import({RateLimitConfig.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {
+        "shareit-gateway.rate-limit.capacity=100",
+        "shareit-gateway.rate-limit.refill-per-second=0.01",
+        "shareit-gateway.rate-limit.families.search.paths=/items/search",
+        "shareit-gateway.rate-limit.families.search.capacity=2",
+        "shareit-gateway.rate-limit.families.search.refill-per-second=0.1"
+})
+class RateLimitConfigTest {
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ItemDto itemDto = new ItemDto(1L, "item", "desc", true, null, null, null, null, List.of());
+
+    @Test
+    void search_shouldReturnTooManyRequests_whenUserExceedsFamilyLimit() throws Exception {
+        when(itemClient.searchItems(anyString(), anyInt(), any(), any(), any())).thenReturn(List.of());
+        when(itemClient.getItem(1L)).thenReturn(ResponseEntity.ok(itemDto));
+        double throttled = meterRegistry.counter(RateLimitInterceptor.THROTTLED, "family", "search").count();
+
+        mockMvc.perform(search().header("X-Sharer-User-Id", "1")).andExpect(status().isOk());
+        mockMvc.perform(search().header("X-Sharer-User-Id", "1")).andExpect(status().isOk());
+
+        mockMvc.perform(search().header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.error").value("Слишком много запросов, повторите через 10 с"));
+
+        // Другой пользователь и другое семейство эндпоинтов лимитируются отдельно.
+        mockMvc.perform(search().header("X-Sharer-User-Id", "2")).andExpect(status().isOk());
+        mockMvc.perform(get("/items/1").header("X-Sharer-User-Id", "1")).andExpect(status().isOk());
+        assertEquals(throttled + 1, meterRegistry.counter(RateLimitInterceptor.THROTTLED, "family", "search").count());
+    }
+
+    @Test
+    void search_shouldLimitAnonymousRequestsByAddress() throws Exception {
+        when(itemClient.searchItems(anyString(), anyInt(), any(), any(), any())).thenReturn(List.of());
+
+        mockMvc.perform(search().with(from("10.0.0.1"))).andExpect(status().isOk());
+        mockMvc.perform(search().with(from("10.0.0.1"))).andExpect(status().isOk());
+
+        mockMvc.perform(search().with(from("10.0.0.1"))).andExpect(status().isTooManyRequests());
+        mockMvc.perform(search().with(from("10.0.0.2"))).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder search() {
+        return get("/items/search").param("text", "дрель");
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private static final long SWEEP_INTERVAL = Duration.ofMinutes(1).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void tryAcquire_shouldAllowBurst_thenReturnTimeUntilNextToken() {
+        RateLimiter rateLimiter = new RateLimiter(3, 2, 100, SWEEP_INTERVAL, now::get);
+
+        assertEquals(0, rateLimiter.tryAcquire("user:1"));
+        assertEquals(0, rateLimiter.tryAcquire("user:1"));
+        assertEquals(0, rateLimiter.tryAcquire("user:1"));
+        assertEquals(Duration.ofMillis(500).toNanos(), rateLimiter.tryAcquire("user:1"));
+
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+
+        assertEquals(0, rateLimiter.tryAcquire("user:1"));
+        assertTrue(rateLimiter.tryAcquire("user:1") > 0);
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBucketPerKey() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 100, SWEEP_INTERVAL, now::get);
+
+        assertEquals(0, rateLimiter.tryAcquire("user:1"));
+        assertTrue(rateLimiter.tryAcquire("user:1") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("user:2"));
+        assertEquals(0, rateLimiter.tryAcquire("ip:127.0.0.1"));
+    }
+
+    @Test
+    void tryAcquire_shouldNotRefillAboveCapacity_afterLongIdle() {
+        RateLimiter rateLimiter = new RateLimiter(2, 10, 100, SWEEP_INTERVAL, now::get);
+        rateLimiter.tryAcquire("user:1");
+
+        now.addAndGet(Duration.ofHours(1).toNanos());
+
+        assertEquals(0, rateLimiter.tryAcquire("user:1"));
+        assertEquals(0, rateLimiter.tryAcquire("user:1"));
+        assertTrue(rateLimiter.tryAcquire("user:1") > 0);
+    }
+
+    @Test
+    void sweep_shouldEvictOnlyFullBuckets() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 100, SWEEP_INTERVAL, now::get);
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("user:" + i);
+        }
+
+        now.addAndGet(SWEEP_INTERVAL);
+        rateLimiter.tryAcquire("user:0");
+
+        // Все корзины успели наполниться и удалены, user:0 создан заново и уже потратил жетон.
+        assertEquals(1, rateLimiter.size());
+        assertTrue(rateLimiter.tryAcquire("user:0") > 0);
+    }
+
+    @Test
+    void tryAcquire_shouldShareOverflowBucket_whenNoRoomForNewKeys() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 2, SWEEP_INTERVAL, now::get);
+        rateLimiter.tryAcquire("user:1");
+        rateLimiter.tryAcquire("user:2");
+
+        assertEquals(0, rateLimiter.tryAcquire("user:3"));
+        assertTrue(rateLimiter.tryAcquire("user:4") > 0);
+        assertEquals(2, rateLimiter.size());
+
+        // Через секунду корзины user:1 и user:2 полны, и чистка под давлением освобождает место.
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertEquals(0, rateLimiter.tryAcquire("user:4"));
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void tryAcquire_shouldNotOverAdmit_underContentionOnOneKey() throws Exception {
+        int capacity = 1000;
+        RateLimiter rateLimiter = new RateLimiter(capacity, 1, 100, SWEEP_INTERVAL, now::get);
+        AtomicInteger admitted = new AtomicInteger();
+
+        contend(64, 10_000, () -> {
+            if (rateLimiter.tryAcquire("user:1") == 0) {
+                admitted.incrementAndGet();
+            }
+        });
+
+        // Часы стоят, поэтому пройти могут ровно capacity запросов из 640 000, сколько бы CAS ни проиграли.
+        assertEquals(capacity, admitted.get());
+    }
+
+    @Test
+    void tryAcquire_shouldKeepMemoryBounded_underContentionOnManyKeys() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(10, 10, 1000, SWEEP_INTERVAL, System::nanoTime);
+        AtomicLong keys = new AtomicLong();
+
+        contend(64, 1000, () -> rateLimiter.tryAcquire("user:" + keys.incrementAndGet()));
+
+        // Проверка размера и вставка не атомарны вместе: каждый поток может добавить не больше одной лишней корзины.
+        assertTrue(rateLimiter.size() <= 1000 + 64, "Корзин: " + rateLimiter.size());
+    }
+
+    private static void contend(int threads, int callsPerThread, Runnable call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+
+                    for (int i = 0; i < callsPerThread; i++) {
+                        call.run();
+                    }
+
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
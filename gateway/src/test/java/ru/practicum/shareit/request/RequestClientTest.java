@@ -1,18 +1,21 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.RestTemplateTransport;
 import ru.practicum.shareit.request.dto.PostRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -23,18 +26,13 @@ class RequestClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @Mock
-    private RestTemplateBuilder builder;
-
     private RequestClient requestClient;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(builder.uriTemplateHandler(any())).thenReturn(builder);
-        when(builder.requestFactory(any(java.util.function.Supplier.class))).thenReturn(builder);
-        when(builder.build()).thenReturn(restTemplate);
-        requestClient = new RequestClient("http://localhost", builder);
+        requestClient = new RequestClient(apiPrefix -> new RestTemplateTransport(restTemplate),
+                new SimpleMeterRegistry());
     }
 
     @Test
@@ -61,18 +59,33 @@ class RequestClientTest {
     void findAllRequests_success() {
         RequestDto dto = new RequestDto(1L, "desc", 1L, null, null);
         List<RequestDto> expected = List.of(dto);
-        when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), any(org.springframework.core.ParameterizedTypeReference.class)))
+        when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), any(org.springframework.core.ParameterizedTypeReference.class), anyMap()))
                 .thenReturn(new ResponseEntity(expected, HttpStatus.OK));
-        List<RequestDto> result = requestClient.findAllRequests();
+        List<RequestDto> result = requestClient.findAllRequests(1L, 0, null, null).getBody();
         assertEquals(expected, result);
     }
 
+    @Test
+    void findAllRequests_withCursor_shouldSendPagingParametersAndKeepNextCursor() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "next");
+        when(restTemplate.exchange(eq("/all?from={from}&size={size}&cursor={cursor}"),
+                eq(org.springframework.http.HttpMethod.GET), any(),
+                any(org.springframework.core.ParameterizedTypeReference.class),
+                eq(Map.of("from", 0, "size", 5, "cursor", "abc"))))
+                .thenReturn(new ResponseEntity(List.of(), headers, HttpStatus.OK));
+
+        ResponseEntity<List<RequestDto>> result = requestClient.findAllRequests(1L, 0, 5, "abc");
+
+        assertEquals("next", result.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
     @Test
     void findRequestById_success() {
         RequestDto expected = new RequestDto(1L, "desc", 1L, null, null);
         when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), eq(RequestDto.class)))
                 .thenReturn(new ResponseEntity<>(expected, HttpStatus.OK));
-        RequestDto result = requestClient.findRequestById(1L);
+        RequestDto result = requestClient.findRequestById(1L).getBody();
         assertEquals(expected, result);
     }
 
@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.client.HttpStatusCodeException;
 import ru.practicum.shareit.request.dto.PostRequestDto;
@@ -98,15 +99,30 @@ public class RequestControllerImplTest {
 
     @Test
     void findAllRequests_shouldReturnOk() throws Exception {
-        when(requestClient.findAllRequests()).thenReturn(List.of(requestDto));
-        mockMvc.perform(get("/requests/all"))
+        when(requestClient.findAllRequests(anyLong(), anyInt(), any(), any()))
+                .thenReturn(ResponseEntity.ok(List.of(requestDto)));
+        mockMvc.perform(get("/requests/all").header("X-Sharer-User-Id", "1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    void findAllRequests_withoutHeader_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/requests/all"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findAllRequests_withNegativeFrom_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void findRequestById_whenValid_shouldReturnOk() throws Exception {
-        when(requestClient.findRequestById(anyLong())).thenReturn(requestDto);
+        when(requestClient.findRequestById(anyLong())).thenReturn(ResponseEntity.ok(requestDto));
         mockMvc.perform(get("/requests/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1));
@@ -1,14 +1,17 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.client.RestTemplateTransport;
 import ru.practicum.shareit.user.dto.PatchUserRequest;
 import ru.practicum.shareit.user.dto.PostUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -24,18 +27,12 @@ class UserClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @Mock
-    private RestTemplateBuilder builder;
-
     private UserClient userClient;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        when(builder.uriTemplateHandler(any())).thenReturn(builder);
-        when(builder.requestFactory(any(java.util.function.Supplier.class))).thenReturn(builder);
-        when(builder.build()).thenReturn(restTemplate);
-        userClient = new UserClient("http://localhost", builder);
+        userClient = new UserClient(apiPrefix -> new RestTemplateTransport(restTemplate), new SimpleMeterRegistry());
     }
 
     @Test
@@ -96,7 +93,7 @@ class UserClientTest {
         UserDto expected = new UserDto(1L, "name", "email");
         when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), eq(UserDto.class)))
                 .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).body(expected));
-        UserDto result = new UserClient("http://localhost", builder)
+        UserDto result = new UserClient(apiPrefix -> new RestTemplateTransport(restTemplate), new SimpleMeterRegistry())
                 .getUser(1L);
         assertEquals(expected, result);
     }
@@ -105,8 +102,19 @@ class UserClientTest {
     void getUser_non2xxWithoutBody_returnsNoBody() {
         when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), any(), eq(UserDto.class)))
                 .thenReturn(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
-        UserDto result = new UserClient("http://localhost", builder)
+        UserDto result = new UserClient(apiPrefix -> new RestTemplateTransport(restTemplate), new SimpleMeterRegistry())
                 .getUser(1L);
         assertNull(result);
     }
+
+    @Test
+    void createUsers_success() {
+        BatchResponse<UserDto> expected = new BatchResponse<>(1, 0,
+                List.of(new BatchResult<>(0, 201, new UserDto(1L, "name", "email"), null)));
+        when(restTemplate.exchange(endsWith("/batch"), eq(org.springframework.http.HttpMethod.POST), any(),
+                any(org.springframework.core.ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(expected, HttpStatus.OK));
+        BatchResponse<UserDto> result = userClient.createUsers(List.of(new PostUserRequest()));
+        assertEquals(expected, result);
+    }
 }
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exception.AccessForbiddenException;
+import ru.practicum.shareit.exception.ArgumentsNotValidException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Результаты пакетной операции по индексам исходного списка. Ошибки проверки отдельного элемента попадают в ответ
+// с тем же статусом, что вернул бы одиночный запрос; прочие исключения прерывают весь пакет.
+public class BatchCollector<T> {
+    public static final int MAX_SIZE = 1000;
+
+    private final List<BatchResult<T>> results;
+
+    public BatchCollector(int size) {
+        if (size > MAX_SIZE) {
+            throw new ArgumentsNotValidException("Пакет не может содержать больше " + MAX_SIZE + " элементов");
+        }
+
+        this.results = new ArrayList<>(Collections.nCopies(size, null));
+    }
+
+    public <V> Optional<V> check(int index, Supplier<V> validation) {
+        try {
+            return Optional.of(validation.get());
+        } catch (NotFoundException e) {
+            fail(index, HttpStatus.NOT_FOUND, e);
+        } catch (ValidationException e) {
+            fail(index, HttpStatus.CONFLICT, e);
+        } catch (AccessForbiddenException e) {
+            fail(index, HttpStatus.FORBIDDEN, e);
+        } catch (ArgumentsNotValidException e) {
+            fail(index, HttpStatus.BAD_REQUEST, e);
+        }
+
+        return Optional.empty();
+    }
+
+    // saved — результат saveAll в порядке значений pending.
+    public <E> void created(Map<Integer, E> pending, List<E> saved, Function<E, T> mapper) {
+        Iterator<E> entities = saved.iterator();
+
+        for (int index : pending.keySet()) {
+            results.set(index, new BatchResult<>(index, HttpStatus.CREATED.value(), mapper.apply(entities.next()),
+                    null));
+        }
+    }
+
+    public BatchResponse<T> toResponse() {
+        int created = (int) results.stream()
+                .filter(result -> result.getError() == null)
+                .count();
+
+        return new BatchResponse<>(created, results.size() - created, List.copyOf(results));
+    }
+
+    private void fail(int index, HttpStatus status, RuntimeException e) {
+        results.set(index, new BatchResult<>(index, status.value(), null, e.getMessage()));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult<T> {
+    private int index;
+    private int status;
+    private T result;
+    private String error;
+}
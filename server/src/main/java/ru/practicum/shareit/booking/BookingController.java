@@ -1,5 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
 import ru.practicum.shareit.booking.model.State;
@@ -10,11 +14,18 @@ public interface BookingController {
 
     BookingDto addBooking(long userId, PostBookingRequest request);
 
+    BatchResponse<BookingDto> addBookings(long userId, List<PostBookingRequest> requests);
+
     BookingDto considerBooking(long userId, long bookingId, boolean approved);
 
-    BookingDto getBooking(long userId, long bookingId);
+    ResponseEntity<BookingDto> getBooking(long userId, long bookingId, WebRequest request);
+
+    ResponseEntity<List<BookingDto>> getUserBookings(long userId, State state, int from, Integer size, String cursor);
+
+    ResponseEntity<List<BookingDto>> getOwnedItemsBookings(long userId, State state, int from, Integer size,
+                                                           String cursor);
 
-    List<BookingDto> getUserBookings(long userId, State state);
+    BookingCountsDto getUserBookingCounts(long userId);
 
-    List<BookingDto> getOwnedItemsBookings(long userId, State state);
+    BookingCountsDto getOwnedItemsBookingCounts(long userId);
 }
@@ -3,10 +3,16 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
+import ru.practicum.shareit.paging.KeysetCursor;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.paging.Paging;
 
 import java.util.List;
 
@@ -26,6 +32,16 @@ public class BookingControllerImpl implements BookingController {
         return bookingService.addBooking(userId, request);
     }
 
+    @Override
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchResponse<BookingDto> addBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody List<PostBookingRequest> requests) {
+        log.info("Запрос на пакетное бронирование от пользователя с userId {}. Бронирований: {}",
+                userId, requests.size());
+        return bookingService.addBookings(userId, requests);
+    }
+
     @Override
     @PatchMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
@@ -40,30 +56,68 @@ public class BookingControllerImpl implements BookingController {
 
     @Override
     @GetMapping("/{bookingId}")
-    @ResponseStatus(HttpStatus.OK)
-    public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                 @PathVariable long bookingId) {
+    public ResponseEntity<BookingDto> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @PathVariable long bookingId,
+                                                 WebRequest request) {
         log.info("Запрос на получение информации о бронировании с bookingId: {} пользователем с userId: {}.",
                 bookingId, userId);
-        return bookingService.getBooking(userId, bookingId);
+        String etag = bookingService.getBookingETag(userId, bookingId);
+
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(bookingService.getBooking(userId, bookingId));
     }
 
     @Override
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                            @RequestParam(defaultValue = "ALL") State state) {
-        log.info("Запрос на получение всех бронирований пользователя userId: {} со статусом {}.", userId, state);
-        return bookingService.getUserBookings(userId, state);
+    public ResponseEntity<List<BookingDto>> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @RequestParam(defaultValue = "ALL") State state,
+                                                            @RequestParam(defaultValue = "0") int from,
+                                                            @RequestParam(required = false) Integer size,
+                                                            @RequestParam(required = false) String cursor) {
+        log.info("Запрос на получение всех бронирований пользователя userId: {} со статусом {}. " +
+                "From: {}, size: {}, cursor: {}", userId, state, from, size, cursor);
+        return toPage(bookingService.getUserBookings(userId, state, from, size, cursor), size);
     }
 
     @Override
     @GetMapping("/owner")
+    public ResponseEntity<List<BookingDto>> getOwnedItemsBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                  @RequestParam(defaultValue = "ALL") State state,
+                                                                  @RequestParam(defaultValue = "0") int from,
+                                                                  @RequestParam(required = false) Integer size,
+                                                                  @RequestParam(required = false) String cursor) {
+        log.info("Запрос на получение списка бронирований со статусом {} по предметам пользователя с userId {}. " +
+                "From: {}, size: {}, cursor: {}", state, userId, from, size, cursor);
+        return toPage(bookingService.getOwnedItemsBookings(userId, state, from, size, cursor), size);
+    }
+
+    @Override
+    @GetMapping("/counts")
+    @ResponseStatus(HttpStatus.OK)
+    public BookingCountsDto getUserBookingCounts(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Запрос на получение числа бронирований пользователя userId: {} по статусам", userId);
+        return bookingService.getUserBookingCounts(userId);
+    }
+
+    @Override
+    @GetMapping("/owner/counts")
     @ResponseStatus(HttpStatus.OK)
-    public List<BookingDto> getOwnedItemsBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(defaultValue = "ALL") State state) {
-        log.info("Запрос на получение списка бронирований со статусом {} по предметам пользователя с userId {}.",
-                state, userId);
-        return bookingService.getOwnedItemsBookings(userId, state);
+    public BookingCountsDto getOwnedItemsBookingCounts(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Запрос на получение числа бронирований по предметам пользователя с userId {} по статусам", userId);
+        return bookingService.getOwnedItemsBookingCounts(userId);
+    }
+
+    private ResponseEntity<List<BookingDto>> toPage(List<BookingDto> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (size != null && !bookings.isEmpty() && bookings.size() == size) {
+            BookingDto last = bookings.getLast();
+            response.header(Paging.NEXT_CURSOR_HEADER, KeysetCursor.after(last.getStart(), last.getId()).encode());
+        }
+
+        return response.body(bookings);
     }
 }
@@ -1,71 +1,265 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingVersion;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.BookedPeriod;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(long userId);
+    // owner_id и booker_id берутся из внешних ключей, пользователи не загружаются.
+    @Query("SELECT new ru.practicum.shareit.booking.model.BookingVersion(b.id, b.version, i.version, r.version, " +
+            "i.owner.id, b.booker.id) " +
+            "FROM Booking b JOIN b.item i LEFT JOIN i.request r WHERE b.id = :bookingId")
+    Optional<BookingVersion> findVersionById(@Param("bookingId") long bookingId);
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(long ownerId);
+    // Арендатор входит в ответ по бронированию; владелец — через вещь, чья версия тоже есть в ETag.
+    @Modifying
+    @Query("UPDATE Booking b SET b.version = b.version + 1 WHERE b.booker.id = :bookerId")
+    void incrementVersionsByBookerId(@Param("bookerId") long bookerId);
 
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :userId " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
+    List<Booking> findAllByBookerId(@Param("userId") long userId,
+                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                    @Param("cursorId") long cursorId,
+                                    Pageable pageable);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
+    List<Booking> findAllByOwnerId(@Param("ownerId") long ownerId,
+                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                   @Param("cursorId") long cursorId,
+                                   Pageable pageable);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :userId " +
             "AND b.start <= :currentTime " +
             "AND b.end >= :currentTime " +
-            "ORDER BY b.start DESC ")
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
     List<Booking> findCurrentByBookerId(@Param("userId") long userId,
-                                        @Param("currentTime") LocalDateTime currentTime);
+                                        @Param("currentTime") LocalDateTime currentTime,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") long cursorId,
+                                        Pageable pageable);
 
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) " +
             "AND b.start <= :currentTime " +
             "AND b.end >= :currentTime " +
-            "ORDER BY b.start DESC ")
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
     List<Booking> findCurrentByOwnerId(@Param("ownerId") long ownerId,
-                                       @Param("currentTime") LocalDateTime currentTime);
+                                       @Param("currentTime") LocalDateTime currentTime,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") long cursorId,
+                                       Pageable pageable);
 
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :userId " +
             "AND b.end < :currentTime " +
-            "ORDER BY b.start DESC ")
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
     List<Booking> findPastByBookerId(@Param("userId") long userId,
-                                     @Param("currentTime") LocalDateTime currentTime);
+                                     @Param("currentTime") LocalDateTime currentTime,
+                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                     @Param("cursorId") long cursorId,
+                                     Pageable pageable);
 
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) " +
             "AND b.end < :currentTime " +
-            "ORDER BY b.start DESC ")
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
     List<Booking> findPastByOwnerId(@Param("ownerId") long ownerId,
-                                    @Param("currentTime") LocalDateTime currentTime);
+                                    @Param("currentTime") LocalDateTime currentTime,
+                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                    @Param("cursorId") long cursorId,
+                                    Pageable pageable);
 
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :userId " +
             "AND b.start > :currentTime " +
-            "ORDER BY b.start DESC ")
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
     List<Booking> findFutureByBookerId(@Param("userId") long userId,
-                                       @Param("currentTime") LocalDateTime currentTime);
+                                       @Param("currentTime") LocalDateTime currentTime,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") long cursorId,
+                                       Pageable pageable);
 
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) " +
             "AND b.start > :currentTime " +
-            "ORDER BY b.start DESC ")
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
     List<Booking> findFutureByOwnerId(@Param("ownerId") long ownerId,
-                                      @Param("currentTime") LocalDateTime currentTime);
+                                      @Param("currentTime") LocalDateTime currentTime,
+                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                      @Param("cursorId") long cursorId,
+                                      Pageable pageable);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :userId " +
+            "AND b.status = :status " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
+    List<Booking> findAllByBookerIdAndStatus(@Param("userId") long userId,
+                                             @Param("status") Status status,
+                                             @Param("cursorStart") LocalDateTime cursorStart,
+                                             @Param("cursorId") long cursorId,
+                                             Pageable pageable);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) " +
+            "AND b.status = :status " +
+            "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) " +
+            "ORDER BY b.start DESC, b.id DESC ")
+    List<Booking> findAllByOwnerIdAndStatus(@Param("ownerId") long ownerId,
+                                            @Param("status") Status status,
+                                            @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") long cursorId,
+                                            Pageable pageable);
+
+    // Счетчики для всех State одним запросом. Границы CURRENT/PAST/FUTURE те же, что в findCurrentByBookerId,
+    // findPastByBookerId и findFutureByBookerId.
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingCountsDto(" +
+            "COUNT(b), " +
+            "COALESCE(SUM(CASE WHEN b.start <= :currentTime AND b.end >= :currentTime THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN b.end < :currentTime THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN b.start > :currentTime THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN b.status = ru.practicum.shareit.booking.model.Status.WAITING " +
+            "THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN b.status = ru.practicum.shareit.booking.model.Status.REJECTED " +
+            "THEN 1L ELSE 0L END), 0L)) " +
+            "FROM Booking b " +
+            "WHERE b.booker.id = :userId ")
+    BookingCountsDto countByBookerId(@Param("userId") long userId,
+                                     @Param("currentTime") LocalDateTime currentTime);
+
+    // Границы CURRENT/PAST/FUTURE те же, что в findCurrentByOwnerId, findPastByOwnerId и findFutureByOwnerId.
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingCountsDto(" +
+            "COUNT(b), " +
+            "COALESCE(SUM(CASE WHEN b.start <= :currentTime AND b.end >= :currentTime THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN b.end < :currentTime THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN b.start > :currentTime THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN b.status = ru.practicum.shareit.booking.model.Status.WAITING " +
+            "THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN b.status = ru.practicum.shareit.booking.model.Status.REJECTED " +
+            "THEN 1L ELSE 0L END), 0L)) " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) ")
+    BookingCountsDto countByOwnerId(@Param("ownerId") long ownerId,
+                                    @Param("currentTime") LocalDateTime currentTime);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = :status " +
+            "AND b.end = (SELECT MAX(p.end) FROM Booking p " +
+            "WHERE p.item.id = b.item.id " +
+            "AND p.status = :status " +
+            "AND p.end < :currentTime) ")
+    List<Booking> findLastByItemIdIn(@Param("itemIds") List<Long> itemIds,
+                                     @Param("status") Status status,
+                                     @Param("currentTime") LocalDateTime currentTime);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = :status " +
+            "AND b.start = (SELECT MIN(n.start) FROM Booking n " +
+            "WHERE n.item.id = b.item.id " +
+            "AND n.status = :status " +
+            "AND n.start > :currentTime) ")
+    List<Booking> findNextByItemIdIn(@Param("itemIds") List<Long> itemIds,
+                                     @Param("status") Status status,
+                                     @Param("currentTime") LocalDateTime currentTime);
 
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long userId, Status status);
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status IN :statuses " +
+            "AND b.start < :periodEnd " +
+            "AND b.end > :periodStart ")
+    List<Booking> findAllByItemIdInOverlapping(@Param("itemIds") Collection<Long> itemIds,
+                                               @Param("statuses") Collection<Status> statuses,
+                                               @Param("periodStart") LocalDateTime periodStart,
+                                               @Param("periodEnd") LocalDateTime periodEnd);
 
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, Status status);
+    // Антисоединение по кандидатам поиска: вещи из itemIds без подтвержденного бронирования, пересекающего период.
+    @Query("SELECT i.id FROM Item i " +
+            "WHERE i.id IN :itemIds " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b " +
+            "WHERE b.item.id = i.id " +
+            "AND b.status = ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "AND b.end > :periodStart " +
+            "AND b.start < :periodEnd)")
+    Set<Long> findItemIdsWithoutApprovedOverlap(@Param("itemIds") Collection<Long> itemIds,
+                                                @Param("periodStart") LocalDateTime periodStart,
+                                                @Param("periodEnd") LocalDateTime periodEnd);
 
-    List<Booking> findAllByItemIdIn(List<Long> itemIds);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new ru.practicum.shareit.booking.timeline.BookedPeriod(b.item.id, b.id, b.start, b.end, b.status) " +
+            "FROM Booking b " +
+            "WHERE b.status IN :statuses " +
+            "AND b.end > :currentTime ")
+    Stream<BookedPeriod> streamAllByStatusInAndEndAfter(@Param("statuses") Collection<Status> statuses,
+                                                        @Param("currentTime") LocalDateTime currentTime);
 
-    Optional<Booking> findFirstByItemIdAndBookerIdAndStatusAndEndBefore(long itemId, long authorId,
-                                                                        Status status, LocalDateTime currentTime);
-}
\ No newline at end of file
+    // Производный запрос по itemId соединял items и фильтровал по items.id, из-за чего индексы по
+    // bookings.item_id не использовались; здесь условие стоит на внешнем ключе самого бронирования.
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status IN :statuses " +
+            "AND b.start < :end " +
+            "ORDER BY b.start DESC " +
+            "LIMIT 1")
+    Optional<Booking> findFirstByItemIdAndStatusInAndStartBeforeOrderByStartDesc(@Param("itemId") long itemId,
+                                                                               @Param("statuses")
+                                                                               Collection<Status> statuses,
+                                                                               @Param("end") LocalDateTime end);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.booker.id = :authorId " +
+            "AND b.status = :status " +
+            "AND b.end < :currentTime " +
+            "ORDER BY b.end DESC " +
+            "LIMIT 1")
+    Optional<Booking> findFirstByItemIdAndBookerIdAndStatusAndEndBefore(@Param("itemId") long itemId,
+                                                                        @Param("authorId") long authorId,
+                                                                        @Param("status") Status status,
+                                                                        @Param("currentTime")
+                                                                        LocalDateTime currentTime);
+}
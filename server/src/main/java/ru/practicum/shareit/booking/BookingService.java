@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
 import ru.practicum.shareit.booking.model.State;
@@ -10,11 +12,21 @@ public interface BookingService {
 
     BookingDto addBooking(long userId, PostBookingRequest request);
 
+    BatchResponse<BookingDto> addBookings(long userId, List<PostBookingRequest> requests);
+
     BookingDto considerBooking(Long bookingId, long userId, boolean approved);
 
     BookingDto getBooking(long userId, long bookingId);
 
-    List<BookingDto> getUserBookings(long userId, State state);
+    String getBookingETag(long userId, long bookingId);
+
+    List<BookingDto> getUserBookings(long userId, State state, int from, Integer size, String cursor);
+
+    List<BookingDto> getOwnedItemsBookings(long userId, State state, int from, Integer size, String cursor);
+
+    BookingCountsDto getUserBookingCounts(long userId);
+
+    BookingCountsDto getOwnedItemsBookingCounts(long userId);
 
-    List<BookingDto> getOwnedItemsBookings(long userId, State state);
+    void refreshBookerBookings(long bookerId);
 }
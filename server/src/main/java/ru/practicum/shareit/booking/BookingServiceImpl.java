@@ -2,24 +2,47 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.batch.BatchCollector;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.paging.KeysetCursor;
+import ru.practicum.shareit.booking.model.BookingVersion;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.AvailabilityTimeline;
 import ru.practicum.shareit.exception.AccessForbiddenException;
 import ru.practicum.shareit.exception.ArgumentsNotValidException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.paging.Paging;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,48 +50,128 @@ import java.util.stream.Collectors;
 @Slf4j
 @Transactional
 public class BookingServiceImpl implements BookingService {
+    private static final String NO_OVERLAP_CONSTRAINT = "bookings_no_overlap";
+    private static final String EXCLUSION_VIOLATION_STATE = "23P01";
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final AvailabilityTimeline availabilityTimeline;
+    private final ResultLog resultLog;
 
     @Override
     public BookingDto addBooking(long userId, PostBookingRequest request) {
         long itemId = request.getItemId();
-        Item item = getItem(itemId);
-        User owner = item.getOwner();
+        Item item = getItemForUpdate(itemId);
         User booker = getUser(userId);
-
-        if (owner.equals(booker)) {
-            throw new ValidationException("Не допускается бронирование вещи ее хозяином с userId " + userId);
-        }
-
-        if (!item.isAvailable()) {
-            throw new ArgumentsNotValidException("В настоящий момент вещь с itemId " + itemId + " не доступна");
-        }
-
         LocalDateTime start = request.getStart();
         LocalDateTime end = request.getEnd();
 
-        if (start.isAfter(end)
-                || start.isEqual(end)
-                || start.isBefore(LocalDateTime.now())
-                || end.isBefore(LocalDateTime.now())) {
-            throw new ArgumentsNotValidException("Некорректные даты бронирования. Start: " + start + " End: " + end);
-        }
+        validateBooking(item, booker, start, end);
+        validateNoOverlap(itemId, start, end);
 
         Booking booking = bookingMapper.mapToBooking(request);
         booking.setItem(item);
         booking.setBooker(booker);
         booking.setStatus(Status.WAITING);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            // id берется из последовательности, поэтому без flush вставка ушла бы в коммит, мимо этого catch.
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+
+            throw overlapException(itemId, start, end);
+        }
+        addToTimeline(savedBooking);
         BookingDto result = bookingMapper.mapToBookingDto(savedBooking);
-        log.info("Бронирование сохранено: {}", result);
+        log.info("Бронирование {} вещи {} сохранено", result.getId(), itemId);
 
         return result;
     }
 
+    @Override
+    public BatchResponse<BookingDto> addBookings(long userId, List<PostBookingRequest> requests) {
+        BatchCollector<BookingDto> batch = new BatchCollector<>(requests.size());
+        User booker = getUser(userId);
+        List<PostBookingRequest> present = requests.stream()
+                .filter(Objects::nonNull)
+                .toList();
+        Set<Long> itemIds = present.stream()
+                .map(PostBookingRequest::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemIds.isEmpty() ? Map.of() : itemRepository.findAllByIdInForUpdate(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        // Активные бронирования вещей пакета за весь его период; принятые элементы добавляются сюда же,
+        // чтобы пересечения внутри пакета ловились той же проверкой.
+        Map<Long, List<Booking>> itemBookings = findActiveBookings(items.keySet(), present);
+        Map<Integer, Booking> pending = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            PostBookingRequest request = requests.get(i);
+
+            batch.check(index, () -> {
+                if (request == null) {
+                    throw new ArgumentsNotValidException("Элемент пакета с индексом " + index + " не задан");
+                }
+
+                Long itemId = request.getItemId();
+                Item item = itemId != null ? items.get(itemId) : null;
+
+                if (item == null) {
+                    throw new NotFoundException("Предмет с itemId " + itemId + " не был найден");
+                }
+
+                LocalDateTime start = request.getStart();
+                LocalDateTime end = request.getEnd();
+                validateBooking(item, booker, start, end);
+                List<Booking> active = itemBookings.computeIfAbsent(itemId, id -> new ArrayList<>());
+
+                boolean overlaps = active.stream()
+                        .anyMatch(other -> other.getStart().isBefore(end) && other.getEnd().isAfter(start));
+
+                if (overlaps) {
+                    throw overlapException(itemId, start, end);
+                }
+
+                Booking booking = bookingMapper.mapToBooking(request);
+                booking.setItem(item);
+                booking.setBooker(booker);
+                booking.setStatus(Status.WAITING);
+                active.add(booking);
+
+                return booking;
+            }).ifPresent(booking -> pending.put(index, booking));
+        }
+
+        List<Booking> savedBookings;
+        try {
+            savedBookings = bookingRepository.saveAllAndFlush(pending.values());
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+
+            throw new ValidationException("Бронирования пакета пересекаются с уже существующими бронированиями");
+        }
+
+        savedBookings.forEach(this::addToTimeline);
+
+        batch.created(pending, savedBookings, bookingMapper::mapToBookingDto);
+        BatchResponse<BookingDto> response = batch.toResponse();
+        log.info("Пакет бронирований пользователя {} обработан: создано {}, ошибок {}", userId,
+                response.getCreated(), response.getFailed());
+
+        return response;
+    }
+
     @Override
     public BookingDto considerBooking(Long userId, long bookingId, boolean approved) {
 
@@ -88,8 +191,9 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Booking savedBooking = bookingRepository.save(booking);
+        updateTimelineAfterCommit(savedBooking);
         BookingDto result = bookingMapper.mapToBookingDto(savedBooking);
-        log.info("Статус бронирования изменен: {}", result);
+        log.info("Статус бронирования {} изменен на {}", bookingId, savedBooking.getStatus());
 
         return result;
     }
@@ -99,53 +203,62 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto getBooking(long userId, long bookingId) {
         validateUser(userId);
         Booking booking = getBooking(bookingId);
-        long ownerId = booking.getItem().getOwner().getId();
-        long bookerId = booking.getBooker().getId();
-
-        if (userId != ownerId && userId != bookerId) {
-            throw new ValidationException("Доступ к бронированию " + bookingId +
-                    " разрешен только владельцу или пользователю, оставившему бронирование");
-        }
+        validateAccess(userId, bookingId, booking.getItem().getOwner().getId(), booking.getBooker().getId());
 
         BookingDto result = bookingMapper.mapToBookingDto(booking);
-        log.info("Получен результат: {}", result);
+        log.info("Получено бронирование {}", bookingId);
 
         return result;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDto> getUserBookings(long userId, State state) {
+    public String getBookingETag(long userId, long bookingId) {
+        validateUser(userId);
+        BookingVersion version = bookingRepository.findVersionById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование с bookingId " + bookingId +
+                        " не было обнаружено"));
+        // Ответ 304 тоже раскрывает существование бронирования, поэтому доступ проверяется так же, как в getBooking.
+        validateAccess(userId, bookingId, version.ownerId(), version.bookerId());
+
+        return version.etag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getUserBookings(long userId, State state, int from, Integer size, String cursor) {
         validateUser(userId);
-        Status status = Status.APPROVED;
+        KeysetCursor seek = KeysetCursor.decode(cursor);
+        LocalDateTime cursorStart = seek.getPosition();
+        long cursorId = seek.getId();
+        Pageable page = Paging.toPageable(from, size, cursor);
 
         List<Booking> userBookings = switch (state) {
-            case ALL -> bookingRepository.findAllByBookerIdOrderByStartDesc(userId);
-            case CURRENT -> bookingRepository.findCurrentByBookerId(userId, LocalDateTime.now());
-            case PAST -> bookingRepository.findPastByBookerId(userId, LocalDateTime.now());
-            case FUTURE -> bookingRepository.findFutureByBookerId(userId, LocalDateTime.now());
-            case WAITING -> {
-                status = Status.WAITING;
-                yield bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, status);
-            }
-            case REJECTED -> {
-                status = Status.REJECTED;
-                yield bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, status);
-            }
+            case ALL -> bookingRepository.findAllByBookerId(userId, cursorStart, cursorId, page);
+            case CURRENT -> bookingRepository.findCurrentByBookerId(userId, LocalDateTime.now(),
+                    cursorStart, cursorId, page);
+            case PAST -> bookingRepository.findPastByBookerId(userId, LocalDateTime.now(),
+                    cursorStart, cursorId, page);
+            case FUTURE -> bookingRepository.findFutureByBookerId(userId, LocalDateTime.now(),
+                    cursorStart, cursorId, page);
+            case WAITING -> bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING,
+                    cursorStart, cursorId, page);
+            case REJECTED -> bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED,
+                    cursorStart, cursorId, page);
         };
 
         List<BookingDto> result = userBookings
                 .stream()
                 .map(bookingMapper::mapToBookingDto)
                 .collect(Collectors.toList());
-        log.info("Получен результат: {}", result);
+        resultLog.info(log, result, BookingDto::getId, "Получены бронирования пользователя {}: {}", userId);
 
         return result;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDto> getOwnedItemsBookings(long userId, State state) {
+    public List<BookingDto> getOwnedItemsBookings(long userId, State state, int from, Integer size, String cursor) {
         validateUser(userId);
         List<Item> userItems = itemRepository.findAllByOwnerId(userId);
 
@@ -153,42 +266,179 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Предметы, размещенные пользователем с userId " + userId + ", не найдены");
         }
 
-        Status status = Status.APPROVED;
+        KeysetCursor seek = KeysetCursor.decode(cursor);
+        LocalDateTime cursorStart = seek.getPosition();
+        long cursorId = seek.getId();
+        Pageable page = Paging.toPageable(from, size, cursor);
 
         List<Booking> userBookings = switch (state) {
-            case ALL -> bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId);
-            case CURRENT -> bookingRepository.findCurrentByOwnerId(userId, LocalDateTime.now());
-            case PAST -> bookingRepository.findPastByOwnerId(userId, LocalDateTime.now());
-            case FUTURE -> bookingRepository.findFutureByOwnerId(userId, LocalDateTime.now());
-            case WAITING -> {
-                status = Status.WAITING;
-                yield bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, status);
-            }
-            case REJECTED -> {
-                status = Status.REJECTED;
-                yield bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, status);
-            }
+            case ALL -> bookingRepository.findAllByOwnerId(userId, cursorStart, cursorId, page);
+            case CURRENT -> bookingRepository.findCurrentByOwnerId(userId, LocalDateTime.now(),
+                    cursorStart, cursorId, page);
+            case PAST -> bookingRepository.findPastByOwnerId(userId, LocalDateTime.now(),
+                    cursorStart, cursorId, page);
+            case FUTURE -> bookingRepository.findFutureByOwnerId(userId, LocalDateTime.now(),
+                    cursorStart, cursorId, page);
+            case WAITING -> bookingRepository.findAllByOwnerIdAndStatus(userId, Status.WAITING,
+                    cursorStart, cursorId, page);
+            case REJECTED -> bookingRepository.findAllByOwnerIdAndStatus(userId, Status.REJECTED,
+                    cursorStart, cursorId, page);
         };
 
         List<BookingDto> result = userBookings
                 .stream()
                 .map(bookingMapper::mapToBookingDto)
                 .collect(Collectors.toList());
-        log.info("Получен результат: {}", result);
+        resultLog.info(log, result, BookingDto::getId, "Получены бронирования вещей владельца {}: {}", userId);
+
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingCountsDto getUserBookingCounts(long userId) {
+        validateUser(userId);
+        BookingCountsDto result = bookingRepository.countByBookerId(userId, LocalDateTime.now());
+        log.info("Получено число бронирований пользователя {}: {}", userId, result);
 
         return result;
     }
 
+    // В отличие от getOwnedItemsBookings владелец без вещей получает нулевые счетчики, а не 404.
+    @Override
+    @Transactional(readOnly = true)
+    public BookingCountsDto getOwnedItemsBookingCounts(long userId) {
+        validateUser(userId);
+        BookingCountsDto result = bookingRepository.countByOwnerId(userId, LocalDateTime.now());
+        log.info("Получено число бронирований вещей владельца {}: {}", userId, result);
+
+        return result;
+    }
+
+    @Override
+    public void refreshBookerBookings(long bookerId) {
+        bookingRepository.incrementVersionsByBookerId(bookerId);
+    }
+
     private User getUser(long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с userId " + userId + " не был найден"));
     }
 
-    private Item getItem(long itemId) {
-        return itemRepository.findById(itemId)
+    private Item getItemForUpdate(long itemId) {
+        return itemRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() -> new NotFoundException("Предмет с itemId " + itemId + " не был найден"));
     }
 
+    private void validateBooking(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        if (item.getOwner().equals(booker)) {
+            throw new ValidationException("Не допускается бронирование вещи ее хозяином с userId " + booker.getId());
+        }
+
+        if (!item.isAvailable()) {
+            throw new ArgumentsNotValidException("В настоящий момент вещь с itemId " + item.getId() +
+                    " не доступна");
+        }
+
+        if (start == null
+                || end == null
+                || start.isAfter(end)
+                || start.isEqual(end)
+                || start.isBefore(LocalDateTime.now())
+                || end.isBefore(LocalDateTime.now())) {
+            throw new ArgumentsNotValidException("Некорректные даты бронирования. Start: " + start + " End: " + end);
+        }
+    }
+
+    private Map<Long, List<Booking>> findActiveBookings(Set<Long> itemIds, List<PostBookingRequest> requests) {
+        Optional<LocalDateTime> periodStart = requests.stream()
+                .map(PostBookingRequest::getStart)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder());
+        Optional<LocalDateTime> periodEnd = requests.stream()
+                .map(PostBookingRequest::getEnd)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder());
+
+        if (itemIds.isEmpty() || periodStart.isEmpty() || periodEnd.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        return bookingRepository.findAllByItemIdInOverlapping(itemIds, AvailabilityTimeline.ACTIVE_STATUSES,
+                        periodStart.get(), periodEnd.get())
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), HashMap::new,
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
+    private void validateNoOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!availabilityTimeline.isFree(itemId, start, end)) {
+            throw overlapException(itemId, start, end);
+        }
+    }
+
+    // Новое бронирование попадает в занятость сразу, пока вещь заблокирована, чтобы следующий запрос на нее
+    // его увидел. При откате транзакции оно убирается.
+    private void addToTimeline(Booking booking) {
+        availabilityTimeline.update(booking);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        availabilityTimeline.remove(booking);
+                    }
+                }
+            });
+        }
+    }
+
+    // Смена статуса применяется после коммита: до него отклоненное бронирование еще занимает период в базе.
+    private void updateTimelineAfterCommit(Booking booking) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            availabilityTimeline.update(booking);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                availabilityTimeline.update(booking);
+            }
+        });
+    }
+
+    // Ограничение bookings_no_overlap есть только в PostgreSQL и нарушается с SQLState 23P01 (exclusion_violation).
+    // Hibernate достает имя ограничения не для всех кодов, поэтому проверяются и имя, и SQLState по цепочке причин.
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && NO_OVERLAP_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private ValidationException overlapException(long itemId, LocalDateTime start, LocalDateTime end) {
+        return new ValidationException("Вещь с itemId " + itemId + " уже забронирована на период. Start: " +
+                start + " End: " + end);
+    }
+
+    private static void validateAccess(long userId, long bookingId, long ownerId, long bookerId) {
+        if (userId != ownerId && userId != bookerId) {
+            throw new ValidationException("Доступ к бронированию " + bookingId +
+                    " разрешен только владельцу или пользователю, оставившему бронирование");
+        }
+    }
+
     private Booking getBooking(long bookingId) {
         return bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование с bookingId " + bookingId +
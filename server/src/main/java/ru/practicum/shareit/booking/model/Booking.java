@@ -8,17 +8,33 @@ import ru.practicum.shareit.user.model.User;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_booker_start", columnList = "booker_id, start_time DESC"),
+        @Index(name = "idx_bookings_item_start", columnList = "item_id, start_time"),
+        @Index(name = "idx_bookings_item_booker_status_end", columnList = "item_id, booker_id, status, end_time"),
+        @Index(name = "idx_bookings_status_booker", columnList = "status, booker_id"),
+        @Index(name = "idx_bookings_item_status_end", columnList = "item_id, status, end_time")
+})
+@NamedEntityGraph(name = Booking.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = {
+                @NamedAttributeNode("owner"),
+                @NamedAttributeNode("request")
+        }))
 @Getter
 @Setter
 @ToString(exclude = {"item", "booker"})
 @EqualsAndHashCode(exclude = {"item", "booker"})
-@AllArgsConstructor
 @NoArgsConstructor
 public class Booking {
+    public static final String DETAILS_GRAPH = "Booking.details";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_time", nullable = false)
@@ -38,4 +54,18 @@ public class Booking {
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private Status status;
+
+    // Версия для ETag; меняется и при подтверждении или отклонении.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    public Booking(Long id, LocalDateTime start, LocalDateTime end, Item item, User booker, Status status) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.item = item;
+        this.booker = booker;
+        this.status = status;
+    }
 }
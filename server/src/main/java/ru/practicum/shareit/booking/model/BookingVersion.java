@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.model;
+
+// Версии бронирования, его вещи и запроса вещи вместе с участниками: для проверки доступа при условном GET.
+public record BookingVersion(long bookingId, long version, long itemVersion, Long requestVersion, long ownerId,
+                             long bookerId) {
+
+    public String etag() {
+        return "booking-" + bookingId + "-" + version + "-" + itemVersion + "-" +
+                (requestVersion != null ? requestVersion : 0);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.timeline;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Занятость вещей активными бронированиями. Периоды [start, end) пересекаются, если один начинается раньше,
+// чем кончается другой; бронирования, стыкующиеся по границе, не мешают друг другу.
+public interface AvailabilityTimeline {
+    Set<Status> ACTIVE_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+
+    boolean isFree(long itemId, LocalDateTime from, LocalDateTime to);
+
+    // Активные бронирования вещи, пересекающиеся с [from, to), по возрастанию начала.
+    List<BookedPeriod> booked(long itemId, LocalDateTime from, LocalDateTime to);
+
+    // Вещи из itemIds без подтвержденных бронирований, пересекающихся с [from, to).
+    Set<Long> withoutApproved(Collection<Long> itemIds, LocalDateTime from, LocalDateTime to);
+
+    // Вызывается после сохранения бронирования или смены его статуса.
+    default void update(Booking booking) {
+    }
+
+    default void remove(Booking booking) {
+    }
+}
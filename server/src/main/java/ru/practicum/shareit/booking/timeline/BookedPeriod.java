@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.timeline;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+public record BookedPeriod(long itemId, long bookingId, LocalDateTime start, LocalDateTime end, Status status) {
+
+    public static BookedPeriod of(Booking booking) {
+        return new BookedPeriod(booking.getItem().getId(), booking.getId(), booking.getStart(), booking.getEnd(),
+                booking.getStatus());
+    }
+
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return start.isBefore(to) && end.isAfter(from);
+    }
+}
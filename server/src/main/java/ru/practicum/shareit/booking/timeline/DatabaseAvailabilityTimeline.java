@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.timeline;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "shareit.availability.backend", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseAvailabilityTimeline implements AvailabilityTimeline {
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public boolean isFree(long itemId, LocalDateTime from, LocalDateTime to) {
+        // Активные бронирования вещи не пересекаются, поэтому достаточно проверить ближайшее начавшееся до to.
+        return bookingRepository
+                .findFirstByItemIdAndStatusInAndStartBeforeOrderByStartDesc(itemId, ACTIVE_STATUSES, to)
+                .filter(previous -> previous.getEnd().isAfter(from))
+                .isEmpty();
+    }
+
+    @Override
+    public List<BookedPeriod> booked(long itemId, LocalDateTime from, LocalDateTime to) {
+        return bookingRepository.findAllByItemIdInOverlapping(List.of(itemId), ACTIVE_STATUSES, from, to)
+                .stream()
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId))
+                .map(booking -> new BookedPeriod(itemId, booking.getId(), booking.getStart(), booking.getEnd(),
+                        booking.getStatus()))
+                .toList();
+    }
+
+    @Override
+    public Set<Long> withoutApproved(Collection<Long> itemIds, LocalDateTime from, LocalDateTime to) {
+        if (itemIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return bookingRepository.findItemIdsWithoutApprovedOverlap(itemIds, from, to);
+    }
+}
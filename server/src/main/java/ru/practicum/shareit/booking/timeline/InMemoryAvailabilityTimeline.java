@@ -0,0 +1,312 @@
+package ru.practicum.shareit.booking.timeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Активные бронирования каждой вещи в отсортированном по началу множестве. Хранятся только незакончившиеся
+// периоды: новые бронирования начинаются в будущем, а прошлое для проверки не нужно. Пока индекс не построен,
+// запросы идут в базу.
+@Component
+@ConditionalOnProperty(name = "shareit.availability.backend", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryAvailabilityTimeline implements AvailabilityTimeline {
+    static final Duration SWEEP_INTERVAL = Duration.ofHours(1);
+
+    private final BookingRepository bookingRepository;
+    private final DatabaseAvailabilityTimeline database;
+    // Изменения применяются под read-блокировкой, подмена индекса после перестроения — под write: изменение
+    // попадает либо в старый индекс до подмены вместе с очередью pending, либо уже в новый.
+    private final ReadWriteLock swap = new ReentrantReadWriteLock();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private volatile Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+    // Изменения, пришедшие во время перестроения: их нет в прочитанном из базы снимке, и после него они
+    // применяются к новому индексу по порядку.
+    private Queue<Consumer<Map<Long, ItemTimeline>>> pending;
+    private volatile boolean ready;
+
+    public InMemoryAvailabilityTimeline(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+        this.database = new DatabaseAvailabilityTimeline(bookingRepository);
+    }
+
+    // Новый индекс строится в стороне; до подмены запросы обслуживает старый, а до первой сборки — база.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Queue<Consumer<Map<Long, ItemTimeline>>> changes = new ConcurrentLinkedQueue<>();
+        withLock(swap.writeLock(), () -> pending = changes);
+
+        Map<Long, ItemTimeline> rebuilt = new ConcurrentHashMap<>();
+        AtomicLong periods = new AtomicLong();
+
+        try (Stream<BookedPeriod> active = bookingRepository.streamAllByStatusInAndEndAfter(ACTIVE_STATUSES,
+                LocalDateTime.now())) {
+            active.forEach(period -> {
+                put(rebuilt, period);
+                periods.incrementAndGet();
+            });
+        } catch (RuntimeException e) {
+            withLock(swap.writeLock(), () -> pending = null);
+            throw e;
+        }
+
+        withLock(swap.writeLock(), () -> {
+            changes.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            timelines = rebuilt;
+            ready = true;
+        });
+        log.info("Занятость вещей построена: {} вещей, {} бронирований, изменений во время сборки {}",
+                rebuilt.size(), periods.get(), changes.size());
+    }
+
+    @Override
+    public boolean isFree(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!ready) {
+            return database.isFree(itemId, from, to);
+        }
+
+        ItemTimeline timeline = timelines.get(itemId);
+        return timeline == null || timeline.isFree(from, to);
+    }
+
+    @Override
+    public List<BookedPeriod> booked(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!ready) {
+            return database.booked(itemId, from, to);
+        }
+
+        ItemTimeline timeline = timelines.get(itemId);
+        return timeline == null ? List.of() : timeline.booked(from, to);
+    }
+
+    @Override
+    public Set<Long> withoutApproved(Collection<Long> itemIds, LocalDateTime from, LocalDateTime to) {
+        if (!ready) {
+            return database.withoutApproved(itemIds, from, to);
+        }
+
+        return itemIds.stream()
+                .filter(itemId -> booked(itemId, from, to).stream()
+                        .noneMatch(period -> period.status() == Status.APPROVED))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void update(Booking booking) {
+        if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+            BookedPeriod period = BookedPeriod.of(booking);
+            apply(map -> put(map, period));
+        } else {
+            remove(booking);
+        }
+    }
+
+    @Override
+    public void remove(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        apply(map -> {
+            ItemTimeline timeline = map.get(itemId);
+
+            if (timeline != null) {
+                timeline.remove(bookingId);
+            }
+        });
+    }
+
+    // Закончившиеся периоды вещей, которые больше не бронируют, иначе остались бы в памяти навсегда.
+    void sweep(LocalDateTime now) {
+        for (Long itemId : timelines.keySet()) {
+            timelines.computeIfPresent(itemId, (id, timeline) -> timeline.prune(now) ? null : timeline);
+        }
+    }
+
+    int size() {
+        return timelines.size();
+    }
+
+    private void apply(Consumer<Map<Long, ItemTimeline>> change) {
+        withLock(swap.readLock(), () -> {
+            if (pending != null) {
+                pending.add(change);
+            }
+
+            change.accept(timelines);
+        });
+        trySweep();
+    }
+
+    // Чистит один поток, выигравший CAS; остальные не ждут его.
+    private void trySweep() {
+        long now = System.nanoTime();
+        long sweptAt = lastSweep.get();
+
+        if (now - sweptAt >= SWEEP_INTERVAL.toNanos() && lastSweep.compareAndSet(sweptAt, now)) {
+            sweep(LocalDateTime.now());
+        }
+    }
+
+    // compute держит ключ, пока период добавляется: sweep не удалит пустую вещь между созданием и записью.
+    private static void put(Map<Long, ItemTimeline> map, BookedPeriod period) {
+        map.compute(period.itemId(), (itemId, timeline) -> {
+            ItemTimeline target = timeline != null ? timeline : new ItemTimeline();
+            target.put(period);
+            return target;
+        });
+    }
+
+    private static void withLock(Lock lock, Runnable action) {
+        lock.lock();
+
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class ItemTimeline {
+        private static final Comparator<BookedPeriod> ORDER = Comparator.comparing(BookedPeriod::start)
+                .thenComparingLong(BookedPeriod::bookingId);
+
+        private final NavigableSet<BookedPeriod> periods = new TreeSet<>(ORDER);
+        private final Map<Long, BookedPeriod> byBooking = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // С [from, to) могут пересекаться только периоды, начавшиеся позже from - longest.
+        private Duration longest = Duration.ZERO;
+
+        void put(BookedPeriod period) {
+            Lock write = lock.writeLock();
+            write.lock();
+
+            try {
+                BookedPeriod previous = byBooking.put(period.bookingId(), period);
+
+                if (previous != null) {
+                    periods.remove(previous);
+                }
+
+                periods.add(period);
+                Duration duration = Duration.between(period.start(), period.end());
+
+                if (duration.compareTo(longest) > 0) {
+                    longest = duration;
+                }
+
+                removeEnded(LocalDateTime.now());
+            } finally {
+                write.unlock();
+            }
+        }
+
+        // true, если у вещи не осталось периодов.
+        boolean prune(LocalDateTime now) {
+            Lock write = lock.writeLock();
+            write.lock();
+
+            try {
+                removeEnded(now);
+                return periods.isEmpty();
+            } finally {
+                write.unlock();
+            }
+        }
+
+        void remove(long bookingId) {
+            Lock write = lock.writeLock();
+            write.lock();
+
+            try {
+                BookedPeriod previous = byBooking.remove(bookingId);
+
+                if (previous != null) {
+                    periods.remove(previous);
+                }
+            } finally {
+                write.unlock();
+            }
+        }
+
+        boolean isFree(LocalDateTime from, LocalDateTime to) {
+            Lock read = lock.readLock();
+            read.lock();
+
+            try {
+                return candidates(from, to).stream().noneMatch(period -> period.overlaps(from, to));
+            } finally {
+                read.unlock();
+            }
+        }
+
+        List<BookedPeriod> booked(LocalDateTime from, LocalDateTime to) {
+            Lock read = lock.readLock();
+            read.lock();
+
+            try {
+                return candidates(from, to).stream()
+                        .filter(period -> period.overlaps(from, to))
+                        .toList();
+            } finally {
+                read.unlock();
+            }
+        }
+
+        private NavigableSet<BookedPeriod> candidates(LocalDateTime from, LocalDateTime to) {
+            if (!from.isBefore(to)) {
+                return new TreeSet<>(ORDER);
+            }
+
+            return periods.subSet(probe(from.minus(longest), Long.MAX_VALUE), false,
+                    probe(to, Long.MIN_VALUE), false);
+        }
+
+        // Закончиться могли только начавшиеся периоды, но не обязательно первые: раннее длинное бронирование
+        // идет раньше коротких, закончившихся после его начала.
+        private void removeEnded(LocalDateTime now) {
+            Iterator<BookedPeriod> started = periods.headSet(probe(now, Long.MAX_VALUE), false).iterator();
+
+            while (started.hasNext()) {
+                BookedPeriod period = started.next();
+
+                if (period.end().isBefore(now)) {
+                    started.remove();
+                    byBooking.remove(period.bookingId());
+                }
+            }
+        }
+
+        private static BookedPeriod probe(LocalDateTime start, long bookingId) {
+            return new BookedPeriod(0, bookingId, start, start, null);
+        }
+    }
+}
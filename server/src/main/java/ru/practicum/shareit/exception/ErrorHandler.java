@@ -2,51 +2,71 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+// Ошибки всегда отдаются в JSON, даже при обмене с gateway в CBOR: gateway передает их текст клиенту как есть.
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
+    private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
 
-    @ExceptionHandler({NotFoundException.class})
+    @ExceptionHandler(value = {NotFoundException.class}, produces = JSON)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNotFound(NotFoundException e) {
         log.warn("NotFoundException: {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
-    @ExceptionHandler({ValidationException.class})
+    @ExceptionHandler(value = {ValidationException.class}, produces = JSON)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleValidationException(ValidationException e) {
         log.warn("ValidationException: {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
-    @ExceptionHandler({AccessForbiddenException.class})
+    @ExceptionHandler(value = {AccessForbiddenException.class}, produces = JSON)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ErrorResponse handleAccessForbidden(AccessForbiddenException e) {
         log.warn("AccessForbiddenException: {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
-    @ExceptionHandler({ArgumentsNotValidException.class})
+    @ExceptionHandler(value = {ArgumentsNotValidException.class}, produces = JSON)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleArgumentsNotValidException(ArgumentsNotValidException e) {
         log.warn("ArgumentsNotValidException: {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
-    @ExceptionHandler({MethodArgumentNotValidException.class})
+    @ExceptionHandler(value = {MethodArgumentNotValidException.class}, produces = JSON)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
         log.warn("MethodArgumentNotValidException: {}", e.getMessage());
         return new ErrorResponse(e.getMessage());
     }
 
-    @ExceptionHandler({Exception.class})
+    @ExceptionHandler(value = {MissingRequestHeaderException.class}, produces = JSON)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMissingRequestHeaderException(MissingRequestHeaderException e) {
+        log.warn("MissingRequestHeaderException: {}", e.getMessage());
+        return new ErrorResponse("Отсутствует обязательный заголовок запроса");
+    }
+
+    // Две правки одного предмета или бронирования разошлись по версии: повторный запрос увидит новое состояние.
+    @ExceptionHandler(value = {ObjectOptimisticLockingFailureException.class}, produces = JSON)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        log.warn("ObjectOptimisticLockingFailureException: {}", e.getMessage());
+        return new ErrorResponse("Объект был изменен другим запросом, повторите операцию");
+    }
+
+    @ExceptionHandler(value = {Exception.class}, produces = JSON)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleException(Exception e) {
         log.warn("Unexpected Exception: {}", e.getMessage());
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Comment;
 
@@ -7,7 +9,11 @@ import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemId(long itemId);
 
     List<Comment> findAllByItemOwnerId(long ownerId);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItemOwnerIdOrderByCreatedDescIdDesc(long ownerId, Pageable pageable);
 }
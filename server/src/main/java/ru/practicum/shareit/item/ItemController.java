@@ -1,19 +1,27 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemController {
 
-    ItemDto getItem(long itemId);
+    ResponseEntity<ItemDto> getItem(long itemId, WebRequest request);
 
     List<OwnedItemDto> getOwnerItems(long ownerId);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemDto> searchItems(String text, int from, Integer size, LocalDateTime start, LocalDateTime end);
+
+    ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 
     ItemDto createItem(PostItemRequest request, long ownerId);
 
+    BatchResponse<ItemDto> createItems(List<PostItemRequest> requests, long ownerId);
+
     ItemDto patchItem(long itemId, PatchItemRequest request, long ownerId);
 
     CommentDto addComment(PostCommentRequest request, long authorId, long itemId);
@@ -2,10 +2,15 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,10 +22,18 @@ public class ItemControllerImpl implements ItemController {
 
     @Override
     @GetMapping("/{itemId}")
-    @ResponseStatus(HttpStatus.OK)
-    public ItemDto getItem(@PathVariable long itemId) {
+    public ResponseEntity<ItemDto> getItem(@PathVariable long itemId, WebRequest request) {
         log.info("Запрос на получение предмета с itemId: {}", itemId);
-        return itemService.getItem(itemId);
+        String etag = itemService.getItemETag(itemId);
+
+        // При совпадении If-None-Match ответ 304 с ETag уже записан, предмет и комментарии не загружаются.
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        // Заголовок берется из тела: если предмет изменился после чтения версии, ETag описывает то, что отдано.
+        ItemDto item = itemService.getItem(itemId, etag);
+        return ResponseEntity.ok().eTag(item.getEtag()).body(item);
     }
 
     @Override
@@ -33,9 +46,33 @@ public class ItemControllerImpl implements ItemController {
 
     @Override
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        log.info("Запрос на поиск предметов с совпадением в имени или описании. Text: {}", text);
-        return itemService.searchItems(text);
+    public List<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(defaultValue = "0") int from,
+                                     @RequestParam(required = false) Integer size,
+                                     @RequestParam(required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                     @RequestParam(required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Запрос на поиск предметов с совпадением в имени или описании. Text: {}, from: {}, size: {}, " +
+                "start: {}, end: {}", text, from, size, start, end);
+
+        if (start == null && end == null) {
+            return itemService.searchItems(text, from, size);
+        }
+
+        return itemService.searchAvailableItems(text, from, size, start, end);
+    }
+
+    @Override
+    @GetMapping("/{itemId}/availability")
+    @ResponseStatus(HttpStatus.OK)
+    public ItemAvailabilityDto getItemAvailability(@PathVariable long itemId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime to) {
+        log.info("Запрос на получение занятости предмета с itemId: {}. From: {}, to: {}", itemId, from, to);
+        return itemService.getItemAvailability(itemId, from, to);
     }
 
     @Override
@@ -47,6 +84,16 @@ public class ItemControllerImpl implements ItemController {
         return itemService.createItem(request, ownerId);
     }
 
+    @Override
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchResponse<ItemDto> createItems(@RequestBody List<PostItemRequest> requests,
+                                              @RequestHeader("X-Sharer-User-Id") long ownerId) {
+        log.info("Запрос на пакетное добавление предметов владельцем c userId: {}. Предметов: {}",
+                ownerId, requests.size());
+        return itemService.createItems(requests, ownerId);
+    }
+
     @Override
     @PatchMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
@@ -13,6 +13,7 @@ import ru.practicum.shareit.request.model.Request;
 @Mapper(componentModel = "spring", uses = {UserMapper.class, RequestMapper.class})
 public interface ItemMapper {
 
+    @Mapping(target = "etag", ignore = true)
     ItemDto mapToItemDto(Item item);
 
     @Mapping(source = "owner.id", target = "ownerId")
@@ -1,19 +1,87 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByOwnerId(long ownerId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> findByIdForUpdate(@Param("itemId") long itemId);
+
+    // Порядок по id, чтобы пересекающиеся пакеты бронирований брали блокировки в одном порядке.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :itemIds ORDER BY i.id")
+    List<Item> findAllByIdInForUpdate(@Param("itemIds") Collection<Long> itemIds);
+
+    // Для ETag хватает одной строки по первичному ключу: комментарии и владелец не загружаются.
+    @Query("SELECT new ru.practicum.shareit.item.model.ItemVersion(i.id, i.version, r.version) " +
+            "FROM Item i LEFT JOIN i.request r WHERE i.id = :itemId")
+    Optional<ItemVersion> findVersionById(@Param("itemId") long itemId);
+
+    // Новый комментарий попадает в ответ по предмету, хотя сама строка items не меняется.
+    @Modifying
+    @Query("UPDATE Item i SET i.version = i.version + 1 WHERE i.id = :itemId")
+    void incrementVersion(@Param("itemId") long itemId);
+
+    // Предметы, в ответ по которым входит пользователь: как владелец или как автор комментария.
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = :userId " +
+            "OR i.id IN (SELECT c.item.id FROM Comment c WHERE c.author.id = :userId)")
+    List<Long> findIdsByOwnerOrCommentAuthor(@Param("userId") long userId);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.version = i.version + 1 WHERE i.id IN :itemIds")
+    void incrementVersions(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.available = TRUE " +
+            "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "ORDER BY CASE " +
+            "WHEN LOWER(i.name) LIKE LOWER(CONCAT(:text, '%')) THEN 0 " +
+            "WHEN LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) THEN 1 " +
+            "ELSE 2 END, i.id ")
+    List<Item> searchItems(@Param("text") String text, Pageable pageable);
+
+    // То же, что searchItems, но без вещей с подтвержденным бронированием, пересекающим [start, end). NOT EXISTS
+    // выполняется как антисоединение по индексу item_id, status, end_time.
     @Query("SELECT i FROM Item i " +
             "WHERE i.available = TRUE " +
             "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) ")
-    List<Item> searchItems(@Param("text") String text);
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b " +
+            "WHERE b.item.id = i.id " +
+            "AND b.status = ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "AND b.end > :start " +
+            "AND b.start < :end) " +
+            "ORDER BY CASE " +
+            "WHEN LOWER(i.name) LIKE LOWER(CONCAT(:text, '%')) THEN 0 " +
+            "WHEN LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) THEN 1 " +
+            "ELSE 2 END, i.id ")
+    List<Item> searchAvailableItems(@Param("text") String text,
+                                    @Param("start") LocalDateTime start,
+                                    @Param("end") LocalDateTime end,
+                                    Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<Item> streamAllBy();
 }
@@ -1,19 +1,31 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
 
     ItemDto getItem(long itemId);
 
+    ItemDto getItem(long itemId, String etag);
+
+    String getItemETag(long itemId);
+
     List<OwnedItemDto> getOwnerItems(long ownerId);
 
-    List<ItemDto> searchItems(String text);
+    List<ItemDto> searchItems(String text, int from, Integer size);
+
+    List<ItemDto> searchAvailableItems(String text, int from, Integer size, LocalDateTime start, LocalDateTime end);
+
+    ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 
     ItemDto createItem(PostItemRequest request, long ownerId);
 
+    BatchResponse<ItemDto> createItems(List<PostItemRequest> requests, long ownerId);
+
     ItemDto patchItem(long itemId, PatchItemRequest request, long ownerId);
 
     CommentDto addComment(PostCommentRequest request, long itemId, Long authorId);
@@ -21,4 +33,6 @@ public interface ItemService {
     List<CommentDto> getAllCommentsForItem(long itemId);
 
     List<CommentDto> getAllCommentsForOwner(long ownerId);
+
+    void refreshUserItems(long userId);
 }
@@ -4,13 +4,23 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.batch.BatchCollector;
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.AvailabilityTimeline;
 import ru.practicum.shareit.exception.ArgumentsNotValidException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemCache;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.paging.Paging;
 import ru.practicum.shareit.request.RequestRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
@@ -19,6 +29,7 @@ import ru.practicum.shareit.request.model.Request;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,16 +44,44 @@ public class ItemServiceImpl implements ItemService {
     private final RequestRepository requestRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemCache itemCache;
+    private final AvailabilityTimeline availabilityTimeline;
+    private final ResultLog resultLog;
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto getItem(long itemId) {
-        ItemDto result = itemMapper.mapToItemDto(getItemById(itemId));
-        result.setComments(getAllCommentsForItem(itemId));
-        log.info("Получен результат: {}", result);
+        ItemDto result = itemCache.get(itemId, this::loadItem);
+        log.info("Получен предмет {}: комментариев {}", itemId,
+                result.getComments() != null ? result.getComments().size() : 0);
 
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ItemDto getItem(long itemId, String etag) {
+        ItemDto result = getItem(itemId);
+
+        // Закэшированное тело собрано из другой версии, чем прочитана для ETag: снимок пересобирается,
+        // чтобы не отдать старое тело под новым ETag.
+        if (!etag.equals(result.getEtag())) {
+            itemCache.evict(itemId);
+            result = getItem(itemId);
+        }
+
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getItemETag(long itemId) {
+        return itemRepository.findVersionById(itemId)
+                .map(ItemVersion::etag)
+                .orElseThrow(() -> new NotFoundException("Предмет с itemId " + itemId + " не был найден"));
+    }
+
     @Override
     public List<OwnedItemDto> getOwnerItems(long ownerId) {
         validateUser(ownerId);
@@ -56,37 +95,90 @@ public class ItemServiceImpl implements ItemService {
                 .map(Item::getId)
                 .collect(Collectors.toList());
 
-        List<Booking> bookings = bookingRepository.findAllByItemIdIn(itemIds);
-
-        Map<Long, List<Booking>> bookingsByItemId = bookings.stream()
-                .collect(Collectors.groupingBy(b -> b.getItem().getId()));
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = groupByItemId(
+                bookingRepository.findLastByItemIdIn(itemIds, Status.APPROVED, now));
+        Map<Long, Booking> nextBookings = groupByItemId(
+                bookingRepository.findNextByItemIdIn(itemIds, Status.APPROVED, now));
 
         List<OwnedItemDto> result = new ArrayList<>();
 
         for (Item item : items) {
             OwnedItemDto ownedItemDto = itemMapper.mapToOwnedItemDto(item);
-            List<Booking> itemBookings = bookingsByItemId.getOrDefault(item.getId(), Collections.emptyList());
-            fillBookingDates(ownedItemDto, itemBookings);
+            fillBookingDates(ownedItemDto, lastBookings.get(item.getId()), nextBookings.get(item.getId()));
 
             result.add(ownedItemDto);
         }
 
-        log.info("Получен результат для владельца {}: {}", ownerId, result);
+        resultLog.info(log, result, OwnedItemDto::getId, "Получен результат для владельца {}: {}", ownerId);
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> searchItems(String text, int from, Integer size) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ItemDto> result = itemSearchEngine.search(text, Paging.toPageable(from, size))
+                .stream()
+                .map(itemMapper::mapToItemDto)
+                .collect(Collectors.toList());
+        resultLog.info(log, result, ItemDto::getId, "Найдены предметы по запросу \"{}\": {}", text);
+
         return result;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemDto> searchItems(String text) {
+    public List<ItemDto> searchAvailableItems(String text, int from, Integer size, LocalDateTime start,
+                                              LocalDateTime end) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (start == null || end == null || !start.isBefore(end) || !end.isAfter(now)) {
+            throw new ArgumentsNotValidException("Некорректный период поиска свободных предметов. Start: " + start +
+                    " End: " + end);
+        }
+
         if (text == null || text.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<ItemDto> result = itemRepository.searchItems(text)
+        // Как и в getItemAvailability, прошедшая часть периода не проверяется.
+        LocalDateTime periodStart = start.isBefore(now) ? now : start;
+        List<ItemDto> result = itemSearchEngine.searchAvailable(text, periodStart, end, Paging.toPageable(from, size))
                 .stream()
                 .map(itemMapper::mapToItemDto)
                 .collect(Collectors.toList());
-        log.info("Получен результат: {}", result);
+        resultLog.info(log, result, ItemDto::getId, "Найдены свободные с {} по {} предметы по запросу \"{}\": {}",
+                periodStart, end, text);
+
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (from == null || to == null || !from.isBefore(to) || !to.isAfter(now)) {
+            throw new ArgumentsNotValidException("Некорректный период проверки занятости. From: " + from +
+                    " To: " + to);
+        }
+
+        Item item = getItemById(itemId);
+        // Прошедшая часть периода не проверяется: забронировать ее уже нельзя.
+        LocalDateTime start = from.isBefore(now) ? now : from;
+        List<BookedPeriodDto> booked = availabilityTimeline.booked(itemId, start, to)
+                .stream()
+                .map(period -> new BookedPeriodDto(period.start(), period.end(), period.status()))
+                .toList();
+
+        ItemAvailabilityDto result = new ItemAvailabilityDto(itemId, start, to,
+                item.isAvailable() && booked.isEmpty(), booked);
+        log.info("Получена занятость предмета {}: доступен {}, бронирований в периоде {}", itemId,
+                result.isAvailable(), booked.size());
 
         return result;
     }
@@ -103,11 +195,63 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = itemMapper.mapToItem(request, owner, itemRequest);
         Item savedItem = itemRepository.save(item);
-        log.info("Получен результат: {}", savedItem);
+        indexAfterCommit(List.of(savedItem));
+        incrementRequestVersions(List.of(savedItem));
+        log.info("Предмет {} владельца {} сохранен", savedItem.getId(), ownerId);
 
         return itemMapper.mapToItemDto(savedItem);
     }
 
+    @Override
+    public BatchResponse<ItemDto> createItems(List<PostItemRequest> requests, long ownerId) {
+        BatchCollector<ItemDto> batch = new BatchCollector<>(requests.size());
+        User owner = getUser(ownerId);
+        Set<Long> requestIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(PostItemRequest::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Request> itemRequests = requestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
+        Map<Integer, Item> pending = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            PostItemRequest request = requests.get(i);
+
+            batch.check(index, () -> {
+                if (request == null) {
+                    throw new ArgumentsNotValidException("Элемент пакета с индексом " + index + " не задан");
+                }
+
+                // Пустое поле уронило бы вставку всего пакета на ограничении NOT NULL.
+                if (isBlank(request.getName()) || isBlank(request.getDescription()) || request.getAvailable() == null) {
+                    throw new ArgumentsNotValidException(
+                            "Название, описание и доступность предмета должны быть заданы");
+                }
+
+                Long requestId = request.getRequestId();
+                Request itemRequest = requestId != null ? itemRequests.get(requestId) : null;
+
+                if (requestId != null && itemRequest == null) {
+                    throw new NotFoundException("Запрос на предмет с requestId " + requestId + " не был найден");
+                }
+
+                return itemMapper.mapToItem(request, owner, itemRequest);
+            }).ifPresent(item -> pending.put(index, item));
+        }
+
+        List<Item> savedItems = itemRepository.saveAllAndFlush(pending.values());
+        indexAfterCommit(savedItems);
+        incrementRequestVersions(savedItems);
+        batch.created(pending, savedItems, itemMapper::mapToItemDto);
+        BatchResponse<ItemDto> response = batch.toResponse();
+        log.info("Пакет предметов владельца {} обработан: создано {}, ошибок {}", ownerId, response.getCreated(),
+                response.getFailed());
+
+        return response;
+    }
+
     @Override
     public ItemDto patchItem(long itemId, PatchItemRequest request, long ownerId) {
         Item existingItem = getItemById(itemId);
@@ -127,7 +271,14 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item updatedItem = itemRepository.save(existingItem);
-        log.info("Получен результат: {}", updatedItem);
+        indexAfterCommit(List.of(updatedItem));
+        evictCachedItem(itemId);
+
+        if (request.hasName()) {
+            incrementRequestVersions(List.of(updatedItem));
+        }
+
+        log.info("Предмет {} обновлен", updatedItem.getId());
 
         return itemMapper.mapToItemDto(updatedItem);
     }
@@ -152,9 +303,11 @@ public class ItemServiceImpl implements ItemService {
 
         Comment comment = commentMapper.mapToComment(request, item, author);
         Comment savedComment = commentRepository.save(comment);
+        itemRepository.incrementVersion(itemId);
+        evictCachedItem(itemId);
 
         CommentDto commentDto = commentMapper.mapToCommentDto(savedComment);
-        log.info("Комментарий сохранен: {}", commentDto);
+        log.info("Комментарий {} к предмету {} сохранен", commentDto.getId(), itemId);
 
         return commentDto;
     }
@@ -166,7 +319,7 @@ public class ItemServiceImpl implements ItemService {
                 .stream()
                 .map(commentMapper::mapToCommentDto)
                 .collect(Collectors.toList());
-        log.info("Получены комментарии: {}", comments);
+        resultLog.info(log, comments, CommentDto::getId, "Получены комментарии к предмету {}: {}", itemId);
 
         return comments;
     }
@@ -178,11 +331,80 @@ public class ItemServiceImpl implements ItemService {
                 .stream()
                 .map(commentMapper::mapToCommentDto)
                 .collect(Collectors.toList());
-        log.info("Получены комментарии к предметам владельца: {}", comments);
+        resultLog.info(log, comments, CommentDto::getId, "Получены комментарии к предметам владельца {}: {}", ownerId);
 
         return comments;
     }
 
+    // Имя и email владельца и авторов комментариев входят в ответ по предмету, поэтому после изменения пользователя
+    // версии его предметов растут, а собранные с прежними данными ответы уходят из кэша.
+    @Override
+    public void refreshUserItems(long userId) {
+        List<Long> itemIds = itemRepository.findIdsByOwnerOrCommentAuthor(userId);
+
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        itemRepository.incrementVersions(itemIds);
+        itemIds.forEach(this::evictCachedItem);
+        log.info("Версии предметов пользователя {} увеличены: {}", userId, itemIds.size());
+    }
+
+    private ItemDto loadItem(long itemId) {
+        Item item = getItemById(itemId);
+        ItemDto itemDto = itemMapper.mapToItemDto(item);
+        itemDto.setComments(getAllCommentsForItem(itemId));
+        itemDto.setEtag(new ItemVersion(itemId, item.getVersion(),
+                item.getRequest() != null ? item.getRequest().getVersion() : null).etag());
+
+        return itemDto;
+    }
+
+    // Индекс поиска живет вне транзакции: при откате в нем остались бы несохраненные предметы.
+    private void indexAfterCommit(List<Item> items) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            items.forEach(itemSearchEngine::index);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                items.forEach(itemSearchEngine::index);
+            }
+        });
+    }
+
+    private void evictCachedItem(long itemId) {
+        itemCache.evict(itemId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    itemCache.evict(itemId);
+                }
+            });
+        }
+    }
+
+    private void incrementRequestVersions(Collection<Item> items) {
+        Set<Long> requestIds = items.stream()
+                .map(Item::getRequest)
+                .filter(Objects::nonNull)
+                .map(Request::getId)
+                .collect(Collectors.toSet());
+
+        if (!requestIds.isEmpty()) {
+            requestRepository.incrementVersions(requestIds);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
     private User getUser(long ownerId) {
         return userRepository.findById(ownerId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с userId " + ownerId + " не был найден"));
@@ -206,27 +428,20 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private void fillBookingDates(OwnedItemDto dto, List<Booking> bookings) {
-        if (bookings.isEmpty()) {
-            return;
-        }
+    private Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity(), (first, second) -> first));
+    }
 
-        LocalDateTime now = LocalDateTime.now();
+    private void fillBookingDates(OwnedItemDto dto, Booking lastBooking, Booking nextBooking) {
+        if (lastBooking != null) {
+            dto.setLastStart(lastBooking.getStart());
+            dto.setLastEnd(lastBooking.getEnd());
+        }
 
-        bookings.stream()
-                .filter(b -> b.getEnd().isBefore(now))
-                .max(Comparator.comparing(Booking::getEnd))
-                .ifPresent(lastBooking -> {
-                    dto.setLastStart(lastBooking.getStart());
-                    dto.setLastEnd(lastBooking.getEnd());
-                });
-
-        bookings.stream()
-                .filter(b -> b.getStart().isAfter(now))
-                .min(Comparator.comparing(Booking::getStart))
-                .ifPresent(nextBooking -> {
-                    dto.setNextStart(nextBooking.getStart());
-                    dto.setNextEnd(nextBooking.getEnd());
-                });
+        if (nextBooking != null) {
+            dto.setNextStart(nextBooking.getStart());
+            dto.setNextEnd(nextBooking.getEnd());
+        }
     }
 }
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item-cache.backend", havingValue = "caffeine", matchIfMissing = true)
+@Slf4j
+public class CaffeineItemCache implements ItemCache {
+    static final String CACHE_NAME = "items";
+
+    private final Cache<Long, ItemDto> cache;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CaffeineItemCache(@Value("${shareit.item-cache.ttl:10m}") Duration ttl,
+                             @Value("${shareit.item-cache.maximum-size:10000}") long maximumSize,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Кэш предметов включен: ttl {}, размер {}", ttl, maximumSize);
+    }
+
+    @Override
+    public ItemDto get(long itemId, LongFunction<ItemDto> loader) {
+        ItemDto cached = cache.getIfPresent(itemId);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        // Загрузка идет вне блокировок кэша: Cache.get держит монитор на время запроса в БД и закрепляет
+        // виртуальный поток. Если за время загрузки была инвалидация, результат не кладется в кэш. Проверка
+        // счетчика и запись идут внутри compute, который атомарен относительно invalidate того же ключа:
+        // evict увеличивает счетчик до invalidate, поэтому либо compute увидит новый счетчик, либо invalidate
+        // удалит уже записанное значение.
+        long evictionsBeforeLoad = evictions.get();
+        ItemDto loaded = loader.apply(itemId);
+
+        cache.asMap().compute(itemId, (id, current) -> {
+            if (current != null || evictions.get() != evictionsBeforeLoad) {
+                return current;
+            }
+
+            return loaded;
+        });
+
+        return loaded;
+    }
+
+    @Override
+    public void evict(long itemId) {
+        evictions.incrementAndGet();
+        cache.invalidate(itemId);
+    }
+}
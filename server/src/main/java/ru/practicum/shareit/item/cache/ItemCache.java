@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.cache;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.function.LongFunction;
+
+public interface ItemCache {
+
+    ItemDto get(long itemId, LongFunction<ItemDto> loader);
+
+    void evict(long itemId);
+}
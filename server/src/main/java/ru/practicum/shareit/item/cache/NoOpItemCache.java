@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.function.LongFunction;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item-cache.backend", havingValue = "none")
+public class NoOpItemCache implements ItemCache {
+
+    @Override
+    public ItemDto get(long itemId, LongFunction<ItemDto> loader) {
+        return loader.apply(itemId);
+    }
+
+    @Override
+    public void evict(long itemId) {
+    }
+}
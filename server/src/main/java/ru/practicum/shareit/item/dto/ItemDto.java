@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.request.dto.RequestDto;
@@ -18,4 +19,7 @@ public class ItemDto {
     private BookingDto lastBooking;
     private BookingDto nextBooking;
     private List<CommentDto> comments;
+    // ETag снимка, из которого собран ответ: кэшируется вместе с телом и в JSON не попадает.
+    @JsonIgnore
+    private String etag;
 }
@@ -6,17 +6,19 @@ import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_owner", columnList = "owner_id")
+})
 @Getter
 @Setter
 @ToString(exclude = {"owner", "request"})
 @EqualsAndHashCode(exclude = {"owner", "request"})
-@AllArgsConstructor
 @NoArgsConstructor
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -35,4 +37,18 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private Request request;
+
+    // Увеличивается при каждом изменении и служит основой ETag. В конструктор не входит: его ведет Hibernate.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    public Item(Long id, String name, String description, boolean available, User owner, Request request) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.owner = owner;
+        this.request = request;
+    }
 }
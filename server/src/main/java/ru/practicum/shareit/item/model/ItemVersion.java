@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.model;
+
+// Версии предмета и его запроса: ответ GET /items/{itemId} меняется, только если изменилась одна из них.
+public record ItemVersion(long itemId, long version, Long requestVersion) {
+
+    public String etag() {
+        return "item-" + itemId + "-" + version + "-" + (requestVersion != null ? requestVersion : 0);
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.timeline.AvailabilityTimeline;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM = 3;
+    private static final int AVAILABILITY_BATCH = 200;
+
+    private final ItemRepository itemRepository;
+    private final AvailabilityTimeline availabilityTimeline;
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Lock indexLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        documents.clear();
+        postings.clear();
+
+        try (Stream<Item> items = itemRepository.streamAllBy()) {
+            items.forEach(this::index);
+        }
+
+        log.info("Поисковый индекс предметов построен: {} документов", documents.size());
+    }
+
+    @Override
+    public void index(Item item) {
+        indexLock.lock();
+
+        try {
+            Document previous = documents.get(item.getId());
+
+            if (previous != null) {
+                previous.grams().forEach(gram -> removePosting(gram, item.getId()));
+            }
+
+            Document document = Document.of(item);
+            documents.put(item.getId(), document);
+            document.grams().forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet())
+                    .add(item.getId()));
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        Stream<Long> ranked = ranked(text).stream();
+
+        if (pageable.isPaged()) {
+            ranked = ranked.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+
+        return load(ranked.collect(Collectors.toList()));
+    }
+
+    // Занятость проверяется уже после ранжирования и только до заполнения страницы, пачками кандидатов: пока индекс
+    // AvailabilityTimeline не построен, каждая пачка — один запрос к базе, а не запрос на каждого кандидата.
+    @Override
+    public List<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        List<Long> ranked = ranked(text);
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<Long> ids = new ArrayList<>();
+
+        for (int from = 0; from < ranked.size() && ids.size() < limit; from += AVAILABILITY_BATCH) {
+            List<Long> batch = ranked.subList(from, Math.min(from + AVAILABILITY_BATCH, ranked.size()));
+            Set<Long> free = availabilityTimeline.withoutApproved(batch, start, end);
+
+            for (Long id : batch) {
+                if (!free.contains(id)) {
+                    continue;
+                }
+
+                if (skip > 0) {
+                    skip--;
+                } else if (ids.size() < limit) {
+                    ids.add(id);
+                }
+            }
+        }
+
+        return load(ids);
+    }
+
+    private List<Long> ranked(String text) {
+        String query = text.toLowerCase();
+
+        return candidates(query).stream()
+                .map(id -> Map.entry(id, documents.get(id)))
+                .filter(entry -> entry.getValue() != null && entry.getValue().matches(query))
+                .sorted(Comparator.<Map.Entry<Long, Document>>comparingInt(entry -> entry.getValue().rank(query))
+                        .thenComparing(Map.Entry::getKey))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private List<Item> load(List<Long> ids) {
+        Map<Long, Item> items = itemRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.keySet();
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+
+            lists.add(ids);
+        }
+
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.getFirst());
+
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+
+        return result;
+    }
+
+    private void removePosting(String gram, long id) {
+        postings.computeIfPresent(gram, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> result = new HashSet<>();
+
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM));
+        }
+
+        return result;
+    }
+
+    private record Document(String name, String description, boolean available) {
+
+        static Document of(Item item) {
+            String name = item.getName() == null ? "" : item.getName().toLowerCase();
+            String description = item.getDescription() == null ? "" : item.getDescription().toLowerCase();
+            return new Document(name, description, item.isAvailable());
+        }
+
+        Set<String> grams() {
+            Set<String> result = InMemoryItemSearchEngine.grams(name);
+            result.addAll(InMemoryItemSearchEngine.grams(description));
+            return result;
+        }
+
+        boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+
+        int rank(String query) {
+            if (name.startsWith(query)) {
+                return 0;
+            }
+
+            return name.contains(query) ? 1 : 2;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.logging;
+
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+// Логирование списков-результатов: вместо toString всей коллекции — количество, первые id, а на DEBUG
+// еще несколько обрезанных элементов. Сводка строится лениво, только если запись действительно пишется.
+public class ResultLog {
+    private final Settings settings;
+
+    public ResultLog(ResultLogProperties properties) {
+        Policy defaults = new Policy(properties.getSampleRate(), properties.getMaxIds(),
+                properties.getSampleSize(), properties.getSampleLength());
+        Map<String, Policy> packages = new HashMap<>();
+        properties.getPackages().forEach((name, override) -> packages.put(name, defaults.with(override)));
+
+        settings = new Settings(defaults, Map.copyOf(packages));
+    }
+
+    // Сводка по result подставляется в последний плейсхолдер message.
+    public <T> void info(Logger log, Collection<? extends T> result, Function<? super T, ?> id,
+                         String message, Object... args) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+
+        Policy policy = settings.policy(log.getName());
+
+        if (!policy.sampled()) {
+            return;
+        }
+
+        Object[] arguments = Arrays.copyOf(args, args.length + 1);
+        arguments[args.length] = new Summary<>(result, id, policy, log.isDebugEnabled());
+        log.info(message, arguments);
+    }
+
+    record Policy(double sampleRate, int maxIds, int sampleSize, int sampleLength) {
+
+        Policy with(ResultLogProperties.PackagePolicy override) {
+            return new Policy(
+                    override.getSampleRate() != null ? override.getSampleRate() : sampleRate,
+                    override.getMaxIds() != null ? override.getMaxIds() : maxIds,
+                    override.getSampleSize() != null ? override.getSampleSize() : sampleSize,
+                    override.getSampleLength() != null ? override.getSampleLength() : sampleLength);
+        }
+
+        boolean sampled() {
+            if (sampleRate >= 1.0) {
+                return true;
+            }
+
+            return sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        }
+    }
+
+    private record Settings(Policy defaults, Map<String, Policy> packages, Map<String, Policy> byLogger) {
+
+        Settings(Policy defaults, Map<String, Policy> packages) {
+            this(defaults, packages, new ConcurrentHashMap<>());
+        }
+
+        // Побеждает самый длинный совпавший пакет, как у уровней логирования.
+        Policy policy(String loggerName) {
+            Policy cached = byLogger.get(loggerName);
+
+            if (cached != null) {
+                return cached;
+            }
+
+            return byLogger.computeIfAbsent(loggerName, name -> packages.entrySet().stream()
+                    .filter(entry -> name.equals(entry.getKey()) || name.startsWith(entry.getKey() + "."))
+                    .max(Map.Entry.comparingByKey((left, right) -> Integer.compare(left.length(), right.length())))
+                    .map(Map.Entry::getValue)
+                    .orElse(defaults));
+        }
+    }
+
+    private record Summary<T>(Collection<? extends T> items, Function<? super T, ?> id, Policy policy,
+                              boolean withSamples) {
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder().append(items.size()).append(" шт.");
+
+            if (items.isEmpty()) {
+                return builder.toString();
+            }
+
+            builder.append(", id [");
+            Iterator<? extends T> ids = items.iterator();
+            int shown = 0;
+
+            while (ids.hasNext() && shown < policy.maxIds()) {
+                builder.append(shown > 0 ? ", " : "").append(id.apply(ids.next()));
+                shown++;
+            }
+
+            builder.append(']');
+
+            if (items.size() > shown) {
+                builder.append(" и еще ").append(items.size() - shown);
+            }
+
+            if (withSamples && policy.sampleSize() > 0) {
+                appendSamples(builder);
+            }
+
+            return builder.toString();
+        }
+
+        private void appendSamples(StringBuilder builder) {
+            builder.append(", первые элементы [");
+            Iterator<? extends T> samples = items.iterator();
+
+            for (int i = 0; samples.hasNext() && i < policy.sampleSize(); i++) {
+                String sample = String.valueOf(samples.next());
+
+                if (sample.length() > policy.sampleLength()) {
+                    sample = sample.substring(0, policy.sampleLength()) + "…";
+                }
+
+                builder.append(i > 0 ? ", " : "").append(sample);
+            }
+
+            builder.append(']');
+        }
+    }
+}
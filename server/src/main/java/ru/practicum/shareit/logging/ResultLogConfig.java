@@ -0,0 +1,15 @@
+package ru.practicum.shareit.logging;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResultLogProperties.class)
+public class ResultLogConfig {
+
+    @Bean
+    public ResultLog resultLog(ResultLogProperties properties) {
+        return new ResultLog(properties);
+    }
+}
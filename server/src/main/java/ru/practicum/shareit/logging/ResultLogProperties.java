@@ -0,0 +1,29 @@
+package ru.practicum.shareit.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("shareit.logging.results")
+public class ResultLogProperties {
+    // Доля вызовов, результат которых попадает в лог: 1.0 — каждый, 0.01 — примерно каждый сотый.
+    private double sampleRate = 1.0;
+    // Сколько id перечислять на уровне INFO.
+    private int maxIds = 10;
+    // Сколько элементов целиком выводить на уровне DEBUG и до скольких символов обрезать каждый.
+    private int sampleSize = 3;
+    private int sampleLength = 200;
+    // Переопределения по пакетам, например packages[ru.practicum.shareit.item].sample-rate=0.1.
+    private Map<String, PackagePolicy> packages = new LinkedHashMap<>();
+
+    @Data
+    public static class PackagePolicy {
+        private Double sampleRate;
+        private Integer maxIds;
+        private Integer sampleSize;
+        private Integer sampleLength;
+    }
+}
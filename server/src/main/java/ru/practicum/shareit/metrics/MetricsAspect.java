@@ -0,0 +1,166 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Снаружи транзакционного прокси, чтобы в замер попадали коммит и его ошибки, но за ExposeInvocationInterceptor,
+// который должен оставаться первым в цепочке advice.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class MetricsAspect {
+    static final String SERVICE_TIMER = "shareit.service";
+    static final String REPOSITORY_TIMER = "shareit.repository";
+    static final String REPOSITORY_ROWS = "shareit.repository.rows";
+
+    private static final String APP_PACKAGE = "ru.practicum.shareit";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    // findById у разных репозиториев — один Method, поэтому метрики ищутся сначала по классу цели.
+    private final ClassValue<Map<Method, Meters>> meters = new ClassValue<>() {
+        @Override
+        protected Map<Method, Meters> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    @Around("within(@org.springframework.stereotype.Service ru.practicum.shareit..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> type = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Meters serviceMeters = meters(type, method,
+                () -> new Meters(SERVICE_TIMER, "class", ClassUtils.getUserClass(type).getSimpleName(),
+                        method.getName(), false));
+
+        return proceed(joinPoint, serviceMeters);
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> type = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Meters repositoryMeters = meters(type, method,
+                () -> new Meters(REPOSITORY_TIMER, "repository", repositoryName(type), method.getName(), true));
+
+        return proceed(joinPoint, repositoryMeters);
+    }
+
+    private Meters meters(Class<?> type, Method method, Supplier<Meters> factory) {
+        Map<Method, Meters> byMethod = meters.get(type);
+        Meters found = byMethod.get(method);
+
+        return found != null ? found : byMethod.computeIfAbsent(method, key -> factory.get());
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint, Meters target) throws Throwable {
+        long start = System.nanoTime();
+
+        try {
+            Object result = joinPoint.proceed();
+            target.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            target.recordRows(result);
+
+            return result;
+        } catch (Throwable e) {
+            target.failure(e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    // Репозитории Spring Data — JDK-прокси, поэтому имя берется из интерфейса приложения, а не из реализации.
+    private static String repositoryName(Class<?> type) {
+        return ClassUtils.getAllInterfacesForClassAsSet(type).stream()
+                .filter(Repository.class::isAssignableFrom)
+                .filter(candidate -> candidate.getName().startsWith(APP_PACKAGE))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(type.getSimpleName());
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+
+        return -1;
+    }
+
+    private final class Meters {
+        private final String name;
+        private final String ownerTag;
+        private final String owner;
+        private final String method;
+        private final Timer success;
+        private final DistributionSummary rows;
+
+        Meters(String name, String ownerTag, String owner, String method, boolean countRows) {
+            this.name = name;
+            this.ownerTag = ownerTag;
+            this.owner = owner;
+            this.method = method;
+            this.success = timer(NO_EXCEPTION);
+            this.rows = countRows
+                    ? DistributionSummary.builder(REPOSITORY_ROWS)
+                    .baseUnit("rows")
+                    .tags(ownerTag, owner, "method", method)
+                    .register(meterRegistry)
+                    : null;
+        }
+
+        Timer success() {
+            return success;
+        }
+
+        Timer failure(Throwable e) {
+            return timer(e.getClass().getSimpleName());
+        }
+
+        void recordRows(Object result) {
+            if (rows == null) {
+                return;
+            }
+
+            int count = rows(result);
+
+            if (count >= 0) {
+                rows.record(count);
+            }
+        }
+
+        private Timer timer(String exception) {
+            return Timer.builder(name)
+                    .tags(ownerTag, owner, "method", method, "exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Считает SQL-запросы, подготовленные Hibernate в текущем HTTP-запросе; вне запроса ничего не делает.
+public class StatementCounter implements StatementInspector {
+    private final ThreadLocal<int[]> counter = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = counter.get();
+
+        if (count != null) {
+            count[0]++;
+        }
+
+        return sql;
+    }
+
+    void start() {
+        counter.set(new int[1]);
+    }
+
+    int stop() {
+        int[] count = counter.get();
+        counter.remove();
+
+        return count == null ? 0 : count[0];
+    }
+}
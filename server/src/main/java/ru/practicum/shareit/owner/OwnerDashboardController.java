@@ -0,0 +1,8 @@
+package ru.practicum.shareit.owner;
+
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+public interface OwnerDashboardController {
+
+    OwnerDashboardDto getDashboard(long ownerId, int commentsSize);
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.owner;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+@RestController
+@RequestMapping("/owner")
+@RequiredArgsConstructor
+@Slf4j
+public class OwnerDashboardControllerImpl implements OwnerDashboardController {
+    private final OwnerDashboardService ownerDashboardService;
+
+    @Override
+    @GetMapping("/dashboard")
+    @ResponseStatus(HttpStatus.OK)
+    public OwnerDashboardDto getDashboard(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                          @RequestParam(defaultValue = "10") int commentsSize) {
+        log.info("Запрос сводки владельца с ownerId {}. Комментариев: {}", ownerId, commentsSize);
+        return ownerDashboardService.getDashboard(ownerId, commentsSize);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.owner;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.exception.ArgumentsNotValidException;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Все данные страницы владельца за фиксированное число запросов, независимо от числа вещей:
+// проверка пользователя, вещи, последние и следующие бронирования, последние комментарии и счетчики по State.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class OwnerDashboardServiceImpl implements OwnerDashboardService {
+    static final int MAX_COMMENTS_SIZE = 100;
+
+    private final ItemService itemService;
+    private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentMapper commentMapper;
+
+    @Override
+    public OwnerDashboardDto getDashboard(long ownerId, int commentsSize) {
+        // Те же границы, что у шлюза: PageRequest на нуле упал бы с 500.
+        if (commentsSize <= 0 || commentsSize > MAX_COMMENTS_SIZE) {
+            throw new ArgumentsNotValidException("Число комментариев должно быть от 1 до " + MAX_COMMENTS_SIZE +
+                    ": commentsSize=" + commentsSize);
+        }
+
+        OwnerDashboardDto dashboard = new OwnerDashboardDto();
+        // getOwnerItems проверяет владельца, дальше он уже известен.
+        dashboard.setItems(itemService.getOwnerItems(ownerId));
+
+        List<CommentDto> comments = commentRepository
+                .findAllByItemOwnerIdOrderByCreatedDescIdDesc(ownerId, PageRequest.of(0, commentsSize))
+                .stream()
+                .map(commentMapper::mapToCommentDto)
+                .toList();
+        dashboard.setRecentComments(comments);
+
+        BookingCountsDto counts = bookingRepository.countByOwnerId(ownerId, LocalDateTime.now());
+        dashboard.setBookingCounts(counts);
+        log.info("Собрана сводка владельца {}: вещей {}, комментариев {}, бронирований {}", ownerId,
+                dashboard.getItems().size(), comments.size(), counts.getAll());
+
+        return dashboard;
+    }
+}
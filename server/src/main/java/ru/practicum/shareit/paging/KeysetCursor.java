@@ -0,0 +1,48 @@
+package ru.practicum.shareit.paging;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.ArgumentsNotValidException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+public class KeysetCursor {
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "_";
+
+    LocalDateTime position;
+    long id;
+
+    public static KeysetCursor after(LocalDateTime position, long id) {
+        return new KeysetCursor(position, id);
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR);
+
+            if (parts.length != 2) {
+                throw new ArgumentsNotValidException("Некорректный курсор пагинации: " + cursor);
+            }
+
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ArgumentsNotValidException("Некорректный курсор пагинации: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = position + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
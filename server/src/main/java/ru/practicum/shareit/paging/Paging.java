@@ -0,0 +1,40 @@
+package ru.practicum.shareit.paging;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.ArgumentsNotValidException;
+
+public final class Paging {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private Paging() {
+    }
+
+    public static Pageable toPageable(int from, Integer size) {
+        return toPageable(from, size, null);
+    }
+
+    // Курсор задает позицию сам, from тогда не нужен. Без курсора from должен попадать на границу страницы:
+    // PageRequest округлил бы его вниз, и клиент повторно получил бы уже прочитанные строки.
+    public static Pageable toPageable(int from, Integer size, String cursor) {
+        if (size == null) {
+            return Pageable.unpaged();
+        }
+
+        if (size <= 0 || from < 0) {
+            throw new ArgumentsNotValidException(String.format("Некорректные параметры страницы: from=%d, size=%d",
+                    from, size));
+        }
+
+        if (cursor != null && !cursor.isBlank()) {
+            return PageRequest.of(0, size);
+        }
+
+        if (from % size != 0) {
+            throw new ArgumentsNotValidException(String.format("Смещение from=%d должно быть кратно размеру "
+                    + "страницы size=%d", from, size));
+        }
+
+        return PageRequest.of(from / size, size);
+    }
+}
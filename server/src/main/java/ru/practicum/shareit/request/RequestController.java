@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.dto.PostRequestDto;
 
@@ -11,7 +13,7 @@ public interface RequestController {
 
     List<RequestDto> findAllRequestsByRequestorId(long requestorId);
 
-    List<RequestDto> findAllRequests();
+    ResponseEntity<List<RequestDto>> findAllRequests(long userId, int from, Integer size, String cursor);
 
-    RequestDto findRequestById(long id);
+    ResponseEntity<RequestDto> findRequestById(long id, WebRequest request);
 }
@@ -3,9 +3,13 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.paging.Paging;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.dto.PostRequestDto;
+import ru.practicum.shareit.paging.KeysetCursor;
 
 import java.util.List;
 
@@ -35,16 +39,37 @@ public class RequestControllerImpl implements RequestController {
 
     @Override
     @GetMapping("/all")
-    public List<RequestDto> findAllRequests() {
-        log.info("Поиск всех существующих запросов на предметы от других пользователей");
-        return requestService.findAllRequests();
+    public ResponseEntity<List<RequestDto>> findAllRequests(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("Поиск всех существующих запросов на предметы от других пользователей. " +
+                "UserId: {}, from: {}, size: {}, cursor: {}", userId, from, size, cursor);
+        return toPage(requestService.findAllRequests(userId, from, size, cursor), size);
     }
 
     @Override
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public RequestDto findRequestById(@PathVariable long id) {
+    public ResponseEntity<RequestDto> findRequestById(@PathVariable long id, WebRequest request) {
         log.info("Поиск запроса на предмет по id: {}.", id);
-        return requestService.findRequestById(id);
+        String etag = requestService.getRequestETag(id);
+
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(requestService.findRequestById(id));
+    }
+
+    private ResponseEntity<List<RequestDto>> toPage(List<RequestDto> requests, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (size != null && !requests.isEmpty() && requests.size() == size) {
+            RequestDto last = requests.getLast();
+            response.header(Paging.NEXT_CURSOR_HEADER, KeysetCursor.after(last.getCreated(), last.getId()).encode());
+        }
+
+        return response.body(requests);
     }
 }
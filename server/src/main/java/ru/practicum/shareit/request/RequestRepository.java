@@ -1,11 +1,35 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.Request;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
 
     List<Request> findAllByRequestorId(long requestorId);
+
+    @Query("SELECT r FROM Request r " +
+            "WHERE r.requestor.id <> :requestorId " +
+            "AND (r.created < :cursorCreated OR (r.created = :cursorCreated AND r.id < :cursorId)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<Request> findAllOtherRequests(@Param("requestorId") long requestorId,
+                                       @Param("cursorCreated") LocalDateTime cursorCreated,
+                                       @Param("cursorId") long cursorId,
+                                       Pageable pageable);
+
+    @Query("SELECT r.version FROM Request r WHERE r.id = :requestId")
+    Optional<Long> findVersionById(@Param("requestId") long requestId);
+
+    // Ответ по запросу содержит названия откликнувшихся вещей: их добавление и переименование меняют версию.
+    @Modifying
+    @Query("UPDATE Request r SET r.version = r.version + 1 WHERE r.id IN :requestIds")
+    void incrementVersions(@Param("requestIds") Collection<Long> requestIds);
 }
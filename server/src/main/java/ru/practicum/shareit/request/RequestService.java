@@ -11,7 +11,9 @@ public interface RequestService {
 
     List<RequestDto> findAllRequestsByRequestorId(long requestorId);
 
-    List<RequestDto> findAllRequests();
+    List<RequestDto> findAllRequests(long userId, int from, Integer size, String cursor);
 
     RequestDto findRequestById(long id);
+
+    String getRequestETag(long id);
 }
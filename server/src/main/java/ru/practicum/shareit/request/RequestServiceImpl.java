@@ -6,6 +6,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.paging.KeysetCursor;
+import ru.practicum.shareit.paging.Paging;
 import ru.practicum.shareit.request.dto.PostRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.model.Request;
@@ -24,6 +27,7 @@ public class RequestServiceImpl implements RequestService {
     private final RequestRepository requestRepository;
     private final RequestMapper requestMapper;
     private final UserRepository userRepository;
+    private final ResultLog resultLog;
 
     @Override
     public RequestDto createRequest(PostRequestDto request, long requestorId) {
@@ -32,7 +36,7 @@ public class RequestServiceImpl implements RequestService {
         Request itemRequest = requestMapper.mapToRequest(request, requestor);
         Request savedRequest = requestRepository.save(itemRequest);
         RequestDto requestDto = requestMapper.mapToRequestDto(savedRequest);
-        log.info("Запрос на предмет сохранен: {}", requestDto);
+        log.info("Запрос на предмет {} пользователя {} сохранен", requestDto.getId(), requestorId);
 
         return requestDto;
     }
@@ -45,19 +49,24 @@ public class RequestServiceImpl implements RequestService {
                 .sorted(Comparator.comparing(Request::getCreated).reversed())
                 .map(requestMapper::mapToRequestDto)
                 .collect(Collectors.toList());
-        log.info("Получены запросы на предметы пользователя с id: {}. \nRequests: {}", requestorId, requests);
+        resultLog.info(log, requests, RequestDto::getId, "Получены запросы на предметы пользователя с id {}: {}",
+                requestorId);
 
         return requests;
     }
 
     @Override
-    public List<RequestDto> findAllRequests() {
-        List<RequestDto> requests = requestRepository.findAll()
+    @Transactional(readOnly = true)
+    public List<RequestDto> findAllRequests(long userId, int from, Integer size, String cursor) {
+        validateRequestor(userId);
+        KeysetCursor seek = KeysetCursor.decode(cursor);
+
+        List<RequestDto> requests = requestRepository.findAllOtherRequests(userId,
+                        seek.getPosition(), seek.getId(), Paging.toPageable(from, size, cursor))
                 .stream()
-                .sorted((Comparator.comparing(Request::getCreated).reversed()))
                 .map(requestMapper::mapToRequestDto)
                 .collect(Collectors.toList());
-        log.info("Получен список запросов всех пользователей: {}", requests);
+        resultLog.info(log, requests, RequestDto::getId, "Получен список запросов всех пользователей: {}");
 
         return requests;
     }
@@ -66,11 +75,20 @@ public class RequestServiceImpl implements RequestService {
     public RequestDto findRequestById(long id) {
         Request request = getRequestById(id);
         RequestDto requestDto = requestMapper.mapToRequestDto(request);
-        log.info("Получен запрос вещи с возможными вариантами аренды: {}", requestDto);
+        log.info("Получен запрос вещи {}: вариантов аренды {}", id,
+                requestDto.getItems() != null ? requestDto.getItems().size() : 0);
 
         return requestDto;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getRequestETag(long id) {
+        return requestRepository.findVersionById(id)
+                .map(version -> "request-" + id + "-" + version)
+                .orElseThrow(() -> new NotFoundException(String.format("Запрос на предмет с id: '%s' не был найден", id)));
+    }
+
     private User getUserById(long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id: '%s' " +
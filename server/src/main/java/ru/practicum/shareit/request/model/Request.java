@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -10,17 +11,17 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
-@Table(name = "requests")
+@Table(name = "requests", indexes = @Index(name = "idx_requests_created", columnList = "created DESC, id DESC"))
 @Getter
 @Setter
 @ToString(exclude = {"requestor", "items"})
 @EqualsAndHashCode(exclude = {"requestor", "items"})
-@AllArgsConstructor
 @NoArgsConstructor
 public class Request {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Long id;
 
     @Column
@@ -34,5 +35,19 @@ public class Request {
     private LocalDateTime created;
 
     @OneToMany(mappedBy = "request", fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private Set<Item> items;
+
+    // Версия для ETag; увеличивается и при добавлении или переименовании вещи по запросу.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    public Request(Long id, String description, User requestor, LocalDateTime created, Set<Item> items) {
+        this.id = id;
+        this.description = description;
+        this.requestor = requestor;
+        this.created = created;
+        this.items = items;
+    }
 }
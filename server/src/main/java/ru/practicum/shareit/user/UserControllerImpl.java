@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.user.dto.PostUserRequest;
 import ru.practicum.shareit.user.dto.PatchUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -42,6 +43,14 @@ public class UserControllerImpl implements UserController {
         return userService.createUser(request);
     }
 
+    @Override
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchResponse<UserDto> createUsers(@RequestBody List<PostUserRequest> requests) {
+        log.info("Запрос на пакетное добавление пользователей: {} шт.", requests.size());
+        return userService.createUsers(requests);
+    }
+
     @Override
     @PatchMapping("/{userId}")
     @ResponseStatus(HttpStatus.OK)
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.batch.BatchResponse;
 import ru.practicum.shareit.user.dto.PostUserRequest;
 import ru.practicum.shareit.user.dto.PatchUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -14,6 +15,8 @@ public interface UserService {
 
     UserDto createUser(PostUserRequest request);
 
+    BatchResponse<UserDto> createUsers(List<PostUserRequest> requests);
+
     UserDto patchUser(PatchUserRequest request, long userId);
 
     void deleteUser(long id);
@@ -4,15 +4,26 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchCollector;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.exception.ArgumentsNotValidException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.logging.ResultLog;
 import ru.practicum.shareit.user.dto.PostUserRequest;
 import ru.practicum.shareit.user.dto.PatchUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +33,9 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ResultLog resultLog;
 
     @Override
     @Transactional(readOnly = true)
@@ -30,7 +44,7 @@ public class UserServiceImpl implements UserService {
                 .stream()
                 .map(userMapper::mapToUserDto)
                 .collect(Collectors.toList());
-        log.info("Получен результат: {}", result);
+        resultLog.info(log, result, UserDto::getId, "Получены пользователи: {}");
 
         return result;
     }
@@ -41,7 +55,7 @@ public class UserServiceImpl implements UserService {
         UserDto result = userRepository.findById(id)
                 .map(userMapper::mapToUserDto)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + id + " не был найден"));
-        log.info("Получен результат: {}", result);
+        log.info("Получен пользователь {}", id);
         return result;
     }
 
@@ -54,11 +68,58 @@ public class UserServiceImpl implements UserService {
         }
 
         User user = userRepository.save(userMapper.mapToUser(request));
-        log.info("Получен результат: {}", user);
+        log.info("Пользователь {} сохранен", user.getId());
 
         return userMapper.mapToUserDto(user);
     }
 
+    @Override
+    public BatchResponse<UserDto> createUsers(List<PostUserRequest> requests) {
+        BatchCollector<UserDto> batch = new BatchCollector<>(requests.size());
+        Set<String> emails = requests.stream()
+                .filter(Objects::nonNull)
+                .map(PostUserRequest::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // Один запрос на весь пакет; дубли внутри пакета отсекаются тем же множеством.
+        Set<String> takenEmails = new HashSet<>();
+
+        if (!emails.isEmpty()) {
+            takenEmails.addAll(userRepository.findEmailsIn(emails));
+        }
+
+        Map<Integer, User> pending = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            PostUserRequest request = requests.get(i);
+
+            batch.check(index, () -> {
+                if (request == null) {
+                    throw new ArgumentsNotValidException("Элемент пакета с индексом " + index + " не задан");
+                }
+
+                // Пустое поле уронило бы вставку всего пакета на ограничении NOT NULL.
+                if (isBlank(request.getName()) || isBlank(request.getEmail())) {
+                    throw new ArgumentsNotValidException("Имя и email пользователя не могут быть пустыми");
+                }
+
+                if (!takenEmails.add(request.getEmail())) {
+                    throw new ValidationException("Пользователь с email: " + request.getEmail() +
+                            " уже зарегистрирован");
+                }
+
+                return userMapper.mapToUser(request);
+            }).ifPresent(user -> pending.put(index, user));
+        }
+
+        batch.created(pending, userRepository.saveAllAndFlush(pending.values()), userMapper::mapToUserDto);
+        BatchResponse<UserDto> response = batch.toResponse();
+        log.info("Пакет пользователей обработан: создано {}, ошибок {}", response.getCreated(), response.getFailed());
+
+        return response;
+    }
+
     @Override
     public UserDto patchUser(PatchUserRequest request, long userId) {
         User existingUser = userRepository.findById(userId)
@@ -72,6 +133,9 @@ public class UserServiceImpl implements UserService {
             throw new ValidationException("Пользователь с email: " + email + " уже зарегистрирован");
         }
 
+        boolean changed = email != null && !email.equals(existingUser.getEmail())
+                || name != null && !name.equals(existingUser.getName());
+
         if (email != null) {
             existingUser.setEmail(email);
         }
@@ -81,7 +145,13 @@ public class UserServiceImpl implements UserService {
         }
 
         User user = userRepository.save(existingUser);
-        log.info("Получен результат: {}", user);
+        log.info("Пользователь {} обновлен", user.getId());
+
+        // Пользователь встроен в ответы по предметам и бронированиям: их ETag должны смениться вместе с ним.
+        if (changed) {
+            itemService.refreshUserItems(userId);
+            bookingService.refreshBookerBookings(userId);
+        }
 
         return userMapper.mapToUserDto(user);
     }
@@ -98,6 +168,10 @@ public class UserServiceImpl implements UserService {
         log.info("Пользователь с id {} был удален", id);
     }
 
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
     private boolean checkContainsDuplicateEmail(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -0,0 +1,65 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (LOWER(description) gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Пересекающиеся активные бронирования, найденные перед добавлением bookings_no_overlap. Автоматически они не
+-- отклоняются: какое из двух оставить, решает человек, а до тех пор ограничение не добавляется.
+CREATE TABLE IF NOT EXISTS bookings_overlap_conflicts (
+    booking_id             BIGINT                      NOT NULL,
+    conflicting_booking_id BIGINT                      NOT NULL,
+    detected_at            TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT pk_bookings_overlap_conflicts PRIMARY KEY (booking_id, conflicting_booking_id)
+);
+
+DO '
+DECLARE
+    conflicts BIGINT;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''bookings_no_overlap'') THEN
+        DELETE FROM bookings_overlap_conflicts;
+
+        INSERT INTO bookings_overlap_conflicts (booking_id, conflicting_booking_id)
+        SELECT earlier.id, later.id
+        FROM bookings earlier
+        JOIN bookings later ON later.item_id = earlier.item_id AND later.id > earlier.id
+        WHERE earlier.status IN (''WAITING'', ''APPROVED'')
+          AND later.status IN (''WAITING'', ''APPROVED'')
+          AND tsrange(earlier.start_time, earlier.end_time) && tsrange(later.start_time, later.end_time);
+
+        GET DIAGNOSTICS conflicts = ROW_COUNT;
+
+        IF conflicts > 0 THEN
+            RAISE WARNING ''bookings_no_overlap не добавлено, пересечений: %'', conflicts;
+        ELSE
+            ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+                EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+                WHERE (status IN (''WAITING'', ''APPROVED''));
+        END IF;
+    END IF;
+END
+';
+
+-- Перевод существующей базы с IDENTITY на последовательности: снимаем IDENTITY и продолжаем нумерацию с max(id) + 1.
+DO '
+DECLARE
+    tbl TEXT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY[''users'', ''requests'', ''items'', ''bookings'', ''comments''] LOOP
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = tbl
+                     AND column_name = ''id'' AND is_identity = ''YES'') THEN
+            EXECUTE format(''ALTER TABLE %I ALTER COLUMN id DROP IDENTITY'', tbl);
+            EXECUTE format(''SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 1, false)'',
+                           tbl || ''_seq'', tbl);
+        END IF;
+    END LOOP;
+END
+';
+
+-- Версии для ETag в базах, созданных до их появления.
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
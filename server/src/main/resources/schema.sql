@@ -1,43 +1,63 @@
+-- Шаг последовательностей совпадает с allocationSize сущностей: id выделяются блоками (pooled-lo).
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id    BIGINT PRIMARY KEY,
     name  VARCHAR(50)         NOT NULL,
     email VARCHAR(100) UNIQUE NOT NULL
 );
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id           BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id           BIGINT PRIMARY KEY,
     description  VARCHAR(1000),
     requestor_id BIGINT                      NOT NULL REFERENCES users (id),
-    created      TIMESTAMP WITHOUT TIME ZONE NOT NULL
+    created      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    version      BIGINT                      NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id           BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id           BIGINT PRIMARY KEY,
     name         VARCHAR(50) NOT NULL,
     description  VARCHAR(1000),
     is_available BOOLEAN     NOT NULL,
     owner_id     BIGINT      NOT NULL REFERENCES users (id),
-    request_id   BIGINT UNIQUE REFERENCES requests (id)
+    request_id   BIGINT UNIQUE REFERENCES requests (id),
+    version      BIGINT      NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id         BIGINT PRIMARY KEY,
     start_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_time   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id    BIGINT                      NOT NULL REFERENCES items (id),
     booker_id  BIGINT                      NOT NULL REFERENCES users (id),
-    status     VARCHAR(50)                 NOT NULL
+    status     VARCHAR(50)                 NOT NULL,
+    version    BIGINT                      NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id        BIGINT PRIMARY KEY,
     text      VARCHAR(1000),
     item_id   BIGINT                      NOT NULL REFERENCES items (id),
     author_id BIGINT                      NOT NULL REFERENCES users (id),
     created   TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_booker_status_end ON bookings (item_id, booker_id, status, end_time);
+CREATE INDEX IF NOT EXISTS idx_bookings_status_booker ON bookings (status, booker_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_time);
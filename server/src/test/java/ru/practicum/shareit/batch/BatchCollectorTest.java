@@ -0,0 +1,56 @@
+package ru.practicum.shareit.batch;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.AccessForbiddenException;
+import ru.practicum.shareit.exception.ArgumentsNotValidException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BatchCollectorTest {
+
+    @Test
+    void constructor_shouldRejectOversizedBatch() {
+        assertThatThrownBy(() -> new BatchCollector<String>(BatchCollector.MAX_SIZE + 1))
+                .isInstanceOf(ArgumentsNotValidException.class);
+    }
+
+    @Test
+    void toResponse_shouldKeepOriginalIndexesAndMapExceptionsToStatuses() {
+        BatchCollector<String> batch = new BatchCollector<>(5);
+        Map<Integer, Integer> pending = new LinkedHashMap<>();
+
+        batch.check(0, () -> 10).ifPresent(value -> pending.put(0, value));
+        batch.check(1, () -> {
+            throw new NotFoundException("не найден");
+        });
+        batch.check(2, () -> {
+            throw new ValidationException("конфликт");
+        });
+        batch.check(3, () -> {
+            throw new AccessForbiddenException("запрещено");
+        });
+        batch.check(4, () -> 40).ifPresent(value -> pending.put(4, value));
+        batch.created(pending, List.of(11, 41), String::valueOf);
+
+        BatchResponse<String> response = batch.toResponse();
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults())
+                .extracting(BatchResult::getIndex, BatchResult::getStatus, BatchResult::getResult)
+                .containsExactly(
+                        tuple(0, 201, "11"),
+                        tuple(1, 404, null),
+                        tuple(2, 409, null),
+                        tuple(3, 403, null),
+                        tuple(4, 201, "41"));
+    }
+}
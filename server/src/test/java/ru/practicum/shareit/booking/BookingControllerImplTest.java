@@ -6,18 +6,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.paging.KeysetCursor;
 import ru.practicum.shareit.booking.model.State;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
+import ru.practicum.shareit.paging.Paging;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,14 +44,28 @@ class BookingControllerImplTest {
     void getBooking_shouldReturnBooking() throws Exception {
         BookingDto booking = new BookingDto();
         booking.setId(1L);
+        Mockito.when(bookingService.getBookingETag(1L, 1L)).thenReturn("booking-1-0-0-0");
         Mockito.when(bookingService.getBooking(1L, 1L)).thenReturn(booking);
 
         mockMvc.perform(get("/bookings/1")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"booking-1-0-0-0\""))
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    void getBooking_whenETagMatches_shouldReturnNotModified() throws Exception {
+        Mockito.when(bookingService.getBookingETag(1L, 1L)).thenReturn("booking-1-1-0-0");
+
+        mockMvc.perform(get("/bookings/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", "\"booking-1-1-0-0\""))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(bookingService, Mockito.never()).getBooking(1L, 1L);
+    }
+
     @Test
     void addBooking_shouldReturnCreatedBooking() throws Exception {
         PostBookingRequest request = new PostBookingRequest();
@@ -63,6 +84,40 @@ class BookingControllerImplTest {
                 .andExpect(jsonPath("$.id").value(2L));
     }
 
+    @Test
+    void addBooking_withCbor_shouldReadRequestAndAnswerInCbor() throws Exception {
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        PostBookingRequest request = new PostBookingRequest();
+        request.setItemId(2L);
+        request.setStart(LocalDateTime.now().plusDays(1));
+        request.setEnd(LocalDateTime.now().plusDays(2));
+        BookingDto booking = new BookingDto();
+        booking.setId(2L);
+        booking.setStart(request.getStart());
+        Mockito.when(bookingService.addBooking(Mockito.eq(1L), Mockito.eq(request))).thenReturn(booking);
+
+        byte[] body = mockMvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(booking, cborMapper.readValue(body, BookingDto.class));
+    }
+
+    @Test
+    void getUserBookings_withoutAccept_shouldAnswerInJson() throws Exception {
+        Mockito.when(bookingService.getUserBookings(1L, State.ALL, 0, null, null)).thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     void considerBooking_shouldReturnUpdatedBooking() throws Exception {
         BookingDto booking = new BookingDto();
@@ -80,7 +135,7 @@ class BookingControllerImplTest {
     void getUserBookings_shouldReturnList() throws Exception {
         BookingDto booking = new BookingDto();
         booking.setId(4L);
-        Mockito.when(bookingService.getUserBookings(1L, State.ALL)).thenReturn(List.of(booking));
+        Mockito.when(bookingService.getUserBookings(1L, State.ALL, 0, null, null)).thenReturn(List.of(booking));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L)
@@ -93,7 +148,7 @@ class BookingControllerImplTest {
     void getOwnedItemsBookings_shouldReturnList() throws Exception {
         BookingDto booking = new BookingDto();
         booking.setId(5L);
-        Mockito.when(bookingService.getOwnedItemsBookings(1L, State.ALL)).thenReturn(List.of(booking));
+        Mockito.when(bookingService.getOwnedItemsBookings(1L, State.ALL, 0, null, null)).thenReturn(List.of(booking));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
@@ -101,4 +156,39 @@ class BookingControllerImplTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(5L));
     }
+
+    @Test
+    void getUserBookings_shouldReturnNextCursor_whenPageIsFull() throws Exception {
+        BookingDto booking = new BookingDto();
+        booking.setId(6L);
+        booking.setStart(LocalDateTime.of(2030, 1, 1, 12, 0));
+        Mockito.when(bookingService.getUserBookings(1L, State.ALL, 0, 1, null)).thenReturn(List.of(booking));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Paging.NEXT_CURSOR_HEADER,
+                        KeysetCursor.after(booking.getStart(), 6L).encode()))
+                .andExpect(jsonPath("$[0].id").value(6L));
+    }
+
+    @Test
+    void getBookingCounts_shouldReturnCountsForBookerAndOwner() throws Exception {
+        Mockito.when(bookingService.getUserBookingCounts(1L)).thenReturn(new BookingCountsDto(4, 1, 1, 2, 1, 1));
+        Mockito.when(bookingService.getOwnedItemsBookingCounts(1L)).thenReturn(new BookingCountsDto(2, 0, 0, 2, 2, 0));
+
+        mockMvc.perform(get("/bookings/counts")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(4))
+                .andExpect(jsonPath("$.future").value(2))
+                .andExpect(jsonPath("$.rejected").value(1));
+
+        mockMvc.perform(get("/bookings/owner/counts")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(2))
+                .andExpect(jsonPath("$.waiting").value(2));
+    }
 }
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.paging.KeysetCursor;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.RequestMapperImpl;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookingMapperImpl.class, ItemMapperImpl.class, UserMapperImpl.class, RequestMapperImpl.class})
+class BookingListingStatementsDataJpaTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingMapper bookingMapper;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+    private Statistics statistics;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(new User(null, "owner", "owner@email.com"));
+        booker = em.persist(new User(null, "booker", "booker@email.com"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Количество запросов при выдаче бронирований пользователя не зависит от их числа")
+    void bookerListingIssuesConstantNumberOfStatements() {
+        Supplier<List<Booking>> listing = () -> bookingRepository.findAllByBookerId(booker.getId(),
+                KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(), Pageable.unpaged());
+
+        long few = countStatements(2, listing);
+        long many = countStatements(12, listing);
+
+        assertThat(many).isEqualTo(few).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Количество запросов при выдаче бронирований владельца не зависит от их числа")
+    void ownerListingIssuesConstantNumberOfStatements() {
+        Supplier<List<Booking>> listing = () -> bookingRepository.findFutureByOwnerId(owner.getId(),
+                LocalDateTime.now(), KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(),
+                Pageable.unpaged());
+
+        long few = countStatements(2, listing);
+        long many = countStatements(12, listing);
+
+        assertThat(many).isEqualTo(few).isLessThanOrEqualTo(2);
+    }
+
+    private long countStatements(int bookings, Supplier<List<Booking>> listing) {
+        for (int i = 0; i < bookings; i++) {
+            persistBookingOnRequestedItem();
+        }
+
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        List<BookingDto> result = listing.get().stream()
+                .map(bookingMapper::mapToBookingDto)
+                .toList();
+
+        assertThat(result).allSatisfy(dto -> {
+            assertThat(dto.getItem().getOwner().getName()).isEqualTo("owner");
+            assertThat(dto.getItem().getRequest().getItems()).hasSize(1);
+            assertThat(dto.getBooker().getName()).isEqualTo("booker");
+        });
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void persistBookingOnRequestedItem() {
+        sequence++;
+        Request request = em.persist(new Request(null, "request " + sequence, booker, LocalDateTime.now(), null));
+        Item item = em.persist(new Item(null, "item " + sequence, "desc", true, owner, request));
+        LocalDateTime start = LocalDateTime.now().plusDays(sequence);
+        em.persist(new Booking(null, start, start.plusHours(1), item, booker, Status.WAITING));
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.PostBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingOverlapConcurrencyTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "overlap-owner", "overlap-owner@email.com"));
+        users.add(owner);
+
+        for (int i = 0; i < THREADS; i++) {
+            users.add(userRepository.save(new User(null, "overlap-booker-" + i, "overlap-booker-" + i + "@email.com")));
+        }
+
+        item = itemRepository.save(new Item(null, "overlap item", "desc", true, owner, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                .toList());
+        itemRepository.delete(item);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    @DisplayName("Параллельные бронирования одной вещи не сохраняют пересекающихся периодов")
+    void concurrentBookingsNeverOverlap() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            long bookerId = users.get(i + 1).getId();
+            PostBookingRequest request = new PostBookingRequest();
+            request.setItemId(item.getId());
+            request.setStart(base.plusHours(i % 4));
+            request.setEnd(base.plusHours(i % 4 + 3));
+
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.addBooking(bookerId, request);
+                    return true;
+                } catch (ValidationException e) {
+                    return false;
+                }
+            }));
+        }
+
+        start.countDown();
+        int created = 0;
+
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                created++;
+            }
+        }
+
+        executor.shutdown();
+
+        List<Booking> active = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                .filter(booking -> booking.getStatus() == Status.WAITING || booking.getStatus() == Status.APPROVED)
+                .toList();
+
+        assertThat(created).isPositive().isEqualTo(active.size());
+
+        for (Booking first : active) {
+            for (Booking second : active) {
+                if (!first.getId().equals(second.getId())) {
+                    assertThat(first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd()))
+                            .as("Пересечение бронирований %s и %s", first.getId(), second.getId())
+                            .isFalse();
+                }
+            }
+        }
+    }
+}
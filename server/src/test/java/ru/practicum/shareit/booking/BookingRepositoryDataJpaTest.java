@@ -5,7 +5,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingVersion;
+import ru.practicum.shareit.paging.KeysetCursor;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -13,6 +18,7 @@ import ru.practicum.shareit.user.model.User;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -47,37 +53,42 @@ class BookingRepositoryDataJpaTest {
     }
 
     @Test
-    @DisplayName("findAllByBookerIdOrderByStartDesc возвращает бронирования пользователя")
-    void findAllByBookerIdOrderByStartDesc() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(booker.getId());
+    @DisplayName("findAllByBookerId возвращает бронирования пользователя")
+    void findAllByBookerId() {
+        List<Booking> bookings = bookingRepository.findAllByBookerId(booker.getId(),
+                KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(), Pageable.unpaged());
         assertThat(bookings).isNotEmpty().contains(booking);
     }
 
     @Test
-    @DisplayName("findAllByItemOwnerIdOrderByStartDesc возвращает бронирования владельца")
-    void findAllByItemOwnerIdOrderByStartDesc() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(owner.getId());
+    @DisplayName("findAllByOwnerId возвращает бронирования владельца")
+    void findAllByOwnerId() {
+        List<Booking> bookings = bookingRepository.findAllByOwnerId(owner.getId(),
+                KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(), Pageable.unpaged());
         assertThat(bookings).isNotEmpty().contains(booking);
     }
 
     @Test
-    @DisplayName("findAllByBookerIdAndStatusOrderByStartDesc возвращает по статусу")
-    void findAllByBookerIdAndStatusOrderByStartDesc() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(booker.getId(), Status.APPROVED);
+    @DisplayName("findAllByBookerIdAndStatus возвращает по статусу")
+    void findAllByBookerIdAndStatus() {
+        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStatus(booker.getId(), Status.APPROVED,
+                KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(), Pageable.unpaged());
         assertThat(bookings).isNotEmpty().contains(booking);
     }
 
     @Test
     @DisplayName("findCurrentByBookerId возвращает текущие бронирования")
     void findCurrentByBookerId() {
-        List<Booking> bookings = bookingRepository.findCurrentByBookerId(booker.getId(), LocalDateTime.now());
+        List<Booking> bookings = bookingRepository.findCurrentByBookerId(booker.getId(), LocalDateTime.now(),
+                KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(), Pageable.unpaged());
         assertThat(bookings).isNotEmpty().contains(booking);
     }
 
     @Test
     @DisplayName("findPastByBookerId не возвращает будущие бронирования")
     void findPastByBookerId() {
-        List<Booking> bookings = bookingRepository.findPastByBookerId(booker.getId(), LocalDateTime.now().minusDays(3));
+        List<Booking> bookings = bookingRepository.findPastByBookerId(booker.getId(), LocalDateTime.now().minusDays(3),
+                KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(), Pageable.unpaged());
         assertThat(bookings).isEmpty();
     }
 
@@ -90,10 +101,31 @@ class BookingRepositoryDataJpaTest {
                 item, booker, Status.WAITING);
         em.persist(future);
         em.flush();
-        List<Booking> bookings = bookingRepository.findFutureByBookerId(booker.getId(), LocalDateTime.now());
+        List<Booking> bookings = bookingRepository.findFutureByBookerId(booker.getId(), LocalDateTime.now(),
+                KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(), Pageable.unpaged());
         assertThat(bookings).contains(future);
     }
 
+    @Test
+    @DisplayName("findAllByBookerId с курсором возвращает следующую страницу без пересечений")
+    void findAllByBookerId_withCursor() {
+        LocalDateTime sameStart = LocalDateTime.now().plusDays(10).withNano(0);
+        Booking first = new Booking(null, sameStart, sameStart.plusDays(1), item, booker, Status.WAITING);
+        Booking second = new Booking(null, sameStart, sameStart.plusDays(2), item, booker, Status.WAITING);
+        em.persist(first);
+        em.persist(second);
+        em.flush();
+
+        List<Booking> firstPage = bookingRepository.findAllByBookerId(booker.getId(),
+                KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(), PageRequest.of(0, 2));
+        Booking last = firstPage.getLast();
+        List<Booking> secondPage = bookingRepository.findAllByBookerId(booker.getId(),
+                last.getStart(), last.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).containsExactly(second, first);
+        assertThat(secondPage).containsExactly(booking);
+    }
+
     @Test
     @DisplayName("findFirstByItemIdAndBookerIdAndStatusAndEndBefore находит бронирование")
     void findFirstByItemIdAndBookerIdAndStatusAndEndBefore() {
@@ -107,4 +139,129 @@ class BookingRepositoryDataJpaTest {
                 item.getId(), booker.getId(), Status.APPROVED, LocalDateTime.now());
         assertThat(found).isPresent();
     }
+
+    @Test
+    @DisplayName("findLastByItemIdIn и findNextByItemIdIn учитывают только подтверждённые бронирования")
+    void findLastAndNextByItemIdIn() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking oldPast = new Booking(null, now.minusDays(10), now.minusDays(9), item, booker, Status.APPROVED);
+        Booking lastPast = new Booking(null, now.minusDays(5), now.minusDays(4), item, booker, Status.APPROVED);
+        Booking rejectedPast = new Booking(null, now.minusDays(3), now.minusDays(3).plusHours(1),
+                item, booker, Status.REJECTED);
+        Booking waitingFuture = new Booking(null, now.plusDays(3), now.plusDays(4), item, booker, Status.WAITING);
+        Booking nextFuture = new Booking(null, now.plusDays(5), now.plusDays(6), item, booker, Status.APPROVED);
+        Booking laterFuture = new Booking(null, now.plusDays(7), now.plusDays(8), item, booker, Status.APPROVED);
+        List.of(oldPast, lastPast, rejectedPast, waitingFuture, nextFuture, laterFuture).forEach(em::persist);
+        em.flush();
+
+        List<Booking> last = bookingRepository.findLastByItemIdIn(List.of(item.getId()), Status.APPROVED, now);
+        List<Booking> next = bookingRepository.findNextByItemIdIn(List.of(item.getId()), Status.APPROVED, now);
+
+        assertThat(last).containsExactly(lastPast);
+        assertThat(next).containsExactly(nextFuture);
+    }
+
+    @Test
+    @DisplayName("findAllByItemIdInOverlapping возвращает активные бронирования, пересекающие период")
+    void findAllByItemIdInOverlapping() {
+        // Граница сравнивается точно, поэтому время без наносекунд, которые база округляет до микросекунд.
+        LocalDateTime end = LocalDateTime.now().plusDays(10).withNano(0);
+        Booking later = new Booking(null, end.minusDays(1), end, item, booker, Status.WAITING);
+        em.persist(later);
+        em.flush();
+
+        List<Booking> overlapping = bookingRepository.findAllByItemIdInOverlapping(List.of(item.getId()),
+                List.of(Status.WAITING, Status.APPROVED), end.minusHours(1), end.plusDays(1));
+        List<Booking> afterEnd = bookingRepository.findAllByItemIdInOverlapping(List.of(item.getId()),
+                List.of(Status.WAITING, Status.APPROVED), end, end.plusDays(1));
+
+        assertThat(overlapping).containsExactly(later);
+        assertThat(afterEnd).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findItemIdsWithoutApprovedOverlap оставляет вещи без подтвержденных бронирований в периоде")
+    void findItemIdsWithoutApprovedOverlap() {
+        Item waitingOnly = new Item(null, "item2", "desc", true, owner, null);
+        Item free = new Item(null, "item3", "desc", true, owner, null);
+        em.persist(waitingOnly);
+        em.persist(free);
+        em.persist(new Booking(null, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1),
+                waitingOnly, booker, Status.WAITING));
+        em.flush();
+
+        Set<Long> result = bookingRepository.findItemIdsWithoutApprovedOverlap(
+                List.of(item.getId(), waitingOnly.getId(), free.getId()), LocalDateTime.now(),
+                LocalDateTime.now().plusHours(1));
+
+        assertThat(result).containsExactlyInAnyOrder(waitingOnly.getId(), free.getId());
+    }
+
+    @Test
+    @DisplayName("countByOwnerId считает бронирования владельца по каждому состоянию одним запросом")
+    void countByOwnerId() {
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(new Booking(null, now.minusDays(5), now.minusDays(4), item, booker, Status.APPROVED));
+        em.persist(new Booking(null, now.plusDays(3), now.plusDays(4), item, booker, Status.WAITING));
+        em.persist(new Booking(null, now.plusDays(5), now.plusDays(6), item, booker, Status.REJECTED));
+        Item foreignItem = new Item(null, "foreign", "desc", true, booker, null);
+        em.persist(foreignItem);
+        em.persist(new Booking(null, now.plusDays(1), now.plusDays(2), foreignItem, owner, Status.WAITING));
+        em.flush();
+
+        BookingCountsDto counts = bookingRepository.countByOwnerId(owner.getId(), now);
+
+        assertThat(counts).isEqualTo(new BookingCountsDto(4, 1, 1, 2, 1, 1));
+        assertThat(bookingRepository.countByOwnerId(booker.getId() + owner.getId() + 100, now))
+                .isEqualTo(new BookingCountsDto());
+    }
+
+    @Test
+    @DisplayName("countByBookerId совпадает с размерами списков find*ByBookerId при том же моменте времени")
+    void countByBookerId() {
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(new Booking(null, now.minusDays(5), now.minusDays(4), item, booker, Status.APPROVED));
+        em.persist(new Booking(null, now.plusDays(3), now.plusDays(4), item, booker, Status.WAITING));
+        em.persist(new Booking(null, now.plusDays(5), now.plusDays(6), item, booker, Status.REJECTED));
+        em.persist(new Booking(null, now.plusDays(1), now.plusDays(2), item, owner, Status.WAITING));
+        em.flush();
+        LocalDateTime cursorStart = KeysetCursor.FIRST.getPosition();
+        long cursorId = KeysetCursor.FIRST.getId();
+        long bookerId = booker.getId();
+
+        BookingCountsDto counts = bookingRepository.countByBookerId(bookerId, now);
+
+        assertThat(counts).isEqualTo(new BookingCountsDto(
+                bookingRepository.findAllByBookerId(bookerId, cursorStart, cursorId, Pageable.unpaged()).size(),
+                bookingRepository.findCurrentByBookerId(bookerId, now, cursorStart, cursorId, Pageable.unpaged())
+                        .size(),
+                bookingRepository.findPastByBookerId(bookerId, now, cursorStart, cursorId, Pageable.unpaged())
+                        .size(),
+                bookingRepository.findFutureByBookerId(bookerId, now, cursorStart, cursorId, Pageable.unpaged())
+                        .size(),
+                bookingRepository.findAllByBookerIdAndStatus(bookerId, Status.WAITING, cursorStart, cursorId,
+                        Pageable.unpaged()).size(),
+                bookingRepository.findAllByBookerIdAndStatus(bookerId, Status.REJECTED, cursorStart, cursorId,
+                        Pageable.unpaged()).size()));
+        assertThat(counts).isEqualTo(new BookingCountsDto(4, 1, 1, 2, 1, 1));
+    }
+
+    @Test
+    @DisplayName("findVersionById возвращает версии бронирования и вещи вместе с владельцем и арендатором")
+    void findVersionById() {
+        booking.setStatus(Status.REJECTED);
+        em.flush();
+
+        assertThat(bookingRepository.findVersionById(booking.getId()))
+                .contains(new BookingVersion(booking.getId(), 1, 0, null, owner.getId(), booker.getId()));
+    }
+
+    @Test
+    @DisplayName("incrementVersionsByBookerId увеличивает версии только бронирований арендатора")
+    void incrementVersionsByBookerId() {
+        bookingRepository.incrementVersionsByBookerId(booker.getId());
+        bookingRepository.incrementVersionsByBookerId(owner.getId());
+
+        assertThat(bookingRepository.findVersionById(booking.getId())).map(BookingVersion::version).contains(1L);
+    }
 }
@@ -4,11 +4,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.PostBookingRequest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.paging.KeysetCursor;
+import ru.practicum.shareit.booking.model.BookingVersion;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.AvailabilityTimeline;
+import ru.practicum.shareit.booking.timeline.DatabaseAvailabilityTimeline;
 import ru.practicum.shareit.exception.AccessForbiddenException;
 import ru.practicum.shareit.exception.ArgumentsNotValidException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -17,9 +25,16 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.logging.ResultLogProperties;
 import org.junit.jupiter.api.AfterEach;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.Collections;
 import java.util.List;
@@ -43,6 +58,8 @@ class BookingServiceImplTest {
         public Booking mapToBooking(PostBookingRequest request) {
             Booking booking = new Booking();
             booking.setId(100L);
+            booking.setStart(request.getStart());
+            booking.setEnd(request.getEnd());
             return booking;
         }
 
@@ -61,7 +78,8 @@ class BookingServiceImplTest {
     @BeforeEach
     void setUp() {
         closeable = MockitoAnnotations.openMocks(this);
-        bookingService = new BookingServiceImpl(bookingRepository, itemRepository, userRepository, bookingMapper);
+        bookingService = new BookingServiceImpl(bookingRepository, itemRepository, userRepository, bookingMapper,
+                new DatabaseAvailabilityTimeline(bookingRepository), new ResultLog(new ResultLogProperties()));
     }
 
     @Test
@@ -76,7 +94,7 @@ class BookingServiceImplTest {
         item.setAvailable(true);
         PostBookingRequest request = mock(PostBookingRequest.class);
         when(request.getItemId()).thenReturn(itemId);
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         ValidationException ex = assertThrows(ValidationException.class, () ->
@@ -100,9 +118,9 @@ class BookingServiceImplTest {
     void getUserBookings_shouldReturnEmptyList_whenNoBookings() {
         long userId = 1L;
         when(userRepository.existsById(userId)).thenReturn(true);
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(userId)).thenReturn(Collections.emptyList());
+        when(bookingRepository.findAllByBookerId(eq(userId), any(), anyLong(), any())).thenReturn(Collections.emptyList());
 
-        List<BookingDto> result = bookingService.getUserBookings(userId, State.ALL);
+        List<BookingDto> result = bookingService.getUserBookings(userId, State.ALL, 0, null, null);
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
@@ -123,14 +141,113 @@ class BookingServiceImplTest {
         when(request.getItemId()).thenReturn(itemId);
         when(request.getStart()).thenReturn(LocalDateTime.now().plusDays(1));
         when(request.getEnd()).thenReturn(LocalDateTime.now().plusDays(2));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         Booking booking = new Booking();
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         BookingDto result = bookingService.addBooking(userId, request);
         assertNotNull(result);
-        verify(bookingRepository).save(any());
+        verify(bookingRepository).saveAndFlush(any());
+    }
+
+    @Test
+    void addBooking_shouldThrowValidationException_whenIntervalOverlapsActiveBooking() {
+        long userId = 1L;
+        long itemId = 2L;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        PostBookingRequest request = validBookingRequest(userId, itemId, start, end);
+        Booking existing = new Booking();
+        existing.setStart(start.minusDays(1));
+        existing.setEnd(start.plusHours(1));
+        when(bookingRepository.findFirstByItemIdAndStatusInAndStartBeforeOrderByStartDesc(eq(itemId), any(), eq(end)))
+                .thenReturn(Optional.of(existing));
+
+        assertThrows(ValidationException.class, () -> bookingService.addBooking(userId, request));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void addBooking_shouldCreateBooking_whenPreviousBookingEndsAtStart() {
+        long userId = 1L;
+        long itemId = 2L;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        PostBookingRequest request = validBookingRequest(userId, itemId, start, end);
+        Booking existing = new Booking();
+        existing.setStart(start.minusDays(1));
+        existing.setEnd(start);
+        when(bookingRepository.findFirstByItemIdAndStatusInAndStartBeforeOrderByStartDesc(eq(itemId), any(), eq(end)))
+                .thenReturn(Optional.of(existing));
+        when(bookingRepository.saveAndFlush(any())).thenReturn(new Booking());
+
+        assertNotNull(bookingService.addBooking(userId, request));
+    }
+
+    @Test
+    void addBooking_shouldCheckTimeline_andAddSavedBookingToIt() {
+        AvailabilityTimeline timeline = mock(AvailabilityTimeline.class);
+        BookingServiceImpl service = new BookingServiceImpl(bookingRepository, itemRepository, userRepository,
+                bookingMapper, timeline, new ResultLog(new ResultLogProperties()));
+        long itemId = 2L;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        PostBookingRequest request = validBookingRequest(1L, itemId, start, start.plusDays(1));
+        Booking saved = new Booking();
+        when(bookingRepository.saveAndFlush(any())).thenReturn(saved);
+        when(timeline.isFree(itemId, start, start.plusDays(1))).thenReturn(false, true);
+
+        assertThrows(ValidationException.class, () -> service.addBooking(1L, request));
+        verify(bookingRepository, never()).saveAndFlush(any());
+
+        service.addBooking(1L, request);
+        verify(timeline).update(saved);
+        verify(bookingRepository, never()).findFirstByItemIdAndStatusInAndStartBeforeOrderByStartDesc(anyLong(),
+                any(), any());
+    }
+
+    @Test
+    void addBooking_shouldThrowValidationException_whenSaveViolatesExclusionConstraint() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        PostBookingRequest request = validBookingRequest(1L, 2L, start, start.plusDays(1));
+        SQLException sqlException = new SQLException("ERROR: conflicting key value violates exclusion constraint",
+                "23P01");
+        when(bookingRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new ConstraintViolationException("insert", sqlException, null)));
+
+        assertThrows(ValidationException.class, () -> bookingService.addBooking(1L, request));
+    }
+
+    @Test
+    void addBooking_shouldRethrow_whenSaveViolatesOtherConstraint() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        PostBookingRequest request = validBookingRequest(1L, 2L, start, start.plusDays(1));
+        SQLException sqlException = new SQLException("ERROR: insert or update violates foreign key constraint " +
+                "\"bookings_item_id_fkey\", bookings_no_overlap mentioned in detail", "23503");
+        when(bookingRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new ConstraintViolationException("insert", sqlException,
+                        "bookings_item_id_fkey")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.addBooking(1L, request));
+    }
+
+    private PostBookingRequest validBookingRequest(long userId, long itemId, LocalDateTime start, LocalDateTime end) {
+        User user = new User();
+        user.setId(userId);
+        User owner = new User();
+        owner.setId(3L);
+        Item item = new Item();
+        item.setId(itemId);
+        item.setOwner(owner);
+        item.setAvailable(true);
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        PostBookingRequest request = new PostBookingRequest();
+        request.setItemId(itemId);
+        request.setStart(start);
+        request.setEnd(end);
+        return request;
     }
 
     @Test
@@ -147,7 +264,7 @@ class BookingServiceImplTest {
         item.setAvailable(false);
         PostBookingRequest request = mock(PostBookingRequest.class);
         when(request.getItemId()).thenReturn(itemId);
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         ArgumentsNotValidException ex = assertThrows(ArgumentsNotValidException.class, () ->
@@ -169,7 +286,7 @@ class BookingServiceImplTest {
         item.setAvailable(true);
         PostBookingRequest request = mock(PostBookingRequest.class);
         when(request.getItemId()).thenReturn(itemId);
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(request.getStart()).thenReturn(LocalDateTime.now().plusDays(2));
         when(request.getEnd()).thenReturn(LocalDateTime.now().plusDays(1));
@@ -281,6 +398,18 @@ class BookingServiceImplTest {
         assertTrue(ex.getMessage().contains("Доступ к бронированию"));
     }
 
+    @Test
+    void getBookingETag_shouldCheckAccessLikeGetBooking() {
+        long bookingId = 10L;
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findVersionById(bookingId))
+                .thenReturn(Optional.of(new BookingVersion(bookingId, 1, 2, null, 1L, 2L)));
+
+        assertEquals("booking-10-1-2-0", bookingService.getBookingETag(2L, bookingId));
+        assertThrows(ValidationException.class, () -> bookingService.getBookingETag(3L, bookingId));
+        verify(bookingRepository, never()).findById(bookingId);
+    }
+
     @Test
     void getUserBookings_shouldReturnBookingsForAllStates() {
         long userId = 1L;
@@ -288,20 +417,25 @@ class BookingServiceImplTest {
         for (State state : State.values()) {
             List<Booking> bookings = List.of(new Booking());
             switch (state) {
-                case ALL -> when(bookingRepository.findAllByBookerIdOrderByStartDesc(userId)).thenReturn(bookings);
+                case ALL -> when(bookingRepository.findAllByBookerId(eq(userId), any(), anyLong(), any())).thenReturn(bookings);
                 case CURRENT ->
-                        when(bookingRepository.findCurrentByBookerId(userId, LocalDateTime.now())).thenReturn(bookings);
+                        when(bookingRepository.findCurrentByBookerId(eq(userId), any(), any(), anyLong(), any()))
+                                .thenReturn(bookings);
                 case PAST ->
-                        when(bookingRepository.findPastByBookerId(userId, LocalDateTime.now())).thenReturn(bookings);
+                        when(bookingRepository.findPastByBookerId(eq(userId), any(), any(), anyLong(), any()))
+                                .thenReturn(bookings);
                 case FUTURE ->
-                        when(bookingRepository.findFutureByBookerId(userId, LocalDateTime.now())).thenReturn(bookings);
+                        when(bookingRepository.findFutureByBookerId(eq(userId), any(), any(), anyLong(), any()))
+                                .thenReturn(bookings);
                 case WAITING ->
-                        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, Status.WAITING)).thenReturn(bookings);
+                        when(bookingRepository.findAllByBookerIdAndStatus(eq(userId), eq(Status.WAITING), any(), anyLong(), any()))
+                                .thenReturn(bookings);
                 case REJECTED ->
-                        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, Status.REJECTED)).thenReturn(bookings);
+                        when(bookingRepository.findAllByBookerIdAndStatus(eq(userId), eq(Status.REJECTED), any(), anyLong(), any()))
+                                .thenReturn(bookings);
             }
-            List<BookingDto> result = bookingService.getUserBookings(userId, state);
-            assertNotNull(result);
+            List<BookingDto> result = bookingService.getUserBookings(userId, state, 0, 10, null);
+            assertEquals(1, result.size());
         }
     }
 
@@ -312,7 +446,7 @@ class BookingServiceImplTest {
         when(itemRepository.findAllByOwnerId(userId)).thenReturn(Collections.emptyList());
 
         NotFoundException ex = assertThrows(NotFoundException.class, () ->
-                bookingService.getOwnedItemsBookings(userId, State.ALL));
+                bookingService.getOwnedItemsBookings(userId, State.ALL, 0, null, null));
         assertTrue(ex.getMessage().contains("не найдены"));
     }
 
@@ -327,25 +461,141 @@ class BookingServiceImplTest {
         for (State state : State.values()) {
             List<Booking> bookings = List.of(new Booking());
             switch (state) {
-                case ALL -> when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId)).thenReturn(bookings);
+                case ALL -> when(bookingRepository.findAllByOwnerId(eq(userId), any(), anyLong(), any())).thenReturn(bookings);
                 case CURRENT ->
-                        when(bookingRepository.findCurrentByOwnerId(userId, LocalDateTime.now())).thenReturn(bookings);
+                        when(bookingRepository.findCurrentByOwnerId(eq(userId), any(), any(), anyLong(), any()))
+                                .thenReturn(bookings);
                 case PAST ->
-                        when(bookingRepository.findPastByOwnerId(userId, LocalDateTime.now())).thenReturn(bookings);
+                        when(bookingRepository.findPastByOwnerId(eq(userId), any(), any(), anyLong(), any()))
+                                .thenReturn(bookings);
                 case FUTURE ->
-                        when(bookingRepository.findFutureByOwnerId(userId, LocalDateTime.now())).thenReturn(bookings);
+                        when(bookingRepository.findFutureByOwnerId(eq(userId), any(), any(), anyLong(), any()))
+                                .thenReturn(bookings);
                 case WAITING ->
-                        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.WAITING)).thenReturn(bookings);
+                        when(bookingRepository.findAllByOwnerIdAndStatus(eq(userId), eq(Status.WAITING), any(), anyLong(), any()))
+                                .thenReturn(bookings);
                 case REJECTED ->
-                        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.REJECTED)).thenReturn(bookings);
+                        when(bookingRepository.findAllByOwnerIdAndStatus(eq(userId), eq(Status.REJECTED), any(), anyLong(), any()))
+                                .thenReturn(bookings);
             }
-            List<BookingDto> result = bookingService.getOwnedItemsBookings(userId, state);
-            assertNotNull(result);
+            List<BookingDto> result = bookingService.getOwnedItemsBookings(userId, state, 0, 10, null);
+            assertEquals(1, result.size());
         }
     }
 
+    @Test
+    void getOwnedItemsBookingCounts_shouldReturnZeros_whenNoItems() {
+        long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(bookingRepository.countByOwnerId(eq(userId), any())).thenReturn(new BookingCountsDto());
+
+        BookingCountsDto result = bookingService.getOwnedItemsBookingCounts(userId);
+
+        assertEquals(new BookingCountsDto(), result);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void getUserBookingCounts_shouldThrowNotFoundException_whenUserNotFound() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.getUserBookingCounts(1L));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getUserBookings_shouldSeekFromCursor_whenCursorProvided() {
+        long userId = 1L;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        String cursor = KeysetCursor.after(start, 42L).encode();
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(bookingRepository.findAllByBookerId(userId, start, 42L, PageRequest.of(0, 5)))
+                .thenReturn(List.of(new Booking()));
+
+        List<BookingDto> result = bookingService.getUserBookings(userId, State.ALL, 20, 5, cursor);
+
+        assertEquals(1, result.size());
+        verify(bookingRepository).findAllByBookerId(userId, start, 42L, PageRequest.of(0, 5));
+    }
+
+    @Test
+    void getUserBookings_shouldThrowArgumentsNotValidException_whenCursorMalformed() {
+        long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        assertThrows(ArgumentsNotValidException.class, () ->
+                bookingService.getUserBookings(userId, State.ALL, 0, 5, "not-a-cursor"));
+    }
+
+    @Test
+    void getUserBookings_shouldThrowArgumentsNotValidException_whenFromIsNotPageAligned() {
+        long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        // from=7 при size=5 превратился бы в страницу 1, то есть в строки 5 и 6 еще раз.
+        assertThrows(ArgumentsNotValidException.class, () ->
+                bookingService.getUserBookings(userId, State.ALL, 7, 5, null));
+        verifyNoInteractions(bookingRepository);
+    }
+
     @AfterEach
     void tearDown() throws Exception {
         closeable.close();
     }
+
+    @Test
+    void addBookings_shouldReportEachRejectedElement_andSaveTheRest() {
+        long userId = 1L;
+        User booker = new User();
+        booker.setId(userId);
+        User owner = new User();
+        owner.setId(3L);
+        Item item = new Item();
+        item.setId(2L);
+        item.setOwner(owner);
+        item.setAvailable(true);
+        Item ownItem = new Item();
+        ownItem.setId(4L);
+        ownItem.setOwner(booker);
+        ownItem.setAvailable(true);
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withNano(0);
+        Booking existing = new Booking();
+        existing.setItem(item);
+        existing.setStart(day.plusDays(10));
+        existing.setEnd(day.plusDays(12));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findAllByIdInForUpdate(anyCollection())).thenReturn(List.of(item, ownItem));
+        when(bookingRepository.findAllByItemIdInOverlapping(anyCollection(), anyCollection(), any(), any()))
+                .thenReturn(List.of(existing));
+        when(bookingRepository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            List<Booking> bookings = new ArrayList<>();
+            invocation.<Iterable<Booking>>getArgument(0).forEach(bookings::add);
+            return bookings;
+        });
+
+        List<PostBookingRequest> requests = Arrays.asList(
+                bookingRequest(2L, day, day.plusDays(1)),
+                bookingRequest(2L, day.plusDays(11), day.plusDays(13)),
+                bookingRequest(2L, day.plusHours(12), day.plusDays(2)),
+                bookingRequest(4L, day, day.plusDays(1)),
+                bookingRequest(9L, day, day.plusDays(1)),
+                bookingRequest(2L, day.plusDays(5), day.plusDays(4)),
+                null);
+
+        BatchResponse<BookingDto> response = bookingService.addBookings(userId, requests);
+
+        assertEquals(1, response.getCreated());
+        assertEquals(6, response.getFailed());
+        assertEquals(List.of(201, 409, 409, 409, 404, 400, 400),
+                response.getResults().stream().map(BatchResult::getStatus).toList());
+        verify(bookingRepository).saveAllAndFlush(anyIterable());
+    }
+
+    private static PostBookingRequest bookingRequest(long itemId, LocalDateTime start, LocalDateTime end) {
+        PostBookingRequest request = new PostBookingRequest();
+        request.setItemId(itemId);
+        request.setStart(start);
+        request.setEnd(end);
+        return request;
+    }
 }
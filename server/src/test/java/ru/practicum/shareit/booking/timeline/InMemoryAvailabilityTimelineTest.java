@@ -0,0 +1,168 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InMemoryAvailabilityTimelineTest {
+    private static final long ITEM_ID = 1L;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    private final Item item = new Item(ITEM_ID, "Drill", "Power tool", true, null, null);
+
+    private InMemoryAvailabilityTimeline timeline;
+
+    @BeforeEach
+    void setUp() {
+        timeline = new InMemoryAvailabilityTimeline(bookingRepository);
+        when(bookingRepository.streamAllByStatusInAndEndAfter(any(), any())).thenReturn(Stream.of(
+                new BookedPeriod(ITEM_ID, 10L, base, base.plusHours(2), Status.APPROVED),
+                // Длинное бронирование: с ним пересекаются периоды, начавшиеся задолго после его начала.
+                new BookedPeriod(ITEM_ID, 11L, base.plusDays(1), base.plusDays(8), Status.WAITING),
+                new BookedPeriod(2L, 12L, base, base.plusHours(2), Status.APPROVED)));
+        timeline.rebuild();
+    }
+
+    @Test
+    void isFree_shouldDetectOverlapAndAllowAdjacentPeriods() {
+        assertThat(timeline.isFree(ITEM_ID, base.plusHours(1), base.plusHours(3))).isFalse();
+        assertThat(timeline.isFree(ITEM_ID, base.plusHours(2), base.plusHours(4))).isTrue();
+        assertThat(timeline.isFree(ITEM_ID, base.minusHours(1), base)).isTrue();
+        assertThat(timeline.isFree(ITEM_ID, base.plusDays(5), base.plusDays(5).plusHours(1))).isFalse();
+        assertThat(timeline.isFree(3L, base, base.plusHours(1))).isTrue();
+        verify(bookingRepository, never()).findFirstByItemIdAndStatusInAndStartBeforeOrderByStartDesc(anyLong(),
+                any(), any());
+    }
+
+    @Test
+    void booked_shouldReturnOverlappingPeriodsOrderedByStart() {
+        assertThat(timeline.booked(ITEM_ID, base.plusHours(1), base.plusDays(2)))
+                .extracting(BookedPeriod::bookingId)
+                .containsExactly(10L, 11L);
+        assertThat(timeline.booked(ITEM_ID, base.plusDays(9), base.plusDays(10))).isEmpty();
+    }
+
+    @Test
+    void update_shouldAddMoveAndRemovePeriodsByStatus() {
+        Booking booking = new Booking(20L, base.plusHours(4), base.plusHours(5), item, null, Status.WAITING);
+        timeline.update(booking);
+        assertThat(timeline.isFree(ITEM_ID, base.plusHours(4), base.plusHours(5))).isFalse();
+
+        booking.setStatus(Status.APPROVED);
+        timeline.update(booking);
+        assertThat(timeline.booked(ITEM_ID, base.plusHours(4), base.plusHours(5)))
+                .extracting(BookedPeriod::status)
+                .containsExactly(Status.APPROVED);
+
+        booking.setStatus(Status.REJECTED);
+        timeline.update(booking);
+        assertThat(timeline.isFree(ITEM_ID, base.plusHours(4), base.plusHours(5))).isTrue();
+    }
+
+    @Test
+    void remove_shouldFreePeriod() {
+        timeline.remove(new Booking(10L, base, base.plusHours(2), item, null, Status.APPROVED));
+
+        assertThat(timeline.isFree(ITEM_ID, base, base.plusHours(2))).isTrue();
+    }
+
+    @Test
+    void withoutApproved_shouldIgnoreWaitingBookings() {
+        assertThat(timeline.withoutApproved(List.of(ITEM_ID, 2L, 3L), base.plusDays(2), base.plusDays(3)))
+                .containsExactlyInAnyOrder(ITEM_ID, 2L, 3L);
+        assertThat(timeline.withoutApproved(List.of(ITEM_ID, 2L, 3L), base.plusHours(1), base.plusHours(3)))
+                .containsExactly(3L);
+        verify(bookingRepository, never()).findItemIdsWithoutApprovedOverlap(any(), any(), any());
+    }
+
+    @Test
+    void withoutApproved_shouldQueryDatabaseOnce_untilRebuilt() {
+        InMemoryAvailabilityTimeline notBuilt = new InMemoryAvailabilityTimeline(bookingRepository);
+        List<Long> candidates = List.of(ITEM_ID, 2L, 3L);
+        when(bookingRepository.findItemIdsWithoutApprovedOverlap(candidates, base, base.plusHours(1)))
+                .thenReturn(Set.of(3L));
+
+        assertThat(notBuilt.withoutApproved(candidates, base, base.plusHours(1))).containsExactly(3L);
+        verify(bookingRepository).findItemIdsWithoutApprovedOverlap(candidates, base, base.plusHours(1));
+    }
+
+    @Test
+    void isFree_shouldQueryDatabase_untilRebuilt() {
+        InMemoryAvailabilityTimeline notBuilt = new InMemoryAvailabilityTimeline(bookingRepository);
+        Booking existing = new Booking(30L, base, base.plusHours(2), item, null, Status.APPROVED);
+        when(bookingRepository.findFirstByItemIdAndStatusInAndStartBeforeOrderByStartDesc(anyLong(), any(), any()))
+                .thenReturn(Optional.of(existing));
+
+        assertThat(notBuilt.isFree(ITEM_ID, base.plusHours(1), base.plusHours(3))).isFalse();
+    }
+
+    @Test
+    void rebuild_shouldApplyChangesMadeWhileReadingDatabase() {
+        Booking rejected = new Booking(30L, base.plusDays(20), base.plusDays(21), item, null, Status.REJECTED);
+        Booking created = new Booking(31L, base.plusDays(30), base.plusDays(31), item, null, Status.WAITING);
+        // Снимок прочитал 30 как WAITING, а пока строился индекс, бронирование отклонили и создали 31.
+        when(bookingRepository.streamAllByStatusInAndEndAfter(any(), any())).thenReturn(Stream.of(
+                        new BookedPeriod(ITEM_ID, 30L, base.plusDays(20), base.plusDays(21), Status.WAITING))
+                .peek(period -> {
+                    timeline.update(rejected);
+                    timeline.update(created);
+                }));
+
+        timeline.rebuild();
+
+        assertThat(timeline.isFree(ITEM_ID, base.plusDays(20), base.plusDays(21))).isTrue();
+        assertThat(timeline.isFree(ITEM_ID, base.plusDays(30), base.plusDays(31))).isFalse();
+    }
+
+    @Test
+    void rebuild_shouldKeepServingOldIndex_untilNewOneIsSwappedIn() {
+        when(bookingRepository.streamAllByStatusInAndEndAfter(any(), any())).thenReturn(Stream.of(
+                        new BookedPeriod(ITEM_ID, 40L, base.plusDays(40), base.plusDays(41), Status.APPROVED))
+                .peek(period -> assertThat(timeline.isFree(ITEM_ID, base, base.plusHours(1))).isFalse()));
+
+        timeline.rebuild();
+
+        assertThat(timeline.isFree(ITEM_ID, base, base.plusHours(1))).isTrue();
+        assertThat(timeline.isFree(ITEM_ID, base.plusDays(40), base.plusDays(41))).isFalse();
+        verify(bookingRepository, never()).findFirstByItemIdAndStatusInAndStartBeforeOrderByStartDesc(anyLong(),
+                any(), any());
+    }
+
+    @Test
+    void update_shouldDropEndedPeriods_evenBehindLongerActiveOne() {
+        LocalDateTime now = LocalDateTime.now();
+        timeline.update(new Booking(50L, now.minusHours(5), now.plusDays(5), item, null, Status.APPROVED));
+        timeline.update(new Booking(51L, now.minusHours(3), now.minusHours(2), item, null, Status.APPROVED));
+
+        assertThat(timeline.booked(ITEM_ID, now.minusHours(3), now.minusHours(2)))
+                .extracting(BookedPeriod::bookingId)
+                .containsExactly(50L);
+    }
+
+    @Test
+    void sweep_shouldForgetItemsWithOnlyEndedPeriods() {
+        timeline.sweep(base.plusDays(8).plusHours(1));
+
+        assertThat(timeline.size()).isZero();
+        assertThat(timeline.isFree(ITEM_ID, base, base.plusDays(8))).isTrue();
+    }
+}
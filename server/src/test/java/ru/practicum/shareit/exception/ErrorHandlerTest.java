@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.annotation.*;
 
@@ -44,6 +46,11 @@ class ErrorHandlerTest {
             throw new ArgumentsNotValidException("Некорректные аргументы");
         }
 
+        @GetMapping("/optimistic-lock")
+        public void optimisticLock() {
+            throw new ObjectOptimisticLockingFailureException("Item", 1L);
+        }
+
         @GetMapping("/unexpected")
         public void unexpected() {
             throw new RuntimeException("Неожиданная ошибка");
@@ -85,6 +92,24 @@ class ErrorHandlerTest {
                     .andExpect(jsonPath("$.message").value(containsString("Некорректные аргументы")));
         }
 
+        @Test
+        @DisplayName("Конфликт версий возвращает 409")
+        void handleOptimisticLockingFailure() throws Exception {
+            mockMvc.perform(get("/stub-exception/optimistic-lock"))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value(containsString("изменен другим запросом")));
+        }
+
+        @Test
+        @DisplayName("Ошибка отдается в JSON, даже если клиент предпочитает CBOR")
+        void handleNotFound_whenCborPreferred() throws Exception {
+            mockMvc.perform(get("/stub-exception/not-found")
+                            .accept(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.message").value(containsString("Объект не найден")));
+        }
+
         @Test
         @DisplayName("Неожиданное исключение возвращает 500 и стандартное сообщение")
         void handleUnexpected() throws Exception {
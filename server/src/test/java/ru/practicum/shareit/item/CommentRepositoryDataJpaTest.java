@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -55,6 +56,20 @@ class CommentRepositoryDataJpaTest {
         assertThat(comments).isNotEmpty().contains(comment);
     }
 
+    @Test
+    @DisplayName("findAllByItemOwnerIdOrderByCreatedDescIdDesc возвращает последние комментарии владельца")
+    void findAllByItemOwnerIdOrderByCreatedDescIdDesc() {
+        Comment second = new Comment(null, "second", item, author, LocalDateTime.now());
+        Comment third = new Comment(null, "third", item, author, LocalDateTime.now());
+        em.persist(second);
+        em.persist(third);
+        em.flush();
+
+        List<Comment> comments = commentRepository.findAllByItemOwnerIdOrderByCreatedDescIdDesc(owner.getId(),
+                PageRequest.of(0, 2));
+        assertThat(comments).containsExactly(third, second);
+    }
+
     @Test
     @DisplayName("findById возвращает комментарий по id")
     void findById() {
@@ -7,12 +7,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.BookedPeriodDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ru.practicum.shareit.item.dto.OwnedItemDto;
 import ru.practicum.shareit.item.dto.PatchItemRequest;
 import ru.practicum.shareit.item.dto.PostCommentRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import ru.practicum.shareit.item.dto.PostItemRequest;
@@ -21,6 +25,8 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,11 +46,27 @@ class ItemControllerImplTest {
     void getItem_shouldReturnItem() throws Exception {
         ItemDto item = new ItemDto();
         item.setId(1L);
-        Mockito.when(itemService.getItem(1L)).thenReturn(item);
+        item.setEtag("item-1-0-0");
+        Mockito.when(itemService.getItemETag(1L)).thenReturn("item-1-0-0");
+        Mockito.when(itemService.getItem(1L, "item-1-0-0")).thenReturn(item);
 
         mockMvc.perform(get("/items/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id").value(1L));
+                .andExpect(header().string("ETag", "\"item-1-0-0\""))
+                .andExpect(jsonPath("$.id").value(1L))
+                .andExpect(jsonPath("$.etag").doesNotExist());
+    }
+
+    @Test
+    void getItem_whenETagMatches_shouldReturnNotModifiedWithoutLoadingItem() throws Exception {
+        Mockito.when(itemService.getItemETag(1L)).thenReturn("item-1-3-0");
+
+        mockMvc.perform(get("/items/1").header("If-None-Match", "\"item-1-3-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"item-1-3-0\""))
+                .andExpect(content().string(""));
+
+        Mockito.verify(itemService, Mockito.never()).getItem(Mockito.anyLong(), Mockito.anyString());
     }
 
     @Test
@@ -62,7 +84,7 @@ class ItemControllerImplTest {
     void searchItems_shouldReturnList() throws Exception {
         ItemDto item = new ItemDto();
         item.setId(2L);
-        Mockito.when(itemService.searchItems("test")).thenReturn(List.of(item));
+        Mockito.when(itemService.searchItems("test", 0, null)).thenReturn(List.of(item));
 
         mockMvc.perform(get("/items/search").param("text", "test"))
                 .andExpect(status().isOk())
@@ -138,4 +160,37 @@ class ItemControllerImplTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(7L));
     }
+
+    @Test
+    void getItemAvailability_shouldParseIsoPeriod() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 12, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, to, false,
+                List.of(new BookedPeriodDto(from.plusHours(1), from.plusHours(3), Status.APPROVED)));
+        Mockito.when(itemService.getItemAvailability(1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T12:00:00")
+                        .param("to", "2030-01-02T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(false))
+                .andExpect(jsonPath("$.booked[0].status").value("APPROVED"));
+    }
+
+    @Test
+    void searchItems_shouldSearchAvailableItems_whenPeriodGiven() throws Exception {
+        ItemDto item = new ItemDto();
+        item.setId(2L);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 10, 0);
+        Mockito.when(itemService.searchAvailableItems("drill", 0, 20, start, start.plusDays(2)))
+                .thenReturn(List.of(item));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .param("size", "20")
+                        .param("start", "2030-01-04T10:00:00")
+                        .param("end", "2030-01-06T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2L));
+    }
 }
@@ -5,9 +5,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -50,7 +57,100 @@ class ItemRepositoryDataJpaTest {
     @Test
     @DisplayName("searchItems возвращает по поиску")
     void searchItems() {
-        List<Item> items = itemRepository.searchItems("item");
+        List<Item> items = itemRepository.searchItems("item", Pageable.unpaged());
         assertThat(items).contains(item);
     }
+
+    @Test
+    @DisplayName("searchItems ставит совпадения в начале названия первыми и учитывает страницу")
+    void searchItems_ranksAndPages() {
+        Item byDescription = new Item(null, "saw", "drill included", true, owner, null);
+        Item byName = new Item(null, "drill", "desc", true, owner, null);
+        Item unavailable = new Item(null, "drill", "desc", false, owner, null);
+        em.persist(byDescription);
+        em.persist(byName);
+        em.persist(unavailable);
+        em.flush();
+
+        assertThat(itemRepository.searchItems("DRILL", Pageable.unpaged()))
+                .containsExactly(byName, byDescription);
+        assertThat(itemRepository.searchItems("drill", PageRequest.of(1, 1)))
+                .containsExactly(byDescription);
+    }
+
+    @Test
+    @DisplayName("findAllByIdInForUpdate возвращает предметы по id в порядке возрастания")
+    void findAllByIdInForUpdate() {
+        Item second = new Item(null, "second", "desc", true, owner, null);
+        em.persist(second);
+        em.flush();
+
+        List<Item> items = itemRepository.findAllByIdInForUpdate(List.of(second.getId(), item.getId()));
+        assertThat(items).containsExactly(item, second);
+    }
+
+    @Test
+    @DisplayName("searchAvailableItems исключает вещи с подтвержденным бронированием в периоде и учитывает страницу")
+    void searchAvailableItems_excludesApprovedOverlaps() {
+        User booker = new User(null, "booker", "booker@email.com");
+        em.persist(booker);
+        Item booked = new Item(null, "drill booked", "desc", true, owner, null);
+        Item waiting = new Item(null, "drill waiting", "desc", true, owner, null);
+        Item adjacent = new Item(null, "drill adjacent", "desc", true, owner, null);
+        Item free = new Item(null, "drill free", "desc", true, owner, null);
+        em.persist(booked);
+        em.persist(waiting);
+        em.persist(adjacent);
+        em.persist(free);
+        LocalDateTime start = LocalDateTime.now().plusDays(5).withNano(0);
+        LocalDateTime end = start.plusDays(2);
+        em.persist(new Booking(null, start.minusDays(1), start.plusHours(1), booked, booker, Status.APPROVED));
+        em.persist(new Booking(null, start, end, waiting, booker, Status.WAITING));
+        em.persist(new Booking(null, end, end.plusDays(1), adjacent, booker, Status.APPROVED));
+        em.persist(new Booking(null, start, end, free, booker, Status.REJECTED));
+        em.flush();
+
+        assertThat(itemRepository.searchAvailableItems("drill", start, end, Pageable.unpaged()))
+                .containsExactly(waiting, adjacent, free);
+        assertThat(itemRepository.searchAvailableItems("drill", start, end, PageRequest.of(1, 2)))
+                .containsExactly(free);
+        assertThat(itemRepository.searchAvailableItems("drill", end.plusDays(2), end.plusDays(3), Pageable.unpaged()))
+                .containsExactly(booked, waiting, adjacent, free);
+    }
+
+    @Test
+    @DisplayName("Версия предмета растет при изменении и по incrementVersion")
+    void findVersionById_tracksUpdatesAndIncrements() {
+        assertThat(itemRepository.findVersionById(item.getId())).contains(new ItemVersion(item.getId(), 0, null));
+
+        item.setName("renamed");
+        em.flush();
+        itemRepository.incrementVersion(item.getId());
+
+        assertThat(itemRepository.findVersionById(item.getId())).map(ItemVersion::version).contains(2L);
+        assertThat(itemRepository.findVersionById(-1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findIdsByOwnerOrCommentAuthor находит предметы владельца и прокомментированные пользователем")
+    void findIdsByOwnerOrCommentAuthor_andIncrementVersions() {
+        User author = new User(null, "author", "author@email.com");
+        em.persist(author);
+        Item commented = new Item(null, "commented", "desc", true, owner, null);
+        Item foreign = new Item(null, "foreign", "desc", true, author, null);
+        em.persist(commented);
+        em.persist(foreign);
+        em.persist(new Comment(null, "text", commented, author, null));
+        em.flush();
+
+        assertThat(itemRepository.findIdsByOwnerOrCommentAuthor(owner.getId()))
+                .containsExactlyInAnyOrder(item.getId(), commented.getId());
+        assertThat(itemRepository.findIdsByOwnerOrCommentAuthor(author.getId()))
+                .containsExactlyInAnyOrder(commented.getId(), foreign.getId());
+
+        itemRepository.incrementVersions(List.of(item.getId(), commented.getId()));
+
+        assertThat(itemRepository.findVersionById(item.getId())).map(ItemVersion::version).contains(1L);
+        assertThat(itemRepository.findVersionById(foreign.getId())).map(ItemVersion::version).contains(0L);
+    }
 }
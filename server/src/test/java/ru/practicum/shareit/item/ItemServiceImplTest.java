@@ -6,22 +6,42 @@ import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.exception.ArgumentsNotValidException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.RequestRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.timeline.DatabaseAvailabilityTimeline;
+import ru.practicum.shareit.item.cache.CaffeineItemCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import ru.practicum.shareit.request.model.Request;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.logging.ResultLogProperties;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.data.domain.Pageable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
@@ -58,18 +78,24 @@ class ItemServiceImplTest {
         itemService = new ItemServiceImpl(
                 itemRepository, userRepository, bookingRepository, commentRepository, requestRepository,
                 itemMapper,
-                commentMapper
+                commentMapper,
+                new DatabaseItemSearchEngine(itemRepository),
+                new CaffeineItemCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry()),
+                new DatabaseAvailabilityTimeline(bookingRepository),
+                new ResultLog(new ResultLogProperties())
         );
 
         when(itemRepository.findAllByOwnerId(anyLong()))
                 .thenReturn(Collections.emptyList());
-        when(itemRepository.searchItems(anyString()))
+        when(itemRepository.searchItems(anyString(), any()))
                 .thenReturn(Collections.emptyList());
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
 
-        when(bookingRepository.findAllByItemIdIn(anyList()))
+        when(bookingRepository.findLastByItemIdIn(anyList(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findNextByItemIdIn(anyList(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         when(commentRepository.findAllByItemId(anyLong()))
@@ -118,8 +144,8 @@ class ItemServiceImplTest {
 
     @Test
     void searchItems_shouldReturnEmptyList_whenTextIsNullOrEmpty() {
-        assertTrue(itemService.searchItems(null).isEmpty());
-        assertTrue(itemService.searchItems("").isEmpty());
+        assertTrue(itemService.searchItems(null, 0, null).isEmpty());
+        assertTrue(itemService.searchItems("", 0, null).isEmpty());
     }
 
     @Test
@@ -224,6 +250,18 @@ class ItemServiceImplTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void refreshUserItems_shouldIncrementVersionsOfOwnedAndCommentedItems() {
+        when(itemRepository.findIdsByOwnerOrCommentAuthor(1L)).thenReturn(List.of(3L, 4L));
+        when(itemRepository.findIdsByOwnerOrCommentAuthor(2L)).thenReturn(List.of());
+
+        itemService.refreshUserItems(1L);
+        itemService.refreshUserItems(2L);
+
+        verify(itemRepository).incrementVersions(List.of(3L, 4L));
+        verify(itemRepository, never()).incrementVersions(List.of());
+    }
+
     @Test
     void getItem_shouldReturnItemDto_whenItemExists() {
         long itemId = 1L;
@@ -239,6 +277,138 @@ class ItemServiceImplTest {
         assertNotNull(result);
     }
 
+    @Test
+    void getItem_shouldUseCache_untilItemPatched() {
+        long itemId = 1L;
+        long ownerId = 2L;
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = new Item();
+        item.setId(itemId);
+        item.setName("old");
+        item.setOwner(owner);
+
+        when(itemRepository.findById(itemId))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemId(itemId))
+                .thenReturn(Collections.emptyList());
+        when(itemRepository.save(item))
+                .thenReturn(item);
+
+        itemService.getItem(itemId);
+        itemService.getItem(itemId);
+        verify(commentRepository, times(1)).findAllByItemId(itemId);
+
+        PatchItemRequest request = new PatchItemRequest();
+        request.setName("new");
+        itemService.patchItem(itemId, request, ownerId);
+
+        ItemDto result = itemService.getItem(itemId);
+        assertEquals("new", result.getName());
+        verify(commentRepository, times(2)).findAllByItemId(itemId);
+    }
+
+    @Test
+    void getItem_shouldNotServeCachedOwner_afterRefreshUserItems() {
+        long itemId = 1L;
+        long ownerId = 2L;
+        User owner = new User(ownerId, "old", "owner@mail.com");
+        Item item = new Item();
+        item.setId(itemId);
+        item.setOwner(owner);
+
+        when(itemRepository.findById(itemId))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemId(itemId))
+                .thenReturn(Collections.emptyList());
+        when(itemRepository.findIdsByOwnerOrCommentAuthor(ownerId))
+                .thenReturn(List.of(itemId));
+
+        assertEquals("old", itemService.getItem(itemId).getOwner().getName());
+
+        owner.setName("new");
+        itemService.refreshUserItems(ownerId);
+
+        assertEquals("new", itemService.getItem(itemId).getOwner().getName());
+    }
+
+    @Test
+    void patchItem_shouldEvictCachedItemAgain_afterCommit() {
+        long itemId = 1L;
+        long ownerId = 2L;
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = new Item();
+        item.setId(itemId);
+        item.setName("old");
+        item.setOwner(owner);
+
+        when(itemRepository.findById(itemId))
+                .thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemId(itemId))
+                .thenReturn(Collections.emptyList());
+        when(itemRepository.save(item))
+                .thenReturn(item);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            PatchItemRequest request = new PatchItemRequest();
+            request.setName("new");
+            itemService.patchItem(itemId, request, ownerId);
+
+            // Параллельный запрос успел закешировать состояние до коммита.
+            itemService.getItem(itemId);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        itemService.getItem(itemId);
+        verify(commentRepository, times(2)).findAllByItemId(itemId);
+    }
+
+    @Test
+    void patchItem_shouldIndexItem_onlyAfterCommit() {
+        long itemId = 1L;
+        long ownerId = 2L;
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = new Item();
+        item.setId(itemId);
+        item.setOwner(owner);
+        ItemSearchEngine searchEngine = mock(ItemSearchEngine.class);
+        ItemServiceImpl service = new ItemServiceImpl(
+                itemRepository, userRepository, bookingRepository, commentRepository, requestRepository,
+                itemMapper,
+                commentMapper,
+                searchEngine,
+                new CaffeineItemCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry()),
+                new DatabaseAvailabilityTimeline(bookingRepository),
+                new ResultLog(new ResultLogProperties())
+        );
+
+        when(itemRepository.findById(itemId))
+                .thenReturn(Optional.of(item));
+        when(itemRepository.save(item))
+                .thenReturn(item);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            PatchItemRequest request = new PatchItemRequest();
+            request.setAvailable(true);
+            service.patchItem(itemId, request, ownerId);
+
+            verify(searchEngine, never()).index(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(searchEngine).index(item);
+    }
+
     @Test
     void getOwnerItems_shouldReturnList_whenItemsExist() {
         long ownerId = 1L;
@@ -248,7 +418,9 @@ class ItemServiceImplTest {
 
         when(itemRepository.findAllByOwnerId(ownerId))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findAllByItemIdIn(anyList()))
+        when(bookingRepository.findLastByItemIdIn(anyList(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findNextByItemIdIn(anyList(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         List<OwnedItemDto> result = itemService.getOwnerItems(ownerId);
@@ -262,9 +434,9 @@ class ItemServiceImplTest {
         Item item = new Item();
         item.setId(1L);
 
-        when(itemRepository.searchItems(text))
+        when(itemRepository.searchItems(text, PageRequest.of(1, 5)))
                 .thenReturn(List.of(item));
-        List<ItemDto> result = itemService.searchItems(text);
+        List<ItemDto> result = itemService.searchItems(text, 5, 5);
         assertNotNull(result);
         assertEquals(1, result.size());
     }
@@ -351,6 +523,39 @@ class ItemServiceImplTest {
 
         CommentDto result = itemService.addComment(request, itemId, authorId);
         assertNotNull(result);
+        verify(itemRepository).incrementVersion(itemId);
+    }
+
+    @Test
+    void getItemETag_shouldCombineItemAndRequestVersions() {
+        when(itemRepository.findVersionById(1L)).thenReturn(Optional.of(new ItemVersion(1L, 4, 2L)));
+        when(itemRepository.findVersionById(2L)).thenReturn(Optional.empty());
+
+        assertEquals("item-1-4-2", itemService.getItemETag(1L));
+        assertThrows(NotFoundException.class, () -> itemService.getItemETag(2L));
+    }
+
+    @Test
+    void getItem_shouldReloadCachedItem_whenETagVersionDiffers() {
+        Request request = new Request();
+        request.setVersion(2);
+        Item item = new Item();
+        item.setId(1L);
+        item.setName("drill");
+        item.setVersion(4);
+        item.setRequest(request);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemId(1L)).thenReturn(Collections.emptyList());
+
+        assertEquals("item-1-4-2", itemService.getItem(1L, "item-1-4-2").getEtag());
+
+        // Версия в базе выросла, а кэш не сброшен: тело под новым ETag собирается заново.
+        item.setVersion(5);
+        item.setName("renamed");
+        ItemDto reloaded = itemService.getItem(1L, "item-1-5-2");
+        assertEquals("renamed", reloaded.getName());
+        assertEquals("item-1-5-2", reloaded.getEtag());
+        verify(itemRepository, times(2)).findById(1L);
     }
 
     @Test
@@ -427,6 +632,8 @@ class ItemServiceImplTest {
         Item item = new Item();
         Item savedItem = new Item();
         Request req = new Request();
+        req.setId(10L);
+        savedItem.setRequest(req);
 
         when(userRepository.findById(ownerId))
                 .thenReturn(Optional.of(owner));
@@ -437,16 +644,17 @@ class ItemServiceImplTest {
 
         ItemDto result = itemService.createItem(request, ownerId);
         assertNotNull(result);
+        verify(requestRepository).incrementVersions(Set.of(10L));
     }
 
     @Test
     void searchItems_shouldReturnEmptyList_whenNoResults() {
         String text = "item";
 
-        when(itemRepository.searchItems(text))
+        when(itemRepository.searchItems(text, Pageable.unpaged()))
                 .thenReturn(Collections.emptyList());
 
-        List<ItemDto> result = itemService.searchItems(text);
+        List<ItemDto> result = itemService.searchItems(text, 0, null);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -461,7 +669,9 @@ class ItemServiceImplTest {
 
         when(itemRepository.findAllByOwnerId(ownerId))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findAllByItemIdIn(anyList()))
+        when(bookingRepository.findLastByItemIdIn(anyList(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findNextByItemIdIn(anyList(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         List<OwnedItemDto> result = itemService.getOwnerItems(ownerId);
@@ -528,7 +738,9 @@ class ItemServiceImplTest {
 
         when(itemRepository.findAllByOwnerId(ownerId))
                 .thenReturn(List.of(item));
-        when(bookingRepository.findAllByItemIdIn(anyList()))
+        when(bookingRepository.findLastByItemIdIn(anyList(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.findNextByItemIdIn(anyList(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         List<OwnedItemDto> result = itemService.getOwnerItems(ownerId);
@@ -629,7 +841,7 @@ class ItemServiceImplTest {
         past.setEnd(java.time.LocalDateTime.now().minusDays(1));
         past.setItem(item);
 
-        when(bookingRepository.findAllByItemIdIn(anyList()))
+        when(bookingRepository.findLastByItemIdIn(anyList(), eq(Status.APPROVED), any()))
                 .thenReturn(List.of(past));
 
         List<OwnedItemDto> result = itemService.getOwnerItems(ownerId);
@@ -658,7 +870,7 @@ class ItemServiceImplTest {
         future.setEnd(java.time.LocalDateTime.now().plusDays(2));
         future.setItem(item);
 
-        when(bookingRepository.findAllByItemIdIn(anyList()))
+        when(bookingRepository.findNextByItemIdIn(anyList(), eq(Status.APPROVED), any()))
                 .thenReturn(List.of(future));
 
         List<OwnedItemDto> result = itemService.getOwnerItems(ownerId);
@@ -696,4 +908,96 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.empty());
         assertThrows(ArgumentsNotValidException.class, () -> itemService.addComment(request, itemId, authorId));
     }
+
+    @Test
+    void createItems_shouldReportMissingRequestAndBlankFields_andSaveTheRest() {
+        long ownerId = 1L;
+        Request itemRequest = new Request();
+        itemRequest.setId(5L);
+        when(requestRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(itemRequest));
+        when(itemRepository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            List<Item> items = new ArrayList<>();
+            long id = 1;
+
+            for (Item item : invocation.<Iterable<Item>>getArgument(0)) {
+                item.setId(id++);
+                items.add(item);
+            }
+
+            return items;
+        });
+
+        List<PostItemRequest> requests = Arrays.asList(
+                itemRequest("Дрель", 5L),
+                itemRequest("Пила", 6L),
+                itemRequest(" ", null),
+                null,
+                itemRequest("Отвертка", null));
+
+        BatchResponse<ItemDto> response = itemService.createItems(requests, ownerId);
+
+        assertEquals(2, response.getCreated());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(201, 404, 400, 400, 201),
+                response.getResults().stream().map(BatchResult::getStatus).toList());
+        assertEquals(5L, response.getResults().get(0).getResult().getRequest().getId());
+        assertEquals("Отвертка", response.getResults().get(4).getResult().getName());
+    }
+
+    private static PostItemRequest itemRequest(String name, Long requestId) {
+        PostItemRequest request = new PostItemRequest();
+        request.setName(name);
+        request.setDescription("Описание");
+        request.setAvailable(true);
+        request.setRequestId(requestId);
+        return request;
+    }
+
+    @Test
+    void getItemAvailability_shouldReportBookedPeriods_fromNowOn() {
+        Item item = new Item(1L, "Drill", "Power tool", true, new User(2L, "owner", "owner@mail.ru"), null);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = new Booking(3L, start, start.plusHours(2), item, null, Status.WAITING);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.findAllByItemIdInOverlapping(any(), any(), any(), any())).thenReturn(List.of(booking));
+
+        ItemAvailabilityDto result = itemService.getItemAvailability(1L, start.minusDays(2), start.plusDays(1));
+
+        assertFalse(result.isAvailable());
+        assertFalse(result.getFrom().isBefore(start.minusDays(1)));
+        assertEquals(List.of(new BookedPeriodDto(start, start.plusHours(2), Status.WAITING)), result.getBooked());
+
+        when(bookingRepository.findAllByItemIdInOverlapping(any(), any(), any(), any())).thenReturn(List.of());
+        assertTrue(itemService.getItemAvailability(1L, start.plusDays(1), start.plusDays(2)).isAvailable());
+    }
+
+    @Test
+    void getItemAvailability_shouldThrowArgumentsNotValidException_whenPeriodIsInvalid() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(ArgumentsNotValidException.class, () ->
+                itemService.getItemAvailability(1L, now.plusDays(2), now.plusDays(1)));
+        assertThrows(ArgumentsNotValidException.class, () ->
+                itemService.getItemAvailability(1L, now.minusDays(2), now.minusDays(1)));
+    }
+
+    @Test
+    void searchAvailableItems_shouldQueryAntiJoinFromNow_andValidatePeriod() {
+        Item item = new Item(1L, "Drill", "Power tool", true, new User(2L, "owner", "owner@mail.ru"), null);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime end = now.plusDays(2);
+        when(itemRepository.searchAvailableItems(eq("drill"), any(), eq(end), eq(PageRequest.of(0, 10))))
+                .thenReturn(List.of(item));
+
+        List<ItemDto> result = itemService.searchAvailableItems("drill", 0, 10, now.minusDays(1), end);
+
+        assertEquals(1, result.size());
+        verify(itemRepository).searchAvailableItems(eq("drill"), argThat(start -> !start.isBefore(now)), eq(end),
+                eq(PageRequest.of(0, 10)));
+        assertThrows(ArgumentsNotValidException.class, () ->
+                itemService.searchAvailableItems("drill", 0, 10, end, now.plusDays(1)));
+        assertThrows(ArgumentsNotValidException.class, () ->
+                itemService.searchAvailableItems("drill", 0, 10, null, end));
+    }
 }
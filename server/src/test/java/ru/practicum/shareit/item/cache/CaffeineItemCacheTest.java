@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CaffeineItemCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CaffeineItemCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineItemCache(Duration.ofMinutes(1), 2, meterRegistry);
+    }
+
+    @Test
+    void get_shouldLoadOnce_andRecordHitsAndMisses() {
+        ItemDto first = cache.get(1L, this::load);
+        ItemDto second = cache.get(1L, this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CaffeineItemCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CaffeineItemCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_shouldForceReload() {
+        cache.get(1L, this::load);
+        cache.evict(1L);
+        cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldNotCacheLoad_whenEvictedWhileLoading() {
+        cache.get(1L, id -> {
+            cache.evict(id);
+            return load(id);
+        });
+        cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldNotCacheFailedLoads() {
+        assertThatThrownBy(() -> cache.get(1L, id -> {
+            throw new NotFoundException("Предмет с itemId " + id + " не был найден");
+        })).isInstanceOf(NotFoundException.class);
+
+        assertThat(cache.get(1L, this::load).getId()).isEqualTo(1L);
+    }
+
+    private ItemDto load(long itemId) {
+        loads.incrementAndGet();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(itemId);
+
+        return itemDto;
+    }
+}
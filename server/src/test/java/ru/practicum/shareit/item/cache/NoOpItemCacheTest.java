@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.cache;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoOpItemCacheTest {
+
+    private final NoOpItemCache cache = new NoOpItemCache();
+
+    @Test
+    void get_shouldLoadOnEveryCall() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, itemId -> load(itemId, loads));
+        cache.evict(1L);
+        ItemDto result = cache.get(1L, itemId -> load(itemId, loads));
+
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(loads).hasValue(2);
+    }
+
+    private ItemDto load(long itemId, AtomicInteger loads) {
+        loads.incrementAndGet();
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(itemId);
+        return itemDto;
+    }
+}
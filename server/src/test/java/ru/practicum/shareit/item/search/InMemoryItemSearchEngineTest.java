@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.timeline.AvailabilityTimeline;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InMemoryItemSearchEngineTest {
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final AvailabilityTimeline availabilityTimeline = mock(AvailabilityTimeline.class);
+
+    private final Item drill = new Item(1L, "Drill", "Power tool", true, null, null);
+    private final Item saw = new Item(2L, "Saw", "Works like a drill", true, null, null);
+    private final Item hammer = new Item(3L, "Hammer", "Heavy", true, null, null);
+    private final Item brokenDrill = new Item(4L, "Old drill", "Broken", false, null, null);
+
+    private InMemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new InMemoryItemSearchEngine(itemRepository, availabilityTimeline);
+        List<Item> all = List.of(drill, saw, hammer, brokenDrill);
+        when(itemRepository.streamAllBy()).thenReturn(all.stream());
+        when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return all.stream()
+                    .filter(item -> ((Collection<?>) ids).contains(item.getId()))
+                    .toList();
+        });
+        engine.rebuild();
+    }
+
+    @Test
+    void search_shouldMatchSubstringCaseInsensitiveAndRankNameFirst() {
+        assertThat(engine.search("DRILL", Pageable.unpaged())).containsExactly(drill, saw);
+    }
+
+    @Test
+    void search_shouldMatchShortQueriesWithoutTrigrams() {
+        assertThat(engine.search("am", Pageable.unpaged())).containsExactly(hammer);
+    }
+
+    @Test
+    void search_shouldReturnRequestedPage() {
+        assertThat(engine.search("drill", PageRequest.of(1, 1))).containsExactly(saw);
+    }
+
+    @Test
+    void search_shouldReturnEmpty_whenTrigramIsUnknown() {
+        assertThat(engine.search("xyz", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void index_shouldReplacePreviousVersionOfItem() {
+        Item renamed = new Item(1L, "Ladder", "Tall", true, null, null);
+        when(itemRepository.findAllById(anyIterable())).thenReturn(List.of(renamed));
+        engine.index(renamed);
+
+        assertThat(engine.search("ladder", Pageable.unpaged())).containsExactly(renamed);
+        when(itemRepository.findAllById(anyIterable())).thenReturn(List.of(saw));
+        assertThat(engine.search("drill", Pageable.unpaged())).containsExactly(saw);
+    }
+
+    @Test
+    void rebuild_shouldReadAllItemsFromRepository() {
+        when(itemRepository.streamAllBy()).thenReturn(Stream.of(hammer));
+        engine.rebuild();
+
+        assertThat(engine.search("drill", Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    void searchAvailable_shouldSkipItemsWithApprovedBookingsBeforePaging() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        when(availabilityTimeline.withoutApproved(any(), eq(start), eq(end))).thenReturn(Set.of(2L));
+
+        assertThat(engine.searchAvailable("drill", start, end, Pageable.unpaged())).containsExactly(saw);
+        assertThat(engine.searchAvailable("drill", start, end, PageRequest.of(0, 1))).containsExactly(saw);
+        assertThat(engine.searchAvailable("drill", start, end, PageRequest.of(1, 1))).isEmpty();
+    }
+
+    @Test
+    void searchAvailable_shouldCheckAllRankedCandidatesInOneCall() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+        when(availabilityTimeline.withoutApproved(any(), eq(start), eq(end))).thenReturn(Set.of(1L, 2L));
+
+        engine.searchAvailable("drill", start, end, Pageable.unpaged());
+
+        verify(availabilityTimeline).withoutApproved(List.of(1L, 2L), start, end);
+        verify(availabilityTimeline, never()).booked(anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultLogTest {
+    private static final String LOGGER_NAME = "ru.practicum.shareit.user.UserServiceImpl";
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final ResultLog resultLog = new ResultLog(new ResultLogProperties());
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(previousLevel);
+    }
+
+    @Test
+    void info_shouldLogCountAndBoundedIds() {
+        resultLog.info(logger, users(25), UserDto::getId, "Получены пользователи владельца {}: {}", 7L);
+
+        assertThat(appender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .isEqualTo("Получены пользователи владельца 7: 25 шт., id [1, 2, 3, 4, 5, 6, 7, 8, 9, 10] и еще 15");
+    }
+
+    @Test
+    void info_shouldLogOnlyCount_whenResultIsEmpty() {
+        resultLog.info(logger, List.<UserDto>of(), UserDto::getId, "Получены пользователи: {}");
+
+        assertThat(appender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .isEqualTo("Получены пользователи: 0 шт.");
+    }
+
+    @Test
+    void info_shouldAppendTruncatedSamples_whenDebugEnabled() {
+        logger.setLevel(Level.DEBUG);
+        ResultLogProperties properties = new ResultLogProperties();
+        properties.setMaxIds(2);
+        properties.setSampleSize(1);
+        properties.setSampleLength(10);
+        ResultLog configured = new ResultLog(properties);
+
+        configured.info(logger, users(3), UserDto::getId, "Получены пользователи: {}");
+
+        assertThat(appender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .isEqualTo("Получены пользователи: 3 шт., id [1, 2] и еще 1, первые элементы [UserDto(id…]");
+    }
+
+    @Test
+    void info_shouldApplyMostSpecificPackagePolicy() {
+        ResultLogProperties properties = new ResultLogProperties();
+        ResultLogProperties.PackagePolicy shareit = new ResultLogProperties.PackagePolicy();
+        shareit.setMaxIds(1);
+        ResultLogProperties.PackagePolicy user = new ResultLogProperties.PackagePolicy();
+        user.setSampleRate(0.0);
+        properties.getPackages().put("ru.practicum.shareit", shareit);
+        properties.getPackages().put("ru.practicum.shareit.user", user);
+        ResultLog configured = new ResultLog(properties);
+
+        Logger itemLogger = (Logger) LoggerFactory.getLogger("ru.practicum.shareit.item.ItemServiceImpl");
+        itemLogger.addAppender(appender);
+
+        try {
+            configured.info(logger, users(3), UserDto::getId, "Получены пользователи: {}");
+            configured.info(itemLogger, users(3), UserDto::getId, "Получены владельцы: {}");
+        } finally {
+            itemLogger.detachAppender(appender);
+        }
+
+        assertThat(appender.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .isEqualTo("Получены владельцы: 3 шт., id [1] и еще 2");
+    }
+
+    @Test
+    void info_shouldSkipFormatting_whenInfoDisabled() {
+        logger.setLevel(Level.WARN);
+
+        resultLog.info(logger, users(3), user -> {
+            throw new AssertionError("Сводка не должна строиться");
+        }, "Получены пользователи: {}");
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    private static List<UserDto> users(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> {
+                    UserDto user = new UserDto();
+                    user.setId(id);
+                    user.setName("Пользователь " + id);
+                    user.setEmail("user" + id + "@mail.ru");
+                    return user;
+                })
+                .toList();
+    }
+}
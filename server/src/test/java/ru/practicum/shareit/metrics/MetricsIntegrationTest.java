@@ -0,0 +1,55 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_shouldExposeServiceRepositoryAndStatementMetrics() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Метрика\",\"email\":\"metrics@mail.ru\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(scrape)
+                .contains("shareit_service_seconds_count{class=\"UserServiceImpl\",exception=\"none\"," +
+                        "method=\"getAllUsers\"} 1")
+                .contains("shareit_service_seconds_count{class=\"UserServiceImpl\"," +
+                        "exception=\"NotFoundException\",method=\"getUser\"} 1")
+                .contains("shareit_service_seconds_bucket{class=\"UserServiceImpl\"")
+                .contains("shareit_repository_seconds_count{exception=\"none\",method=\"findAll\"," +
+                        "repository=\"UserRepository\"} 1")
+                .contains("shareit_repository_rows_count{method=\"findById\",repository=\"UserRepository\"} 1")
+                .contains("shareit_http_statements_count{method=\"GET\",uri=\"/users\"} 1")
+                .contains("shareit_http_statements_sum{method=\"GET\",uri=\"/users\"} 1.0");
+    }
+}
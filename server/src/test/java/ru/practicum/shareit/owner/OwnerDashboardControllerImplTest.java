@@ -0,0 +1,57 @@
+package ru.practicum.shareit.owner;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.exception.ArgumentsNotValidException;
+import ru.practicum.shareit.item.dto.OwnedItemDto;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OwnerDashboardControllerImpl.class)
+class OwnerDashboardControllerImplTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OwnerDashboardService ownerDashboardService;
+
+    @Test
+    void getDashboard_shouldReturnDashboard() throws Exception {
+        OwnedItemDto item = new OwnedItemDto();
+        item.setId(7L);
+        OwnerDashboardDto dashboard = new OwnerDashboardDto();
+        dashboard.setItems(List.of(item));
+        dashboard.setRecentComments(List.of());
+        dashboard.setBookingCounts(new BookingCountsDto(2, 0, 1, 1, 1, 0));
+        Mockito.when(ownerDashboardService.getDashboard(1L, 10)).thenReturn(dashboard);
+
+        mockMvc.perform(get("/owner/dashboard")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7L))
+                .andExpect(jsonPath("$.bookingCounts.all").value(2))
+                .andExpect(jsonPath("$.bookingCounts.waiting").value(1));
+    }
+
+    @Test
+    void getDashboard_whenCommentsSizeInvalid_shouldReturnBadRequest() throws Exception {
+        Mockito.when(ownerDashboardService.getDashboard(1L, 0))
+                .thenThrow(new ArgumentsNotValidException("Число комментариев должно быть от 1 до 100: commentsSize=0"));
+
+        mockMvc.perform(get("/owner/dashboard")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("commentsSize", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.owner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCountsDto;
+import ru.practicum.shareit.exception.ArgumentsNotValidException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.CommentMapperImpl;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.OwnedItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.owner.dto.OwnerDashboardDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OwnerDashboardServiceImplTest {
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private OwnerDashboardServiceImpl dashboardService;
+
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        dashboardService = new OwnerDashboardServiceImpl(itemService, commentRepository, bookingRepository,
+                new CommentMapperImpl());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void getDashboard_shouldAssembleItemsCommentsAndCounts() {
+        long ownerId = 1L;
+        OwnedItemDto item = new OwnedItemDto();
+        item.setId(10L);
+        User author = new User(2L, "author", "author@mail.ru");
+        Comment comment = new Comment(5L, "Отличная вещь", null, author, LocalDateTime.now());
+        BookingCountsDto counts = new BookingCountsDto(3, 1, 1, 1, 0, 0);
+        when(itemService.getOwnerItems(ownerId)).thenReturn(List.of(item));
+        when(commentRepository.findAllByItemOwnerIdOrderByCreatedDescIdDesc(ownerId, PageRequest.of(0, 5)))
+                .thenReturn(List.of(comment));
+        when(bookingRepository.countByOwnerId(eq(ownerId), any())).thenReturn(counts);
+
+        OwnerDashboardDto dashboard = dashboardService.getDashboard(ownerId, 5);
+
+        assertEquals(List.of(item), dashboard.getItems());
+        assertEquals(1, dashboard.getRecentComments().size());
+        assertEquals("author", dashboard.getRecentComments().getFirst().getAuthorName());
+        assertEquals(counts, dashboard.getBookingCounts());
+    }
+
+    @Test
+    void getDashboard_shouldNotQueryFurther_whenOwnerNotFound() {
+        when(itemService.getOwnerItems(1L)).thenThrow(new NotFoundException("Пользователь с userId 1 не был найден"));
+
+        assertThrows(NotFoundException.class, () -> dashboardService.getDashboard(1L, 5));
+        verifyNoInteractions(commentRepository, bookingRepository);
+    }
+
+    @Test
+    void getDashboard_shouldRejectCommentsSizeOutOfRange() {
+        assertThrows(ArgumentsNotValidException.class, () -> dashboardService.getDashboard(1L, 0));
+        assertThrows(ArgumentsNotValidException.class, () -> dashboardService.getDashboard(1L, -1));
+        assertThrows(ArgumentsNotValidException.class,
+                () -> dashboardService.getDashboard(1L, OwnerDashboardServiceImpl.MAX_COMMENTS_SIZE + 1));
+        verifyNoInteractions(itemService, commentRepository, bookingRepository);
+    }
+}
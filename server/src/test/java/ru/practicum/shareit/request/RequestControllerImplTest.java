@@ -7,14 +7,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.paging.Paging;
 import ru.practicum.shareit.request.dto.RequestDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ru.practicum.shareit.request.dto.PostRequestDto;
+import ru.practicum.shareit.paging.KeysetCursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -34,11 +38,16 @@ class RequestControllerImplTest {
     void findRequestById_shouldReturnRequest() throws Exception {
         RequestDto request = new RequestDto();
         request.setId(1L);
+        Mockito.when(requestService.getRequestETag(1L)).thenReturn("request-1-2");
         Mockito.when(requestService.findRequestById(1L)).thenReturn(request);
 
         mockMvc.perform(get("/requests/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"request-1-2\""))
                 .andExpect(jsonPath("$.id").value(1L));
+
+        mockMvc.perform(get("/requests/1").header("If-None-Match", "\"request-1-2\""))
+                .andExpect(status().isNotModified());
     }
 
     @Test
@@ -72,10 +81,34 @@ class RequestControllerImplTest {
     void findAllRequests_shouldReturnList() throws Exception {
         RequestDto request = new RequestDto();
         request.setId(4L);
-        Mockito.when(requestService.findAllRequests()).thenReturn(List.of(request));
+        Mockito.when(requestService.findAllRequests(1L, 0, null, null)).thenReturn(List.of(request));
 
-        mockMvc.perform(get("/requests/all"))
+        mockMvc.perform(get("/requests/all").header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(Paging.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].id").value(4L));
     }
+
+    @Test
+    void findAllRequests_withoutHeader_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/requests/all"))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(requestService);
+    }
+
+    @Test
+    void findAllRequests_shouldReturnNextCursor_whenPageIsFull() throws Exception {
+        RequestDto request = new RequestDto();
+        request.setId(5L);
+        request.setCreated(LocalDateTime.of(2025, 1, 1, 12, 0));
+        Mockito.when(requestService.findAllRequests(2L, 0, 1, null)).thenReturn(List.of(request));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Paging.NEXT_CURSOR_HEADER,
+                        KeysetCursor.after(request.getCreated(), 5L).encode()))
+                .andExpect(jsonPath("$[0].id").value(5L));
+    }
 }
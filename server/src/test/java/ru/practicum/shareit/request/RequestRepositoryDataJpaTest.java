@@ -5,9 +5,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.paging.KeysetCursor;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,4 +51,43 @@ class RequestRepositoryDataJpaTest {
         Request found = requestRepository.findById(request.getId()).orElse(null);
         assertThat(found).isEqualTo(request);
     }
+
+    @Test
+    @DisplayName("findAllOtherRequests исключает запросы пользователя и листает по курсору от новых к старым")
+    void findAllOtherRequests() {
+        User other = new User(null, "other", "other@email.com");
+        em.persist(other);
+        LocalDateTime created = LocalDateTime.now().withNano(0);
+        Request oldest = persistRequest(other, created.minusDays(2));
+        Request sameTimeFirst = persistRequest(other, created);
+        Request sameTimeSecond = persistRequest(other, created);
+        em.flush();
+
+        List<Request> firstPage = requestRepository.findAllOtherRequests(requestor.getId(),
+                KeysetCursor.FIRST.getPosition(), KeysetCursor.FIRST.getId(), PageRequest.of(0, 2));
+        Request last = firstPage.getLast();
+        List<Request> secondPage = requestRepository.findAllOtherRequests(requestor.getId(),
+                last.getCreated(), last.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).containsExactly(sameTimeSecond, sameTimeFirst);
+        assertThat(secondPage).containsExactly(oldest);
+    }
+
+    private Request persistRequest(User owner, LocalDateTime created) {
+        Request other = new Request(null, "other desc", owner, null, null);
+        em.persist(other);
+        other.setCreated(created);
+
+        return other;
+    }
+
+    @Test
+    @DisplayName("incrementVersions увеличивает версию запроса")
+    void incrementVersions() {
+        assertThat(requestRepository.findVersionById(request.getId())).contains(0L);
+
+        requestRepository.incrementVersions(List.of(request.getId()));
+
+        assertThat(requestRepository.findVersionById(request.getId())).contains(1L);
+    }
 }
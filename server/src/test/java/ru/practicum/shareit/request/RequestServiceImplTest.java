@@ -2,14 +2,19 @@ package ru.practicum.shareit.request;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ArgumentsNotValidException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.request.dto.PostRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.paging.KeysetCursor;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.logging.ResultLogProperties;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +25,7 @@ import static org.mockito.Mockito.*;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
@@ -39,9 +45,10 @@ class RequestServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        requestService = new RequestServiceImpl(requestRepository, requestMapper, userRepository);
+        requestService = new RequestServiceImpl(requestRepository, requestMapper, userRepository,
+                new ResultLog(new ResultLogProperties()));
 
-        when(requestRepository.findAll())
+        when(requestRepository.findAllOtherRequests(anyLong(), any(), anyLong(), any()))
                 .thenReturn(Collections.emptyList());
         when(requestRepository.findAllByRequestorId(anyLong()))
                 .thenReturn(Collections.emptyList());
@@ -68,10 +75,15 @@ class RequestServiceImplTest {
         assertThrows(ValidationException.class, () -> requestService.findAllRequestsByRequestorId(userId));
     }
 
+    @Test
+    void findAllRequests_shouldThrowValidationException_whenUserNotExists() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+        assertThrows(ValidationException.class, () -> requestService.findAllRequests(1L, 0, null, null));
+    }
+
     @Test
     void findAllRequests_shouldReturnEmptyList_whenNoRequests() {
-        when(requestRepository.findAll()).thenReturn(Collections.emptyList());
-        List<RequestDto> result = requestService.findAllRequests();
+        List<RequestDto> result = requestService.findAllRequests(1L, 0, null, null);
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
@@ -110,12 +122,28 @@ class RequestServiceImplTest {
     @Test
     void findAllRequests_shouldReturnList_whenRequestsExist() {
         Request req = new Request();
-        when(requestRepository.findAll()).thenReturn(List.of(req));
-        List<RequestDto> result = requestService.findAllRequests();
+        when(requestRepository.findAllOtherRequests(eq(1L), any(), anyLong(), any())).thenReturn(List.of(req));
+        List<RequestDto> result = requestService.findAllRequests(1L, 0, null, null);
         assertNotNull(result);
         assertEquals(1, result.size());
     }
 
+    @Test
+    void findAllRequests_shouldSeekFromCursor_whenCursorPresent() {
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 12, 0);
+        String cursor = KeysetCursor.after(created, 7L).encode();
+
+        requestService.findAllRequests(1L, 20, 10, cursor);
+
+        verify(requestRepository).findAllOtherRequests(1L, created, 7L, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void findAllRequests_shouldThrowArgumentsNotValidException_whenCursorMalformed() {
+        assertThrows(ArgumentsNotValidException.class,
+                () -> requestService.findAllRequests(1L, 0, 10, "not-a-cursor"));
+    }
+
     @Test
     void findRequestById_shouldReturnRequestDto_whenRequestExists() {
         long requestId = 1L;
@@ -7,6 +7,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.user.dto.UserDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ru.practicum.shareit.user.dto.PatchUserRequest;
@@ -93,4 +95,25 @@ class UserControllerImplTest {
         mockMvc.perform(delete("/users/5"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void createUsers_shouldReturnPerElementResults() throws Exception {
+        PostUserRequest request = new PostUserRequest();
+        request.setName("user");
+        request.setEmail("user@email.com");
+        UserDto user = new UserDto();
+        user.setId(5L);
+        BatchResponse<UserDto> response = new BatchResponse<>(1, 1, List.of(
+                new BatchResult<>(0, 201, user, null),
+                new BatchResult<>(1, 409, null, "Пользователь с email user@email.com уже существует")));
+        Mockito.when(userService.createUsers(Mockito.anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request, request))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].result.id").value(5L))
+                .andExpect(jsonPath("$.results[1].status").value(409));
+    }
 }
@@ -7,6 +7,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -40,4 +43,11 @@ class UserRepositoryDataJpaTest {
         boolean exists = userRepository.existsByEmail(user.getEmail());
         assertThat(exists).isTrue();
     }
+
+    @Test
+    @DisplayName("findEmailsIn возвращает только уже занятые email")
+    void findEmailsIn() {
+        Set<String> emails = userRepository.findEmailsIn(List.of(user.getEmail(), "free@email.com"));
+        assertThat(emails).containsExactly(user.getEmail());
+    }
 }
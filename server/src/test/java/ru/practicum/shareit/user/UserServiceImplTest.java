@@ -2,14 +2,23 @@ package ru.practicum.shareit.user;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.batch.BatchResponse;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.user.dto.PostUserRequest;
 import ru.practicum.shareit.user.dto.PatchUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.logging.ResultLog;
+import ru.practicum.shareit.logging.ResultLogProperties;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Collections;
 import java.util.List;
 
@@ -31,11 +40,15 @@ class UserServiceImplTest {
     @Autowired
     private ru.practicum.shareit.user.UserMapper userMapper;
 
+    private final ItemService itemService = mock(ItemService.class);
+    private final BookingService bookingService = mock(BookingService.class);
+
     private UserServiceImpl userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository, userMapper);
+        userService = new UserServiceImpl(userRepository, userMapper, itemService, bookingService,
+                new ResultLog(new ResultLogProperties()));
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
@@ -129,6 +142,25 @@ class UserServiceImplTest {
         assertNotNull(result);
     }
 
+    @Test
+    void patchUser_shouldRefreshItemsAndBookings_onlyWhenUserChanged() {
+        long userId = 1L;
+        User user = new User(userId, "Name", "name@mail.com");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        PatchUserRequest request = new PatchUserRequest();
+        request.setName("Name");
+
+        userService.patchUser(request, userId);
+        verifyNoInteractions(itemService, bookingService);
+
+        request.setName("Renamed");
+        userService.patchUser(request, userId);
+        verify(itemService).refreshUserItems(userId);
+        verify(bookingService).refreshBookerBookings(userId);
+    }
+
     @Test
     void deleteUser_shouldDelete_whenUserExists() {
         long userId = 1L;
@@ -192,4 +224,43 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertEquals(2, result.size());
     }
+
+    @Test
+    void createUsers_shouldReportTakenRepeatedAndBlankEmails_andSaveTheRest() {
+        when(userRepository.findEmailsIn(anyCollection())).thenReturn(Set.of("taken@mail.com"));
+        when(userRepository.saveAllAndFlush(anyIterable())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            long id = 1;
+
+            for (User user : invocation.<Iterable<User>>getArgument(0)) {
+                user.setId(id++);
+                users.add(user);
+            }
+
+            return users;
+        });
+
+        BatchResponse<UserDto> response = userService.createUsers(Arrays.asList(
+                userRequest("new", "new@mail.com"),
+                userRequest("taken", "taken@mail.com"),
+                userRequest("again", "new@mail.com"),
+                userRequest("blank", " "),
+                null));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(4, response.getFailed());
+        assertEquals(List.of(201, 409, 409, 400, 400), response.getResults().stream()
+                .map(BatchResult::getStatus)
+                .toList());
+        assertEquals("new@mail.com", response.getResults().get(0).getResult().getEmail());
+        assertEquals(1L, response.getResults().get(0).getResult().getId());
+        verify(userRepository).findEmailsIn(Set.of("new@mail.com", "taken@mail.com", " "));
+    }
+
+    private static PostUserRequest userRequest(String name, String email) {
+        PostUserRequest request = new PostUserRequest();
+        request.setName(name);
+        request.setEmail(email);
+        return request;
+    }
 }